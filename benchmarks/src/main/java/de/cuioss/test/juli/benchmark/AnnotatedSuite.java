@@ -0,0 +1,37 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import de.cuioss.test.juli.TestLogLevel;
+import de.cuioss.test.juli.junit5.EnableTestLogger;
+
+/**
+ * {@link SyntheticSuite} using {@link EnableTestLogger} with loggers configured
+ * for each level, which are applied before each test on every nesting level.
+ *
+ * @author Oliver Wolff
+ *
+ */
+@EnableTestLogger(rootLevel = TestLogLevel.INFO, trace = { List.class, ArrayList.class }, debug = { Map.class,
+        HashMap.class }, info = SyntheticSuite.class, warn = Set.class, error = BaselineSuite.class)
+class AnnotatedSuite extends SyntheticSuite {
+}
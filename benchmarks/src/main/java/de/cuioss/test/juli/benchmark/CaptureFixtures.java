@@ -0,0 +1,99 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli.benchmark;
+
+import java.util.logging.LogRecord;
+
+import de.cuioss.test.juli.TestLogHandler;
+import de.cuioss.test.juli.TestLogLevel;
+
+/**
+ * Deterministic test data shared by the benchmarks. The records are built from a
+ * small pool of logger names and messages, like real captures are, which keeps
+ * captures with millions of records affordable.
+ *
+ * @author Oliver Wolff
+ *
+ */
+final class CaptureFixtures {
+
+    /** A message that is logged exactly once, at the end of each capture. */
+    static final String NEEDLE = "The one and only needle within the capture";
+
+    /** A message that is never logged. */
+    static final String MISSING = "This message is never logged";
+
+    /** Part of every pooled message. */
+    static final String MESSAGE_PART = "benchmark message";
+
+    static final String[] LOGGERS = new String[16];
+
+    static final String[] MESSAGES = new String[128];
+
+    private static final TestLogLevel[] LEVELS = TestLogLevel.values();
+
+    static {
+        for (var i = 0; i < LOGGERS.length; i++) {
+            LOGGERS[i] = "de.cuioss.benchmark.component" + i + ".Service";
+        }
+        for (var i = 0; i < MESSAGES.length; i++) {
+            MESSAGES[i] = "This is " + MESSAGE_PART + " number " + i;
+        }
+    }
+
+    private CaptureFixtures() {
+    }
+
+    /**
+     * @param index used for deterministically deriving level, logger and message
+     * @return a new {@link LogRecord}
+     */
+    static LogRecord record(int index) {
+        var logRecord = new LogRecord(LEVELS[index % LEVELS.length].getJuliLevel(), MESSAGES[index % MESSAGES.length]);
+        logRecord.setLoggerName(LOGGERS[index % LOGGERS.length]);
+        return logRecord;
+    }
+
+    /**
+     * @param count the number of records to be created
+     * @return an array of new {@link LogRecord}s
+     */
+    static LogRecord[] records(int count) {
+        var result = new LogRecord[count];
+        for (var i = 0; i < count; i++) {
+            result[i] = record(i);
+        }
+        return result;
+    }
+
+    /**
+     * Publishes the given number of records followed by a single {@link #NEEDLE}
+     * record at {@link TestLogLevel#ERROR}.
+     *
+     * @param handler to be filled
+     * @param size    the number of pooled records to be published
+     * @return the given handler
+     */
+    static TestLogHandler fill(TestLogHandler handler, int size) {
+        for (var i = 0; i < size; i++) {
+            handler.publish(record(i));
+        }
+        var needle = new LogRecord(TestLogLevel.ERROR.getJuliLevel(), NEEDLE);
+        needle.setLoggerName(LOGGERS[0]);
+        handler.publish(needle);
+        return handler;
+    }
+}
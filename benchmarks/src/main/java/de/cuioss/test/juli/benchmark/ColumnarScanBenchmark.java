@@ -0,0 +1,108 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli.benchmark;
+
+import static de.cuioss.test.juli.benchmark.CaptureFixtures.LOGGERS;
+import static de.cuioss.test.juli.benchmark.CaptureFixtures.NEEDLE;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.LogRecord;
+
+import de.cuioss.test.juli.TestLogHandler;
+import de.cuioss.test.juli.TestLogLevel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the column-wise scan of {@link TestLogHandler} with a plain scan over
+ * a {@link List} of {@link LogRecord}s, as {@link TestLogHandler} did before
+ * storing records in columns. Both operate on identical records and use the
+ * same matching semantics.
+ *
+ * @author Oliver Wolff
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = { "-Xms6g", "-Xmx6g" })
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ColumnarScanBenchmark {
+
+    @Param({ "100000", "1000000", "10000000" })
+    int captureSize;
+
+    TestLogHandler handler;
+
+    List<LogRecord> list;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        handler = CaptureFixtures.fill(new TestLogHandler(), captureSize);
+        list = new ArrayList<>(Arrays.asList(CaptureFixtures.records(captureSize)));
+        var needle = new LogRecord(TestLogLevel.ERROR.getJuliLevel(), NEEDLE);
+        needle.setLoggerName(LOGGERS[0]);
+        list.add(needle);
+    }
+
+    @Benchmark
+    public List<LogRecord> columnarByLevel() {
+        return handler.resolveLogMessages(TestLogLevel.ERROR);
+    }
+
+    @Benchmark
+    public List<LogRecord> listByLevel() {
+        var level = TestLogLevel.ERROR.getJuliLevel();
+        return list.stream().filter(r -> level.equals(r.getLevel())).toList();
+    }
+
+    @Benchmark
+    public List<LogRecord> columnarByLevelAndMessage() {
+        return handler.resolveLogMessages(TestLogLevel.ERROR, NEEDLE);
+    }
+
+    @Benchmark
+    public List<LogRecord> listByLevelAndMessage() {
+        var level = TestLogLevel.ERROR.getJuliLevel();
+        return list.stream().filter(r -> level.equals(r.getLevel()) && NEEDLE.equals(r.getMessage())).toList();
+    }
+
+    @Benchmark
+    public List<LogRecord> columnarByLevelAndLogger() {
+        return handler.resolveLogMessagesForLogger(TestLogLevel.INFO, LOGGERS[1]);
+    }
+
+    @Benchmark
+    public List<LogRecord> listByLevelAndLogger() {
+        var level = TestLogLevel.INFO.getJuliLevel();
+        return list.stream()
+                .filter(r -> level.equals(r.getLevel()) && LOGGERS[1].equalsIgnoreCase(r.getLoggerName())).toList();
+    }
+}
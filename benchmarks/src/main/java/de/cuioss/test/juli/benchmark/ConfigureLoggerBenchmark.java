@@ -0,0 +1,86 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import de.cuioss.test.juli.TestLoggerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-test overhead of {@link TestLoggerFactory#configureLogger()} as executed
+ * before each test by {@code TestLoggerController}, depending on the number of
+ * loggers configured via system properties.
+ *
+ * @author Oliver Wolff
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ConfigureLoggerBenchmark {
+
+    private static final String LOGGER_PROPERTY_PREFIX = "cui.logger.";
+
+    @Param({ "0", "10", "100" })
+    int configuredLoggers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TestLoggerFactory.install();
+        for (var i = 0; i < configuredLoggers; i++) {
+            System.setProperty(LOGGER_PROPERTY_PREFIX + CaptureFixtures.LOGGERS[0] + i, "DEBUG");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (var i = 0; i < configuredLoggers; i++) {
+            System.clearProperty(LOGGER_PROPERTY_PREFIX + CaptureFixtures.LOGGERS[0] + i);
+        }
+        TestLoggerFactory.uninstall();
+    }
+
+    @Benchmark
+    public void configureLogger() {
+        TestLoggerFactory.configureLogger();
+    }
+
+    /**
+     * The equivalent of {@code TestLoggerController#beforeEach} without
+     * annotation handling.
+     */
+    @Benchmark
+    public void configureLoggerAndClear() {
+        TestLoggerFactory.configureLogger();
+        TestLoggerFactory.getTestHandler().clearRecords();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli.benchmark;
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.ConsoleHandler;
+import java.util.logging.LogManager;
+
+import de.cuioss.test.juli.junit5.EnableTestLogger;
+import org.junit.platform.testkit.engine.EngineTestKit;
+
+/**
+ * Measures the per-test overhead {@link EnableTestLogger} adds to a test suite by
+ * executing large {@link SyntheticSuite}s with the JUnit Platform
+ * {@link EngineTestKit}, once without test logger ({@link BaselineSuite}), once
+ * with the plain controller ({@link ControllerSuite}) and once with annotation
+ * based configuration ({@link AnnotatedSuite}).
+ * <p>
+ * Each suite is executed alternately for a number of warmup and measurement
+ * rounds. The median duration of the measurement rounds is compared to the
+ * baseline and reported per test, both on the console and as JSON in
+ * {@value #DEFAULT_RESULT_FILE}. Supported system properties:
+ * </p>
+ * <ul>
+ * <li>{@value SyntheticSuite#TESTS_PROPERTY}: tests per suite, defaults to
+ * {@value SyntheticSuite#DEFAULT_TESTS}</li>
+ * <li>{@value #ROUNDS_PROPERTY}: measurement rounds, defaults to
+ * {@value #DEFAULT_ROUNDS}</li>
+ * <li>{@value #WARMUP_PROPERTY}: warmup rounds, defaults to
+ * {@value #DEFAULT_WARMUP}</li>
+ * <li>{@value #RESULT_PROPERTY}: the result file</li>
+ * </ul>
+ *
+ * @author Oliver Wolff
+ *
+ */
+public final class ExtensionOverheadHarness {
+
+    static final String ROUNDS_PROPERTY = "de.cuioss.test.juli.benchmark.rounds";
+    static final String WARMUP_PROPERTY = "de.cuioss.test.juli.benchmark.warmup";
+    static final String RESULT_PROPERTY = "de.cuioss.test.juli.benchmark.result";
+
+    static final int DEFAULT_ROUNDS = 5;
+    static final int DEFAULT_WARMUP = 2;
+    static final String DEFAULT_RESULT_FILE = "target/extension-overhead.json";
+
+    private static final String RESULT_TEMPLATE = """
+            {
+              "tests": %d,
+              "rounds": %d,
+              "results": [
+            %s
+              ]
+            }
+            """;
+
+    private static final List<Class<? extends SyntheticSuite>> SUITES = List.of(BaselineSuite.class,
+            ControllerSuite.class, AnnotatedSuite.class);
+
+    private ExtensionOverheadHarness() {
+    }
+
+    /**
+     * @param args ignored, use the system properties documented at the type level
+     * @throws IOException if the result file can not be written
+     */
+    public static void main(String[] args) throws IOException {
+        // Otherwise the console output of the synthetic tests dominates the measurement
+        var rootLogger = LogManager.getLogManager().getLogger("");
+        Arrays.stream(rootLogger.getHandlers()).filter(ConsoleHandler.class::isInstance)
+                .forEach(rootLogger::removeHandler);
+
+        var rounds = Integer.getInteger(ROUNDS_PROPERTY, DEFAULT_ROUNDS);
+        var warmup = Integer.getInteger(WARMUP_PROPERTY, DEFAULT_WARMUP);
+        var tests = SyntheticSuite.testCount();
+
+        var durations = new long[SUITES.size()][rounds];
+        for (var round = -warmup; round < rounds; round++) {
+            for (var suite = 0; suite < SUITES.size(); suite++) {
+                var nanos = execute(SUITES.get(suite), tests);
+                if (round >= 0) {
+                    durations[suite][round] = nanos;
+                }
+            }
+        }
+
+        var baseline = median(durations[0]);
+        List<String> json = new ArrayList<>();
+        for (var suite = 0; suite < SUITES.size(); suite++) {
+            var median = median(durations[suite]);
+            var overheadMicros = (median - baseline) / 1_000.0 / tests;
+            var name = SUITES.get(suite).getSimpleName();
+            System.out.printf(Locale.ROOT, "%-16s %10.2f ms %10.3f us/test overhead%n", name, median / 1_000_000.0,
+                    overheadMicros);
+            json.add(String.format(Locale.ROOT,
+                    "    {\"suite\": \"%s\", \"medianMillis\": %.3f, \"overheadMicrosPerTest\": %.3f}", name,
+                    median / 1_000_000.0, overheadMicros));
+        }
+        var result = Path.of(System.getProperty(RESULT_PROPERTY, DEFAULT_RESULT_FILE));
+        if (null != result.getParent()) {
+            Files.createDirectories(result.getParent());
+        }
+        Files.writeString(result,
+                String.format(Locale.ROOT, RESULT_TEMPLATE, tests, rounds, String.join(",\n", json)));
+    }
+
+    private static long execute(Class<?> suite, int expectedTests) {
+        var start = System.nanoTime();
+        var results = EngineTestKit.engine("junit-jupiter").selectors(selectClass(suite)).execute();
+        var nanos = System.nanoTime() - start;
+        var events = results.testEvents();
+        var succeeded = events.succeeded().count();
+        if (succeeded != expectedTests) {
+            throw new IllegalStateException("Expected %s successful tests for %s, but got %s succeeded and %s failed"
+                    .formatted(expectedTests, suite.getSimpleName(), succeeded, events.failed().count()));
+        }
+        return nanos;
+    }
+
+    private static long median(long[] values) {
+        var sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli.benchmark;
+
+import static de.cuioss.test.juli.benchmark.CaptureFixtures.MISSING;
+import static de.cuioss.test.juli.benchmark.CaptureFixtures.NEEDLE;
+
+import java.util.concurrent.TimeUnit;
+
+import de.cuioss.test.juli.LogAsserts;
+import de.cuioss.test.juli.TestLogLevel;
+import de.cuioss.test.juli.TestLoggerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of passing and failing {@link LogAsserts} calls. A failing assertion
+ * renders all captured records into its message, therefore both cases are
+ * measured separately.
+ *
+ * @author Oliver Wolff
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class LogAssertsBenchmark {
+
+    @Param({ "100", "10000", "100000" })
+    int captureSize;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TestLoggerFactory.install();
+        CaptureFixtures.fill(TestLoggerFactory.getTestHandler(), captureSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        TestLoggerFactory.uninstall();
+    }
+
+    @Benchmark
+    public void assertPresentPassing() {
+        LogAsserts.assertLogMessagePresent(TestLogLevel.ERROR, NEEDLE);
+    }
+
+    @Benchmark
+    public void assertSinglePresentPassing() {
+        LogAsserts.assertSingleLogMessagePresent(TestLogLevel.ERROR, NEEDLE);
+    }
+
+    @Benchmark
+    public void assertNoMessagePassing() {
+        LogAsserts.assertNoLogMessagePresent(TestLogLevel.ERROR, MISSING);
+    }
+
+    @Benchmark
+    public AssertionError assertPresentFailing() {
+        try {
+            LogAsserts.assertLogMessagePresent(TestLogLevel.ERROR, MISSING);
+        } catch (AssertionError e) {
+            return e;
+        }
+        throw new IllegalStateException("Assertion expected to fail");
+    }
+
+    @Benchmark
+    public AssertionError assertNoMessageFailing() {
+        try {
+            LogAsserts.assertNoLogMessagePresent(TestLogLevel.ERROR, NEEDLE);
+        } catch (AssertionError e) {
+            return e;
+        }
+        throw new IllegalStateException("Assertion expected to fail");
+    }
+}
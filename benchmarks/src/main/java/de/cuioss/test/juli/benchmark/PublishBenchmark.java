@@ -0,0 +1,172 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.LogRecord;
+
+import de.cuioss.test.juli.TestLogHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of {@link TestLogHandler#publish(LogRecord)} for concurrently
+ * logging platform and virtual threads. Use the JMH option {@code -t} for running
+ * {@link #publish(PublishingThread)} with further thread counts.
+ *
+ * @author Oliver Wolff
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PublishBenchmark {
+
+    /** Bounds the capture, otherwise a throughput run would exhaust the heap. */
+    private static final int CLEAR_THRESHOLD = 1 << 18;
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private static final int BATCH_TASKS = 100;
+
+    private TestLogHandler handler;
+
+    private LogRecord[] batch;
+
+    private ExecutorService platformPool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        handler = new TestLogHandler();
+        batch = CaptureFixtures.records(BATCH_SIZE);
+        platformPool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        platformPool.shutdownNow();
+    }
+
+    @TearDown(Level.Iteration)
+    public void clear() {
+        handler.clearRecords();
+    }
+
+    /**
+     * Per thread source of records.
+     */
+    @State(Scope.Thread)
+    public static class PublishingThread {
+
+        LogRecord[] records;
+
+        int index;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            records = CaptureFixtures.records(1024);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void publish(PublishingThread thread) {
+        publishNext(thread);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void publishFourThreads(PublishingThread thread) {
+        publishNext(thread);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void publishMaxThreads(PublishingThread thread) {
+        publishNext(thread);
+    }
+
+    /**
+     * Publishes a batch of records from {@value #BATCH_TASKS} virtual threads.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void publishFromVirtualThreads() {
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            submitBatch(executor);
+        }
+        handler.clearRecords();
+    }
+
+    /**
+     * Publishes a batch of records from a pool of platform threads, the baseline
+     * for {@link #publishFromVirtualThreads()}.
+     *
+     * @throws InterruptedException if interrupted while waiting for the batch
+     * @throws ExecutionException   if publishing failed
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void publishFromPlatformThreads() throws InterruptedException, ExecutionException {
+        for (Future<?> future : submitBatch(platformPool)) {
+            future.get();
+        }
+        handler.clearRecords();
+    }
+
+    private List<Future<?>> submitBatch(ExecutorService executor) {
+        var perTask = BATCH_SIZE / BATCH_TASKS;
+        List<Future<?>> futures = new ArrayList<>(BATCH_TASKS);
+        for (var task = 0; task < BATCH_TASKS; task++) {
+            var offset = task * perTask;
+            futures.add(executor.submit(() -> {
+                for (var i = offset; i < offset + perTask; i++) {
+                    handler.publish(batch[i]);
+                }
+            }));
+        }
+        return futures;
+    }
+
+    private void publishNext(PublishingThread thread) {
+        handler.publish(thread.records[thread.index++ & 1023]);
+        if (thread.index == CLEAR_THRESHOLD) {
+            thread.index = 0;
+            handler.clearRecords();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Synthetic test suite executed by {@link ExtensionOverheadHarness}. It consists
+ * of a parameterized test on each level of a {@value #DEPTH} levels deep
+ * {@link Nested} hierarchy, each test logging a single record. The total number
+ * of tests is read from the system property {@value #TESTS_PROPERTY}. The
+ * concrete subclasses only differ in the way the test logger is enabled.
+ *
+ * @author Oliver Wolff
+ *
+ */
+abstract class SyntheticSuite {
+
+    static final String TESTS_PROPERTY = "de.cuioss.test.juli.benchmark.tests";
+
+    static final int DEFAULT_TESTS = 10_000;
+
+    /** Number of nested levels below the top level class. */
+    static final int DEPTH = 8;
+
+    private static final String CASES = "de.cuioss.test.juli.benchmark.SyntheticSuite#cases";
+
+    private static final Logger LOGGER = Logger.getLogger(SyntheticSuite.class.getName());
+
+    /**
+     * @return the number of tests executed per suite
+     */
+    static int testCount() {
+        return (testsPerLevel() * (DEPTH + 1)) + 1;
+    }
+
+    static IntStream cases() {
+        return IntStream.range(0, testsPerLevel());
+    }
+
+    private static int testsPerLevel() {
+        return Math.max(1, Integer.getInteger(TESTS_PROPERTY, DEFAULT_TESTS) / (DEPTH + 1));
+    }
+
+    static void execute(int index) {
+        LOGGER.info(() -> "Executing synthetic test " + index);
+        assertTrue(index >= 0);
+    }
+
+    @Test
+    void plain() {
+        execute(0);
+    }
+
+    @ParameterizedTest
+    @MethodSource(CASES)
+    void level0(int index) {
+        execute(index);
+    }
+
+    @Nested
+    class Level1 {
+
+        @ParameterizedTest
+        @MethodSource(CASES)
+        void level1(int index) {
+            execute(index);
+        }
+
+        @Nested
+        class Level2 {
+
+            @ParameterizedTest
+            @MethodSource(CASES)
+            void level2(int index) {
+                execute(index);
+            }
+
+            @Nested
+            class Level3 {
+
+                @ParameterizedTest
+                @MethodSource(CASES)
+                void level3(int index) {
+                    execute(index);
+                }
+
+                @Nested
+                class Level4 {
+
+                    @ParameterizedTest
+                    @MethodSource(CASES)
+                    void level4(int index) {
+                        execute(index);
+                    }
+
+                    @Nested
+                    class Level5 {
+
+                        @ParameterizedTest
+                        @MethodSource(CASES)
+                        void level5(int index) {
+                            execute(index);
+                        }
+
+                        @Nested
+                        class Level6 {
+
+                            @ParameterizedTest
+                            @MethodSource(CASES)
+                            void level6(int index) {
+                                execute(index);
+                            }
+
+                            @Nested
+                            class Level7 {
+
+                                @ParameterizedTest
+                                @MethodSource(CASES)
+                                void level7(int index) {
+                                    execute(index);
+                                }
+
+                                @Nested
+                                class Level8 {
+
+                                    @ParameterizedTest
+                                    @MethodSource(CASES)
+                                    void level8(int index) {
+                                        execute(index);
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
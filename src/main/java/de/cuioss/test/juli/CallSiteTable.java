@@ -0,0 +1,186 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+import java.lang.StackWalker.StackFrame;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.LogRecord;
+
+/**
+ * Records the call sites of published records, see
+ * {@link TestLogHandler#setCallSiteRecording(boolean)}. The call site is
+ * determined at publish time by a depth-limited {@link StackWalker}, skipping
+ * logging infrastructure, and deduplicated into a table of dense int ids
+ * counting the records per call site. Not thread-safe, callers need to
+ * synchronize.
+ *
+ * @author Oliver Wolff
+ *
+ */
+final class CallSiteTable {
+
+    /** The id of records without a recorded call site */
+    static final int NO_CALL_SITE = -1;
+
+    /** The maximum number of frames walked per record */
+    static final int MAX_DEPTH = 32;
+
+    /** The maximum number of distinct call sites */
+    static final int DEFAULT_CAPACITY = 1 << 14;
+
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    /** Prefixes of the packages not considered as call site */
+    private static final List<String> INFRASTRUCTURE = List.of("java.util.logging.", "sun.util.logging.",
+            "jdk.internal.logger.", "java.lang.System$Logger", "de.cuioss.tools.logging.", "org.slf4j.");
+
+    /** Classes, including their nested ones, not considered as call site */
+    private static final List<String> OWN_CLASSES = List.of(TestLogHandler.class.getName(),
+            CallSiteTable.class.getName());
+
+    private final Map<String, Integer> ids = new HashMap<>();
+
+    private final List<String> classNames = new ArrayList<>();
+
+    private final List<String> methodNames = new ArrayList<>();
+
+    private int[] lineNumbers = new int[64];
+
+    private long[] counts = new long[64];
+
+    /**
+     * Determines the call site of the given record, sets it as source class and
+     * method of the record and counts it. The source is cleared if it can not be
+     * determined, so the given record must be owned by the handler, i.e. not be
+     * the one passed to other handlers.
+     *
+     * @param logRecord being published from the current thread, must not be null
+     * @return the id of the call site, {@link #NO_CALL_SITE} if it could not be
+     *         determined within {@link #MAX_DEPTH} frames or the table is full
+     */
+    int record(LogRecord logRecord) {
+        Optional<StackFrame> found = WALKER.walk(frames -> frames.limit(MAX_DEPTH)
+                .filter(frame -> !isInfrastructure(frame.getClassName())).findFirst());
+        if (found.isEmpty()) {
+            logRecord.setSourceClassName(null);
+            logRecord.setSourceMethodName(null);
+            return NO_CALL_SITE;
+        }
+        var frame = found.get();
+        var id = intern(frame);
+        if (NO_CALL_SITE == id) {
+            logRecord.setSourceClassName(frame.getClassName());
+            logRecord.setSourceMethodName(frame.getMethodName());
+            return NO_CALL_SITE;
+        }
+        counts[id]++;
+        logRecord.setSourceClassName(classNames.get(id));
+        logRecord.setSourceMethodName(methodNames.get(id));
+        return id;
+    }
+
+    private static boolean isInfrastructure(String className) {
+        for (String prefix : INFRASTRUCTURE) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        for (String ownClass : OWN_CLASSES) {
+            if (className.startsWith(ownClass)
+                    && (className.length() == ownClass.length() || '$' == className.charAt(ownClass.length()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int intern(StackFrame frame) {
+        var key = render(frame.getClassName(), frame.getMethodName(), frame.getLineNumber());
+        var id = ids.get(key);
+        if (null != id) {
+            return id;
+        }
+        if (ids.size() >= DEFAULT_CAPACITY) {
+            return NO_CALL_SITE;
+        }
+        id = ids.size();
+        ids.put(key, id);
+        classNames.add(frame.getClassName());
+        methodNames.add(frame.getMethodName());
+        if (id == lineNumbers.length) {
+            lineNumbers = Arrays.copyOf(lineNumbers, id * 2);
+            counts = Arrays.copyOf(counts, id * 2);
+        }
+        lineNumbers[id] = frame.getLineNumber();
+        return id;
+    }
+
+    /**
+     * @param className  the source class to be matched, must not be null
+     * @param methodName the source method to be matched, matches all if null
+     * @return per call site id whether it matches
+     */
+    boolean[] matching(String className, String methodName) {
+        var matching = new boolean[ids.size()];
+        for (var id = 0; id < matching.length; id++) {
+            matching[id] = className.equals(classNames.get(id))
+                    && (null == methodName || methodName.equals(methodNames.get(id)));
+        }
+        return matching;
+    }
+
+    /**
+     * @return the number of records per call site rendered as
+     *         "className#methodName:lineNumber", most frequent first
+     */
+    Map<String, Long> volume() {
+        List<Integer> sorted = new ArrayList<>(ids.values());
+        sorted.sort((first, second) -> Long.compare(counts[second], counts[first]));
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Integer id : sorted) {
+            result.put(render(classNames.get(id), methodNames.get(id), lineNumbers[id]), counts[id]);
+        }
+        return result;
+    }
+
+    /**
+     * @return the number of distinct call sites
+     */
+    int size() {
+        return ids.size();
+    }
+
+    /**
+     * Removes all entries.
+     */
+    void clear() {
+        ids.clear();
+        classNames.clear();
+        methodNames.clear();
+        lineNumbers = new int[64];
+        counts = new long[64];
+    }
+
+    private static String render(String className, String methodName, int lineNumber) {
+        return className + "#" + methodName + ":" + lineNumber;
+    }
+}
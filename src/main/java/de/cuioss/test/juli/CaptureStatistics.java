@@ -0,0 +1,363 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Counters backing {@link CaptureStatisticsMXBean}. They are maintained
+ * incrementally by {@link TestLogHandler} while publishing and clearing, so
+ * reading them never touches the captured records.
+ *
+ * @author Oliver Wolff
+ *
+ */
+final class CaptureStatistics implements CaptureStatisticsMXBean {
+
+    /** Rough shallow size of a {@link LogRecord} including its references. */
+    private static final int RECORD_OVERHEAD = 96;
+
+    /** Rough size of a {@link String} without its content. */
+    private static final int STRING_OVERHEAD = 40;
+
+    /** Rough size of a {@link Throwable} including a moderate stack trace. */
+    private static final int THROWABLE_ESTIMATE = 1024;
+
+    /** Rough size of a {@link ThrowableSummary}, see {@link ThrowableRetention}. */
+    private static final int THROWABLE_SUMMARY_ESTIMATE = 256;
+
+    private static final int REFERENCE_SIZE = 8;
+
+    /** Rough shallow size of an object or array without its elements. */
+    private static final int OBJECT_OVERHEAD = 24;
+
+    private static final int ARRAY_OVERHEAD = 16;
+
+    /** The logger and message ids kept per record by {@link TestLogHandler}. */
+    private static final int ENCODED_IDS = 8;
+
+    /** The minimum length of the windows the publish rate is measured over. */
+    static final long RATE_WINDOW_NANOS = 1_000_000_000L;
+
+    private final Map<String, LongAdder> perLevel = new ConcurrentHashMap<>();
+    private final Set<String> loggerNames = ConcurrentHashMap.newKeySet();
+    private final Map<String, IntSupplier> indexes = new ConcurrentHashMap<>();
+    private final LongAdder retainedBytes = new LongAdder();
+    private final LongAdder parameterBytes = new LongAdder();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder spilledRecords = new LongAdder();
+    private final LongAdder spilledBytes = new LongAdder();
+    private final LongAdder collapsedRecords = new LongAdder();
+    private final LongAdder subscriberDroppedRecords = new LongAdder();
+
+    // The current rate window, only updated while publishing, under the lock of the handler
+    private long windowStart = System.nanoTime();
+    private long windowCount;
+
+    private volatile double windowRate;
+    private volatile long windowEnd = windowStart;
+
+    /**
+     * @param logRecord     has been captured, must not be null
+     * @param sharedMessage {@code true} if the record's message is shared with
+     *                      previously captured records, see
+     *                      {@link StringDictionary}
+     */
+    void recordPublished(LogRecord logRecord, boolean sharedMessage) {
+        count(logRecord);
+        retainedBytes.add(estimateRetainedBytes(logRecord, sharedMessage));
+        parameterBytes.add(estimateParameterBytes(logRecord.getParameters()));
+    }
+
+    /**
+     * @param logRecord has been captured as repeat of the preceding record, see
+     *                  {@link TestLogHandler#setCollapseRepeated(boolean)}, must
+     *                  not be null
+     */
+    void recordCollapsed(LogRecord logRecord) {
+        count(logRecord);
+        collapsedRecords.increment();
+    }
+
+    /**
+     * @param logRecord    has been captured and spilled to disk, must not be null
+     * @param encodedBytes the number of bytes the record occupies on disk
+     */
+    void recordSpilled(LogRecord logRecord, int encodedBytes) {
+        count(logRecord);
+        spilledRecords.increment();
+        spilledBytes.add(encodedBytes);
+    }
+
+    /**
+     * @param dropped the number of records dropped by the {@link OverflowPolicy}
+     *                of subscribers, see {@link TestLogHandler#publisher()}
+     */
+    void recordSubscriberDropped(int dropped) {
+        subscriberDroppedRecords.add(dropped);
+    }
+
+    private void count(LogRecord logRecord) {
+        published.increment();
+        updateRate(System.nanoTime());
+        perLevel.computeIfAbsent(levelKey(logRecord.getLevel()), key -> new LongAdder()).increment();
+        var loggerName = logRecord.getLoggerName();
+        if (null != loggerName) {
+            loggerNames.add(loggerName);
+        }
+    }
+
+    /**
+     * Counts a published record within the current rate window, completing the
+     * window once it lasted {@link #RATE_WINDOW_NANOS}.
+     *
+     * @param now the current {@link System#nanoTime()}
+     */
+    void updateRate(long now) {
+        var elapsed = now - windowStart;
+        if (elapsed >= RATE_WINDOW_NANOS) {
+            windowRate = windowCount * 1_000_000_000.0 / elapsed;
+            windowEnd = now;
+            windowStart = now;
+            windowCount = 0;
+        }
+        windowCount++;
+    }
+
+    /**
+     * @param discarded the number of records discarded by clearing the handler
+     */
+    void recordCleared(int discarded) {
+        evictions.add(discarded);
+        perLevel.clear();
+        loggerNames.clear();
+        retainedBytes.reset();
+        parameterBytes.reset();
+        spilledRecords.reset();
+        spilledBytes.reset();
+        collapsedRecords.reset();
+    }
+
+    @Override
+    public long getRecordCount() {
+        return perLevel.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    @Override
+    public Map<String, Long> getRecordCountPerLevel() {
+        Map<String, Long> result = new TreeMap<>();
+        perLevel.forEach((level, count) -> result.put(level, count.sum()));
+        return result;
+    }
+
+    @Override
+    public long getEstimatedRetainedBytes() {
+        return retainedBytes.sum();
+    }
+
+    @Override
+    public long getParameterBytes() {
+        return parameterBytes.sum();
+    }
+
+    @Override
+    public long getPublishedTotal() {
+        return published.sum();
+    }
+
+    @Override
+    public double getPublishRatePerSecond() {
+        return getPublishRatePerSecond(System.nanoTime());
+    }
+
+    /**
+     * @param now the current {@link System#nanoTime()}
+     * @return the rate of the last completed window, 0 if none has been completed
+     *         within two windows, i.e. publishing has stalled
+     */
+    double getPublishRatePerSecond(long now) {
+        return now - windowEnd > 2 * RATE_WINDOW_NANOS ? 0.0 : windowRate;
+    }
+
+    @Override
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    @Override
+    public long getSpilledRecords() {
+        return spilledRecords.sum();
+    }
+
+    @Override
+    public long getSpilledBytes() {
+        return spilledBytes.sum();
+    }
+
+    @Override
+    public long getCollapsedRecords() {
+        return collapsedRecords.sum();
+    }
+
+    @Override
+    public long getSubscriberDroppedRecords() {
+        return subscriberDroppedRecords.sum();
+    }
+
+    @Override
+    public Map<String, Integer> getIndexSizes() {
+        Map<String, Integer> result = new TreeMap<>();
+        result.put("logger", loggerNames.size());
+        indexes.forEach((name, size) -> result.put(name, size.getAsInt()));
+        return result;
+    }
+
+    /**
+     * @param name the name reported by {@link #getIndexSizes()}, must not be null
+     * @param size supplying the current number of entries of the index, must not
+     *             be null
+     */
+    void registerIndex(String name, IntSupplier size) {
+        indexes.put(name, size);
+    }
+
+    /**
+     * Registers the given statistics at the platform MBeanServer, replacing a
+     * previously registered instance.
+     *
+     * @param statistics to be registered
+     */
+    static void register(CaptureStatistics statistics) {
+        try {
+            var server = ManagementFactory.getPlatformMBeanServer();
+            var name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(statistics, name);
+        } catch (JMException e) {
+            Logger.getLogger(CaptureStatistics.class.getName()).log(Level.FINE,
+                    "Unable to register " + OBJECT_NAME, e);
+        }
+    }
+
+    /**
+     * Removes previously registered statistics from the platform MBeanServer, if
+     * present.
+     */
+    static void unregister() {
+        try {
+            var server = ManagementFactory.getPlatformMBeanServer();
+            var name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            Logger.getLogger(CaptureStatistics.class.getName()).log(Level.FINE,
+                    "Unable to unregister " + OBJECT_NAME, e);
+        }
+    }
+
+    static String levelKey(Level level) {
+        if (null == level) {
+            return "null";
+        }
+        for (TestLogLevel testLogLevel : TestLogLevel.values()) {
+            if (testLogLevel.getJuliLevel().equals(level)) {
+                return testLogLevel.name();
+            }
+        }
+        return level.getName();
+    }
+
+    static long estimateRetainedBytes(LogRecord logRecord, boolean sharedMessage) {
+        long size = RECORD_OVERHEAD + ENCODED_IDS;
+        var message = logRecord.getMessage();
+        if (null != message && !sharedMessage) {
+            size += STRING_OVERHEAD + message.length();
+        }
+        size += estimateParameterBytes(logRecord.getParameters());
+        var thrown = logRecord.getThrown();
+        if (thrown instanceof ThrowableSummary) {
+            size += THROWABLE_SUMMARY_ESTIMATE;
+        } else if (null != thrown) {
+            size += THROWABLE_ESTIMATE;
+        }
+        return size;
+    }
+
+    /**
+     * @param parameters of a captured record, may be null
+     * @return a rough estimate of the heap kept alive by the given parameters:
+     *         The array, strings, arrays and heap buffers including their content,
+     *         collections and maps including their references, and the shallow size
+     *         of other objects
+     */
+    static long estimateParameterBytes(Object[] parameters) {
+        if (null == parameters) {
+            return 0;
+        }
+        long size = ARRAY_OVERHEAD + (long) REFERENCE_SIZE * parameters.length;
+        for (Object parameter : parameters) {
+            size += estimateParameterBytes(parameter);
+        }
+        return size;
+    }
+
+    private static long estimateParameterBytes(Object parameter) {
+        if (null == parameter || parameter instanceof Boolean || parameter instanceof Enum) {
+            return 0;
+        }
+        if (parameter instanceof CharSequence sequence) {
+            return STRING_OVERHEAD + sequence.length();
+        }
+        if (parameter instanceof byte[] bytes) {
+            return ARRAY_OVERHEAD + bytes.length;
+        }
+        if (parameter instanceof Object[] objects) {
+            return ARRAY_OVERHEAD + (long) REFERENCE_SIZE * objects.length;
+        }
+        if (parameter.getClass().isArray()) {
+            return ARRAY_OVERHEAD + 8L * Array.getLength(parameter);
+        }
+        if (parameter instanceof ByteBuffer buffer) {
+            return OBJECT_OVERHEAD * 3L + (buffer.hasArray() ? buffer.capacity() : 0);
+        }
+        if (parameter instanceof Collection<?> collection) {
+            return OBJECT_OVERHEAD + (long) REFERENCE_SIZE * 2 * collection.size();
+        }
+        if (parameter instanceof Map<?, ?> map) {
+            return OBJECT_OVERHEAD + (long) OBJECT_OVERHEAD * map.size();
+        }
+        return OBJECT_OVERHEAD;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+import java.util.Map;
+
+/**
+ * Management interface exposing live statistics of the {@link TestLogHandler}
+ * installed by {@link TestLoggerFactory#install()}. It is registered at the
+ * platform MBeanServer under {@value #OBJECT_NAME} and can therefore be
+ * inspected using JConsole or any other JMX client.
+ *
+ * @author Oliver Wolff
+ *
+ */
+public interface CaptureStatisticsMXBean {
+
+    /** The name the statistics are registered with. */
+    String OBJECT_NAME = "de.cuioss.test.juli:type=TestLogHandler";
+
+    /**
+     * @return the number of records currently captured
+     */
+    long getRecordCount();
+
+    /**
+     * @return the number of records currently captured, keyed by the name of the
+     *         {@link TestLogLevel}, or the name of the JUL level in case it does not
+     *         map to a {@link TestLogLevel}
+     */
+    Map<String, Long> getRecordCountPerLevel();
+
+    /**
+     * @return a rough estimate of the heap retained by the currently captured
+     *         records in bytes
+     */
+    long getEstimatedRetainedBytes();
+
+    /**
+     * @return a rough estimate of the heap kept alive by the parameters of the
+     *         currently captured records in bytes, see
+     *         {@link TestLogHandler#setParameterRetention(ParameterRetention)}
+     */
+    long getParameterBytes();
+
+    /**
+     * @return the number of records published since the handler has been created,
+     *         including the ones already cleared
+     */
+    long getPublishedTotal();
+
+    /**
+     * @return the number of records published per second within the last
+     *         completed window of at least one second, the same for all readers.
+     *         Windows are completed by publishing, the rate is 0 if none has been
+     *         completed within the last two seconds.
+     */
+    double getPublishRatePerSecond();
+
+    /**
+     * @return the number of records discarded by
+     *         {@link TestLogHandler#clearRecords()}
+     */
+    long getEvictions();
+
+    /**
+     * @return the number of records currently spilled to disk, see
+     *         {@link TestLogHandler#spillToDisk(int, java.nio.file.Path)}
+     */
+    long getSpilledRecords();
+
+    /**
+     * @return the number of bytes the currently spilled records occupy on disk,
+     *         excluding file headers
+     */
+    long getSpilledBytes();
+
+    /**
+     * @return the number of currently captured records collapsed into their
+     *         preceding record, see
+     *         {@link TestLogHandler#setCollapseRepeated(boolean)}
+     */
+    long getCollapsedRecords();
+
+    /**
+     * @return the total number of records dropped for subscribers of
+     *         {@link TestLogHandler#publisher()} not keeping up, see
+     *         {@link OverflowPolicy}, not reset by clearing the records
+     */
+    long getSubscriberDroppedRecords();
+
+    /**
+     * @return the number of entries of the indexes maintained for the currently
+     *         captured records, keyed by the name of the index
+     */
+    Map<String, Integer> getIndexSizes();
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.logging.LogRecord;
+
+/**
+ * The records captured by a {@link TestLogHandler} at a point in time. Taking it
+ * is cheap and done under the lock of the handler, the records are resolved
+ * later without it, e.g. by the thread exporting them: The records on heap are
+ * shared with a {@link RecordStore#snapshot()}, spilled records are decoded from
+ * the segments retained by a {@link SpillFile.Snapshot}, which are released on
+ * {@link #close()}. The names of the publishing threads are copied from the
+ * {@link ThreadTable}.
+ *
+ * @author Oliver Wolff
+ *
+ */
+final class CapturedRecords implements Closeable {
+
+    private final RecordStore onHeap;
+
+    private final SpillFile.Snapshot spilled;
+
+    private final Map<Long, String> threadNames;
+
+    /**
+     * @param onHeap      the snapshot of the records on heap, must not be null
+     * @param spilled     the snapshot of the spilled records, may be null if there
+     *                    are none
+     * @param threadNames the latest name per thread id, see
+     *                    {@link ThreadTable#names()}, must not be null
+     */
+    CapturedRecords(RecordStore onHeap, SpillFile.Snapshot spilled, Map<Long, String> threadNames) {
+        this.onHeap = onHeap;
+        this.spilled = spilled;
+        this.threadNames = threadNames;
+    }
+
+    /**
+     * @return the number of records, counting collapsed repeats and spilled ones
+     */
+    int size() {
+        return onHeap.size() + (null == spilled ? 0 : spilled.getSize());
+    }
+
+    /**
+     * @param threadId as provided by {@link LogRecord#getLongThreadID()}
+     * @return the latest name of the thread, {@code null} if unknown
+     */
+    String threadNameOf(long threadId) {
+        return threadNames.get(threadId);
+    }
+
+    /**
+     * Passes the records on heap, each collapsed repeat separately, followed by
+     * the decoded spilled ones.
+     *
+     * @param consumer receiving the records, must not be null
+     * @throws IOException if reading the spilled records fails
+     */
+    void forEach(Consumer<LogRecord> consumer) throws IOException {
+        onHeap.forEachEntry((logRecord, count) -> {
+            for (var i = 0; i < count; i++) {
+                consumer.accept(logRecord);
+            }
+        });
+        if (null != spilled) {
+            spilled.forEach(consumer);
+        }
+    }
+
+    /**
+     * Releases the spilled segments, the records must not be passed afterwards.
+     */
+    @Override
+    public void close() throws IOException {
+        if (null != spilled) {
+            spilled.close();
+        }
+    }
+}
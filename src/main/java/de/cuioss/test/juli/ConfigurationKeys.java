@@ -44,6 +44,87 @@ final class ConfigurationKeys {
     /** The key for the default log-level */
     static final String CONFIGURATION_KEY_ROOT_LOG_LEVEL = PROPERTY_PREFIX + "root_log_level";
 
+    /**
+     * The key for the number of records kept on heap before further records are
+     * spilled to disk, see {@link TestLogHandler#spillToDisk(int, java.nio.file.Path)}.
+     * Spilling is disabled if not set.
+     */
+    static final String CONFIGURATION_KEY_SPILL_THRESHOLD = PROPERTY_PREFIX + "spill_threshold";
+
+    /**
+     * The key for the directory spilled records are written to, defaults to
+     * "java.io.tmpdir"
+     */
+    static final String CONFIGURATION_KEY_SPILL_DIRECTORY = PROPERTY_PREFIX + "spill_directory";
+
+    /**
+     * The key for the {@link ThrowableRetention} policies, either a single policy
+     * applied to all levels, e.g. "SUMMARY", or a comma separated list of
+     * level/policy pairs, e.g. "ERROR=FULL,WARN=SUMMARY,INFO=CLASS_ONLY". Keeps
+     * the full throwable if not set.
+     */
+    static final String CONFIGURATION_KEY_THROWABLE_RETENTION = PROPERTY_PREFIX + "throwable_retention";
+
+    /**
+     * The key for the {@link ParameterRetention} policy, e.g. "SNAPSHOT". Keeps
+     * the parameters if not set.
+     */
+    static final String CONFIGURATION_KEY_PARAMETER_RETENTION = PROPERTY_PREFIX + "parameter_retention";
+
+    /**
+     * The key for recording the call sites of published records, see
+     * {@link TestLogHandler#setCallSiteRecording(boolean)}, defaults to
+     * {@code false}
+     */
+    static final String CONFIGURATION_KEY_RECORD_CALL_SITES = PROPERTY_PREFIX + "record_call_sites";
+
+    /**
+     * The key for collapsing repeated records, see
+     * {@link TestLogHandler#setCollapseRepeated(boolean)}, defaults to
+     * {@code false}
+     */
+    static final String CONFIGURATION_KEY_COLLAPSE_REPEATED = PROPERTY_PREFIX + "collapse_repeated";
+
+    /**
+     * The key for the number of records buffered per subscriber of
+     * {@link TestLogHandler#publisher()}, see
+     * {@link TestLogHandler#setSubscriberBufferCapacity(int)}, defaults to
+     * {@link java.util.concurrent.Flow#defaultBufferSize()}
+     */
+    static final String CONFIGURATION_KEY_SUBSCRIBER_BUFFER = PROPERTY_PREFIX + "subscriber_buffer";
+
+    /**
+     * The key for the {@link OverflowPolicy} of subscribers of
+     * {@link TestLogHandler#publisher()}, e.g. "CANCEL", defaults to
+     * {@link OverflowPolicy#DROP_OLDEST}
+     */
+    static final String CONFIGURATION_KEY_SUBSCRIBER_OVERFLOW = PROPERTY_PREFIX + "subscriber_overflow";
+
+    /**
+     * The key for the directory the records captured by each test are exported to
+     * as JSON-lines, see {@link JsonLinesExporter}. Exporting is disabled if not
+     * set.
+     */
+    static final String CONFIGURATION_KEY_EXPORT_DIRECTORY = PROPERTY_PREFIX + "export_directory";
+
+    /**
+     * The key for the export mode: "per_test" (default) writes one file per test
+     * method, "rolling" appends all tests to size-limited files.
+     */
+    static final String CONFIGURATION_KEY_EXPORT_MODE = PROPERTY_PREFIX + "export_mode";
+
+    /**
+     * The key for the maximum number of records waiting to be written by the
+     * exporter, defaults to {@link JsonLinesExporter#DEFAULT_CAPACITY}
+     */
+    static final String CONFIGURATION_KEY_EXPORT_BUFFER = PROPERTY_PREFIX + "export_buffer";
+
+    /**
+     * The key for restricting the export to failed tests, defaults to
+     * {@code false}
+     */
+    static final String CONFIGURATION_KEY_EXPORT_FAILED_ONLY = PROPERTY_PREFIX + "export_failed_only";
+
     /** The value for the default log-level: {@link TestLogLevel#INFO} */
     static final String CONFIGURATION_DEFAULT_ROOT_LOG_LEVEL = TestLogLevel.INFO.toString();
 
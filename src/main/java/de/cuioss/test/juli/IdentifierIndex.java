@@ -0,0 +1,147 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+import java.util.Arrays;
+
+/**
+ * Hash index from message identifiers, as defined by
+ * {@code de.cuioss.tools.logging.LogRecord#resolveIdentifierString()}, to the
+ * indexes of the records carrying them. Messages logged by such definitions
+ * start with the identifier, e.g. "PORTAL-123: Some message", see
+ * {@link #parse(String)}. Not thread-safe, callers need to synchronize.
+ *
+ * @author Oliver Wolff
+ *
+ */
+final class IdentifierIndex {
+
+    private static final int INITIAL_POSTINGS = 8;
+
+    private final StringDictionary identifiers = new StringDictionary();
+
+    /** Per identifier id the ascending indexes of the records */
+    private int[][] postings = new int[16][];
+
+    private int[] counts = new int[16];
+
+    /** {@code true} once an identifier could not be indexed, the index is partial */
+    private boolean overflow;
+
+    /**
+     * @param message to be parsed, may be null
+     * @return the identifier the given message starts with, i.e. a prefix
+     *         consisting of upper case letters, digits and underscores starting
+     *         with a letter, followed by '-' and a number, and terminated by ':',
+     *         whitespace or the end of the message. {@code null} if there is none.
+     */
+    static String parse(String message) {
+        if (null == message || message.isEmpty() || !isPrefixStart(message.charAt(0))) {
+            return null;
+        }
+        var position = 1;
+        var length = message.length();
+        while (position < length && isPrefixPart(message.charAt(position))) {
+            position++;
+        }
+        if (position == length || '-' != message.charAt(position)) {
+            return null;
+        }
+        var digitsStart = ++position;
+        while (position < length && Character.isDigit(message.charAt(position))) {
+            position++;
+        }
+        if (position == digitsStart) {
+            return null;
+        }
+        if (position < length && ':' != message.charAt(position) && !Character.isWhitespace(message.charAt(position))) {
+            return null;
+        }
+        return message.substring(0, position);
+    }
+
+    private static boolean isPrefixStart(char character) {
+        return character >= 'A' && character <= 'Z';
+    }
+
+    private static boolean isPrefixPart(char character) {
+        return isPrefixStart(character) || character >= '0' && character <= '9' || '_' == character;
+    }
+
+    /**
+     * @param identifier of the record, must not be null
+     * @param index      of the record, must be greater than all indexes added
+     *                   before
+     */
+    void add(String identifier, int index) {
+        var id = identifiers.intern(identifier);
+        if (StringDictionary.NOT_INTERNED == id) {
+            overflow = true;
+            return;
+        }
+        if (id == postings.length) {
+            postings = Arrays.copyOf(postings, id * 2);
+            counts = Arrays.copyOf(counts, id * 2);
+        }
+        var posting = postings[id];
+        if (null == posting) {
+            posting = new int[INITIAL_POSTINGS];
+        } else if (counts[id] == posting.length) {
+            posting = Arrays.copyOf(posting, posting.length * 2);
+        }
+        postings[id] = posting;
+        posting[counts[id]++] = index;
+    }
+
+    /**
+     * @return {@code false} if at least one identifier could not be indexed,
+     *         because the dictionary is full. In that case the index must not be
+     *         used for lookups.
+     */
+    boolean isComplete() {
+        return !overflow;
+    }
+
+    /**
+     * @param identifier to be looked up, must not be null
+     * @return a copy of the indexes of the records carrying the given identifier
+     *         in ascending order
+     */
+    int[] entries(String identifier) {
+        var id = identifiers.lookup(identifier);
+        if (StringDictionary.NOT_INTERNED == id) {
+            return new int[0];
+        }
+        return Arrays.copyOf(postings[id], counts[id]);
+    }
+
+    /**
+     * @return the number of distinct identifiers
+     */
+    int size() {
+        return identifiers.size();
+    }
+
+    /**
+     * Removes all entries.
+     */
+    void clear() {
+        identifiers.clear();
+        postings = new int[16][];
+        counts = new int[16];
+        overflow = false;
+    }
+}
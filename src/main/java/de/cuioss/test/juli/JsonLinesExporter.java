@@ -0,0 +1,403 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Streams the records captured by a test as JSON-lines to local files. The
+ * records are handed over as {@link CapturedRecords} and resolved and written by
+ * a single background thread, the test thread never waits on disk I/O, neither
+ * for decoding spilled records. Each line is a self-contained JSON object with
+ * the attributes "test", "sequence", "nanotime" (nanoseconds since epoch of the
+ * record's instant), "thread" (id), "threadName" (if known), "level", "logger",
+ * "message" and, if present, "parameters" and "thrown" (class and message).
+ * <p>
+ * The number of records waiting to be written is bounded by the capacity: Records
+ * exceeding it are dropped and reported by a trailing line containing
+ * "droppedRecords" for the test concerned.
+ * <p>
+ * Either writes one file per test, named after the test class and method, or
+ * appends all tests to rolling files "test-logs-00000.jsonl", ... that are
+ * limited by {@link #MAX_ROLLING_FILE_SIZE}. Files left by a previous run are
+ * truncated on their first write within the current one, i.e. the current JVM.
+ *
+ * @author Oliver Wolff
+ *
+ */
+final class JsonLinesExporter implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(JsonLinesExporter.class.getName());
+
+    /** The value of the export mode for writing rolling files */
+    static final String MODE_ROLLING = "rolling";
+
+    /** The default number of records waiting to be written */
+    static final int DEFAULT_CAPACITY = 100_000;
+
+    /** Rolling files are switched once exceeding this size */
+    static final long MAX_ROLLING_FILE_SIZE = 64L * 1024 * 1024;
+
+    static final String FILE_SUFFIX = ".jsonl";
+
+    private static final String ROLLING_FILE_PATTERN = "test-logs-%05d" + FILE_SUFFIX;
+
+    private static final long CLOSE_TIMEOUT_SECONDS = 60;
+
+    /** The files written within this run, by any exporter */
+    private static final Set<Path> WRITTEN_FILES = ConcurrentHashMap.newKeySet();
+
+    private final Path directory;
+
+    private final boolean rolling;
+
+    private final int capacity;
+
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        var thread = new Thread(runnable, "cui-test-juli-export");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final AtomicLong droppedRecords = new AtomicLong();
+
+    private final AtomicLong failedWrites = new AtomicLong();
+
+    /**
+     * The first failure, reported on {@link #close()}: logging from the writer
+     * thread would end up in the records of the currently running test
+     */
+    private final AtomicReference<IOException> firstFailure = new AtomicReference<>();
+
+    // State below is confined to the writer thread
+    private final StringBuilder line = new StringBuilder(256);
+
+    private OutputStream rollingStream;
+
+    private long rollingFileSize;
+
+    private int rollingFileIndex;
+
+    /**
+     * @param directory to write the files to, created if not existing, must not be
+     *                  null
+     * @param rolling   {@code true} for rolling files, {@code false} for one file
+     *                  per test
+     * @param capacity  the maximum number of records waiting to be written
+     */
+    JsonLinesExporter(Path directory, boolean rolling, int capacity) {
+        this.directory = directory;
+        this.rolling = rolling;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Schedules the given records for being written. Returns immediately, records
+     * exceeding the capacity are dropped.
+     *
+     * @param testId  uniquely identifying the test, must not be null
+     * @param name    of the test, used as file name in case of one file per test,
+     *                must not be null
+     * @param records to be exported, must not be null, closed once written
+     * @return the number of records scheduled for being written
+     */
+    int export(String testId, String name, CapturedRecords records) {
+        var size = records.size();
+        var accepted = reserve(size);
+        var dropped = size - accepted;
+        if (dropped > 0) {
+            droppedRecords.addAndGet(dropped);
+        }
+        if (0 == accepted && 0 == dropped) {
+            release(records);
+            return 0;
+        }
+        try {
+            writer.execute(() -> write(testId, name, records, accepted, dropped));
+        } catch (RejectedExecutionException e) {
+            pending.addAndGet(-accepted);
+            droppedRecords.addAndGet(accepted);
+            release(records);
+            return 0;
+        }
+        return accepted;
+    }
+
+    private int reserve(int requested) {
+        while (true) {
+            var current = pending.get();
+            var accepted = Math.min(requested, Math.max(0, capacity - current));
+            if (pending.compareAndSet(current, current + accepted)) {
+                return accepted;
+            }
+        }
+    }
+
+    /**
+     * Writes all scheduled records and closes the files. Waits at most
+     * {@value #CLOSE_TIMEOUT_SECONDS} seconds.
+     */
+    @Override
+    public void close() {
+        if (writer.isShutdown()) {
+            return;
+        }
+        writer.execute(this::closeRollingStream);
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LOGGER.warning(() -> "Export to " + directory + " did not finish within " + CLOSE_TIMEOUT_SECONDS
+                        + " seconds");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (droppedRecords.get() > 0 || failedWrites.get() > 0) {
+            LOGGER.log(Level.WARNING, firstFailure.get(), () -> "Export to " + directory
+                    + " incomplete, dropped records: " + droppedRecords.get() + ", failed writes: "
+                    + failedWrites.get());
+        }
+    }
+
+    /**
+     * @return the number of records dropped because the capacity was exceeded
+     */
+    long getDroppedRecords() {
+        return droppedRecords.get();
+    }
+
+    /**
+     * @return the number of failed write operations
+     */
+    long getFailedWrites() {
+        return failedWrites.get();
+    }
+
+    private void write(String testId, String name, CapturedRecords captured, int accepted, int dropped) {
+        try (captured) {
+            List<LogRecord> records = new ArrayList<>(accepted);
+            captured.forEach(logRecord -> {
+                if (records.size() < accepted) {
+                    records.add(logRecord);
+                }
+            });
+            if (rolling) {
+                writeRolling(testId, captured, records, dropped);
+            } else {
+                Files.createDirectories(directory);
+                var file = directory.resolve(fileName(name));
+                try (var out = new BufferedOutputStream(Files.newOutputStream(file, openOptions(file)))) {
+                    for (LogRecord logRecord : records) {
+                        writeLine(out, render(testId, captured, logRecord));
+                    }
+                    if (dropped > 0) {
+                        writeLine(out, renderDropped(testId, dropped));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            fail(e);
+        } finally {
+            pending.addAndGet(-accepted);
+        }
+    }
+
+    private void release(CapturedRecords records) {
+        try {
+            records.close();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    private void writeRolling(String testId, CapturedRecords captured, List<LogRecord> records, int dropped)
+            throws IOException {
+        for (LogRecord logRecord : records) {
+            writeRollingLine(render(testId, captured, logRecord));
+        }
+        if (dropped > 0) {
+            writeRollingLine(renderDropped(testId, dropped));
+        }
+    }
+
+    private void writeRollingLine(String content) throws IOException {
+        if (null == rollingStream || rollingFileSize >= MAX_ROLLING_FILE_SIZE) {
+            nextRollingFile();
+        }
+        rollingFileSize += writeLine(rollingStream, content);
+    }
+
+    private void nextRollingFile() throws IOException {
+        closeRollingStream();
+        Files.createDirectories(directory);
+        var file = directory.resolve(ROLLING_FILE_PATTERN.formatted(rollingFileIndex));
+        // Continue files written by previous exporters of this run, e.g. of other test classes
+        while (isContinued(file) && Files.size(file) >= MAX_ROLLING_FILE_SIZE) {
+            rollingFileIndex++;
+            file = directory.resolve(ROLLING_FILE_PATTERN.formatted(rollingFileIndex));
+        }
+        rollingFileSize = isContinued(file) ? Files.size(file) : 0;
+        rollingStream = new BufferedOutputStream(Files.newOutputStream(file, openOptions(file)));
+    }
+
+    private static boolean isContinued(Path file) {
+        return WRITTEN_FILES.contains(file.toAbsolutePath().normalize()) && Files.exists(file);
+    }
+
+    /**
+     * @return the options for appending to the given file, truncating it on the
+     *         first write within this run
+     */
+    private static OpenOption[] openOptions(Path file) {
+        if (WRITTEN_FILES.add(file.toAbsolutePath().normalize())) {
+            return new OpenOption[] { StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE };
+        }
+        return new OpenOption[] { StandardOpenOption.CREATE, StandardOpenOption.APPEND };
+    }
+
+    private void closeRollingStream() {
+        if (null != rollingStream) {
+            try {
+                rollingStream.close();
+            } catch (IOException e) {
+                fail(e);
+            }
+            rollingStream = null;
+        }
+    }
+
+    private void fail(IOException e) {
+        failedWrites.incrementAndGet();
+        firstFailure.compareAndSet(null, e);
+    }
+
+    private static int writeLine(OutputStream out, String content) throws IOException {
+        var bytes = content.getBytes(StandardCharsets.UTF_8);
+        out.write(bytes);
+        out.write('\n');
+        return bytes.length + 1;
+    }
+
+    private String render(String testId, CapturedRecords captured, LogRecord logRecord) {
+        line.setLength(0);
+        line.append('{');
+        appendString("test", testId).append(',');
+        line.append("\"sequence\":").append(logRecord.getSequenceNumber()).append(',');
+        line.append("\"nanotime\":").append(epochNanos(logRecord.getInstant())).append(',');
+        line.append("\"thread\":").append(logRecord.getLongThreadID()).append(',');
+        var threadName = captured.threadNameOf(logRecord.getLongThreadID());
+        if (null != threadName) {
+            appendString("threadName", threadName).append(',');
+        }
+        appendString("level", null == logRecord.getLevel() ? null : logRecord.getLevel().getName()).append(',');
+        appendString("logger", logRecord.getLoggerName()).append(',');
+        appendString("message", logRecord.getMessage());
+        var parameters = logRecord.getParameters();
+        if (null != parameters) {
+            line.append(",\"parameters\":[");
+            for (var i = 0; i < parameters.length; i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                appendValue(null == parameters[i] ? null : String.valueOf(parameters[i]));
+            }
+            line.append(']');
+        }
+        var thrown = logRecord.getThrown();
+        if (null != thrown) {
+            line.append(",\"thrown\":{");
+            appendString("class", ThrowableSummary.classNameOf(thrown)).append(',');
+            appendString("message", thrown.getMessage()).append('}');
+        }
+        return line.append('}').toString();
+    }
+
+    private String renderDropped(String testId, int dropped) {
+        line.setLength(0);
+        line.append('{');
+        appendString("test", testId).append(',');
+        return line.append("\"droppedRecords\":").append(dropped).append('}').toString();
+    }
+
+    private StringBuilder appendString(String key, String value) {
+        line.append('"').append(key).append("\":");
+        return appendValue(value);
+    }
+
+    private StringBuilder appendValue(String value) {
+        if (null == value) {
+            return line.append("null");
+        }
+        line.append('"');
+        for (var i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            switch (c) {
+            case '"' -> line.append("\\\"");
+            case '\\' -> line.append("\\\\");
+            case '\n' -> line.append("\\n");
+            case '\r' -> line.append("\\r");
+            case '\t' -> line.append("\\t");
+            default -> {
+                if (c < 0x20) {
+                    line.append("\\u%04x".formatted((int) c));
+                } else {
+                    line.append(c);
+                }
+            }
+            }
+        }
+        return line.append('"');
+    }
+
+    private static long epochNanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    /**
+     * @param name to be converted, must not be null
+     * @return the given name reduced to characters safe for file names, with
+     *         {@link #FILE_SUFFIX} appended
+     */
+    static String fileName(String name) {
+        var safe = name.replaceAll("[^A-Za-z0-9._-]", "_");
+        return safe + FILE_SUFFIX;
+    }
+}
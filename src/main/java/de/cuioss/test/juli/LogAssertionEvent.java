@@ -0,0 +1,51 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight-Recorder event emitted by {@link LogAsserts} while rendering the
+ * message of a failed assertion, which includes all captured records.
+ *
+ * @author Oliver Wolff
+ *
+ */
+@Name(LogAssertionEvent.NAME)
+@Label("Log Assertion Failure Rendering")
+@Category({ "CUI", "Test Logger" })
+@Description("Rendering of the failure message of a LogAsserts assertion")
+final class LogAssertionEvent extends Event {
+
+    static final String NAME = "de.cuioss.test.juli.AssertionFailure";
+
+    @Label("Level")
+    String level;
+
+    @Label("Result Size")
+    @Description("Number of matching records found by the failed assertion")
+    int resultSize;
+
+    @Label("Records Rendered")
+    int recordsRendered;
+
+    @Label("Message Length")
+    int messageLength;
+}
@@ -18,8 +18,13 @@ package de.cuioss.test.juli;
 import static de.cuioss.test.juli.TestLoggerFactory.getTestHandler;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.function.Supplier;
 import java.util.logging.LogRecord;
 
 
@@ -42,7 +47,20 @@ public class LogAsserts {
     private static final String ALL_LOGS = ", All recorded Logs:\n";
     private static final String MESSAGE_EXACTLY = " and message is exactly=";
     private static final String MESSAGE_CONTAINS = " and message containing=";
+    private static final String FORMATTED_MESSAGE_EXACTLY = " and formatted message is exactly=";
+    private static final String FORMATTED_MESSAGE_CONTAINS = " and formatted message containing=";
+    private static final String TEMPLATE_EXACTLY = " and message template is exactly=";
+    private static final String IDENTIFIER_EXACTLY = " and message identifier is exactly=";
+    private static final String MESSAGE_MATCHING = " and message matching=";
+    private static final String CALL_SITE = " and call site=";
+    private static final String THREAD = " and thread=";
+    private static final String SINCE_CHECKPOINT = " since checkpoint=";
+    private static final String BETWEEN_CHECKPOINTS = " between checkpoints=";
+    private static final String DURING = " during=";
+    private static final String WITHIN = " within timeout=";
     private static final String AND_THROWABLE = " and throwable=";
+    private static final String AND_THROWABLE_INSTANCE_OF = " and throwable instance of=";
+    private static final String AND_CAUSED_BY = " and throwable or cause instance of=";
     private static final String NO_LOG_MESSAGE_FOUND_WITH_LEVEL = "No log message found with level=";
 
     private static final String AT_LEAST_ONE_LOG_MESSAGE_FOUND_WITH_LEVEL = "At least one log message found with level=";
@@ -58,10 +76,8 @@ public class LogAsserts {
     public static void assertLogMessagePresent(TestLogLevel logLevel, String message) {
         var testHandler = getTestHandler();
         var messages = testHandler.resolveLogMessages(logLevel, message);
-        var assertionMessage = NO_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + MESSAGE_EXACTLY + message + ALL_LOGS
-                + testHandler.getRecordsAsString();
-
-        assertNotEquals(0, messages.size(), assertionMessage);
+        assertNotEquals(0, messages.size(), failureMessage(testHandler, logLevel, messages.size(),
+                NO_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + MESSAGE_EXACTLY + message));
     }
 
     /**
@@ -73,10 +89,8 @@ public class LogAsserts {
     public static void assertNoLogMessagePresent(TestLogLevel logLevel, String messagePart) {
         var testHandler = getTestHandler();
         var messages = testHandler.resolveLogMessagesContaining(logLevel, messagePart);
-        var assertionMessage = AT_LEAST_ONE_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + MESSAGE_EXACTLY + messagePart
-                + ALL_LOGS + testHandler.getRecordsAsString();
-
-        assertTrue(messages.isEmpty(), assertionMessage);
+        assertTrue(messages.isEmpty(), failureMessage(testHandler, logLevel, messages.size(),
+                AT_LEAST_ONE_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + MESSAGE_EXACTLY + messagePart));
     }
 
     /**
@@ -88,10 +102,8 @@ public class LogAsserts {
     public static void assertNoLogMessagePresent(TestLogLevel logLevel, Class<?> logger) {
         var testHandler = getTestHandler();
         var messages = testHandler.resolveLogMessagesForLogger(logLevel, logger);
-        var assertionMessage = AT_LEAST_ONE_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + ", on logger= " + logger
-                + ALL_LOGS + testHandler.getRecordsAsString();
-
-        assertEquals(0, messages.size(), assertionMessage);
+        assertEquals(0, messages.size(), failureMessage(testHandler, logLevel, messages.size(),
+                AT_LEAST_ONE_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + ", on logger= " + logger));
     }
 
     /**
@@ -104,10 +116,8 @@ public class LogAsserts {
     public static void assertSingleLogMessagePresent(TestLogLevel logLevel, String message) {
         var testHandler = getTestHandler();
         var records = testHandler.resolveLogMessages(logLevel, message);
-        var assertionMessage = NO_SINGLE_MESSAGE_FOUND_WITH_LEVEL + logLevel + MESSAGE_EXACTLY + message + ALL_LOGS
-                + testHandler.getRecordsAsString();
-
-        assertEquals(1, records.size(), assertionMessage);
+        assertEquals(1, records.size(), failureMessage(testHandler, logLevel, records.size(),
+                NO_SINGLE_MESSAGE_FOUND_WITH_LEVEL + logLevel + MESSAGE_EXACTLY + message));
     }
 
     /**
@@ -121,10 +131,8 @@ public class LogAsserts {
     public static void assertLogMessagePresent(TestLogLevel logLevel, String message, Throwable throwable) {
         var testHandler = getTestHandler();
         var messages = testHandler.resolveLogMessages(logLevel, message, throwable);
-        var assertionMessage = NO_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + MESSAGE_EXACTLY + message + AND_THROWABLE
-                + throwable + ALL_LOGS + testHandler.getRecordsAsString();
-
-        assertNotEquals(0, messages.size(), assertionMessage);
+        assertNotEquals(0, messages.size(), failureMessage(testHandler, logLevel, messages.size(),
+                NO_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + MESSAGE_EXACTLY + message + AND_THROWABLE + throwable));
     }
 
     /**
@@ -138,10 +146,8 @@ public class LogAsserts {
     public static void assertSingleLogMessagePresent(TestLogLevel logLevel, String message, Throwable throwable) {
         var testHandler = getTestHandler();
         var records = testHandler.resolveLogMessages(logLevel, message, throwable);
-        var assertionMessage = NO_SINGLE_MESSAGE_FOUND_WITH_LEVEL + logLevel + MESSAGE_EXACTLY + message + AND_THROWABLE
-                + throwable + ALL_LOGS + testHandler.getRecordsAsString();
-
-        assertEquals(1, records.size(), assertionMessage);
+        assertEquals(1, records.size(), failureMessage(testHandler, logLevel, records.size(),
+                NO_SINGLE_MESSAGE_FOUND_WITH_LEVEL + logLevel + MESSAGE_EXACTLY + message + AND_THROWABLE + throwable));
     }
 
     /**
@@ -156,10 +162,9 @@ public class LogAsserts {
             Class<? extends Throwable> throwableClass) {
         var testHandler = getTestHandler();
         var messages = testHandler.resolveLogMessages(logLevel, message, throwableClass);
-        var assertionMessage = NO_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + MESSAGE_EXACTLY + message + AND_THROWABLE
-                + throwableClass + ALL_LOGS + testHandler.getRecordsAsString();
-
-        assertNotEquals(0, messages.size(), assertionMessage);
+        assertNotEquals(0, messages.size(), failureMessage(testHandler, logLevel, messages.size(),
+                NO_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + MESSAGE_EXACTLY + message + AND_THROWABLE
+                + throwableClass));
     }
 
     /**
@@ -174,10 +179,9 @@ public class LogAsserts {
             Class<? extends Throwable> throwableClass) {
         var testHandler = getTestHandler();
         var records = testHandler.resolveLogMessages(logLevel, message, throwableClass);
-        var assertionMessage = NO_SINGLE_MESSAGE_FOUND_WITH_LEVEL + logLevel + MESSAGE_EXACTLY + message + AND_THROWABLE
-                + throwableClass + ALL_LOGS + testHandler.getRecordsAsString();
-
-        assertEquals(1, records.size(), assertionMessage);
+        assertEquals(1, records.size(), failureMessage(testHandler, logLevel, records.size(),
+                NO_SINGLE_MESSAGE_FOUND_WITH_LEVEL + logLevel + MESSAGE_EXACTLY + message + AND_THROWABLE
+                + throwableClass));
     }
 
     /**
@@ -190,10 +194,8 @@ public class LogAsserts {
     public static void assertLogMessagePresentContaining(TestLogLevel logLevel, String messagePart) {
         var testHandler = getTestHandler();
         var messages = testHandler.resolveLogMessagesContaining(logLevel, messagePart);
-        var assertionMessage = NO_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + MESSAGE_CONTAINS + messagePart + ALL_LOGS
-                + testHandler.getRecordsAsString();
-
-        assertNotEquals(0, messages.size(), assertionMessage);
+        assertNotEquals(0, messages.size(), failureMessage(testHandler, logLevel, messages.size(),
+                NO_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + MESSAGE_CONTAINS + messagePart));
     }
 
     /**
@@ -206,10 +208,8 @@ public class LogAsserts {
     public static void assertSingleLogMessagePresentContaining(TestLogLevel logLevel, String messagePart) {
         var testHandler = getTestHandler();
         var records = testHandler.resolveLogMessagesContaining(logLevel, messagePart);
-        var assertionMessage = NO_SINGLE_MESSAGE_FOUND_WITH_LEVEL + logLevel + MESSAGE_CONTAINS + messagePart + ALL_LOGS
-                + testHandler.getRecordsAsString();
-
-        assertEquals(1, records.size(), assertionMessage);
+        assertEquals(1, records.size(), failureMessage(testHandler, logLevel, records.size(),
+                NO_SINGLE_MESSAGE_FOUND_WITH_LEVEL + logLevel + MESSAGE_CONTAINS + messagePart));
     }
 
     /**
@@ -224,8 +224,9 @@ public class LogAsserts {
             Throwable throwable) {
         var testHandler = getTestHandler();
         var records = testHandler.resolveLogMessagesContaining(logLevel, messagePart, throwable);
-        assertNotEquals(0, records.size(), NO_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + MESSAGE_CONTAINS + messagePart
-                + AND_THROWABLE + throwable + ALL_LOGS + testHandler.getRecordsAsString());
+        assertNotEquals(0, records.size(), failureMessage(testHandler, logLevel, records.size(),
+                NO_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + MESSAGE_CONTAINS + messagePart + AND_THROWABLE
+                + throwable));
     }
 
     /**
@@ -240,8 +241,9 @@ public class LogAsserts {
             Class<? extends Throwable> throwableClass) {
         var testHandler = getTestHandler();
         var records = testHandler.resolveLogMessagesContaining(logLevel, messagePart, throwableClass);
-        assertNotEquals(0, records.size(), NO_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + MESSAGE_CONTAINS + messagePart
-                + AND_THROWABLE + throwableClass + ALL_LOGS + testHandler.getRecordsAsString());
+        assertNotEquals(0, records.size(), failureMessage(testHandler, logLevel, records.size(),
+                NO_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + MESSAGE_CONTAINS + messagePart + AND_THROWABLE
+                + throwableClass));
     }
 
     /**
@@ -256,8 +258,9 @@ public class LogAsserts {
             Throwable throwable) {
         var testHandler = getTestHandler();
         var records = testHandler.resolveLogMessagesContaining(logLevel, messagePart, throwable);
-        assertEquals(1, records.size(), NO_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + MESSAGE_CONTAINS + messagePart
-                + AND_THROWABLE + throwable + ALL_LOGS + testHandler.getRecordsAsString());
+        assertEquals(1, records.size(), failureMessage(testHandler, logLevel, records.size(),
+                NO_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + MESSAGE_CONTAINS + messagePart + AND_THROWABLE
+                + throwable));
     }
 
     /**
@@ -272,7 +275,586 @@ public class LogAsserts {
             Class<? extends Throwable> throwableClass) {
         var testHandler = getTestHandler();
         var records = testHandler.resolveLogMessagesContaining(logLevel, messagePart, throwableClass);
-        assertEquals(1, records.size(), NO_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + MESSAGE_CONTAINS + messagePart
-                + AND_THROWABLE + throwableClass + ALL_LOGS + testHandler.getRecordsAsString());
+        assertEquals(1, records.size(), failureMessage(testHandler, logLevel, records.size(),
+                NO_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + MESSAGE_CONTAINS + messagePart + AND_THROWABLE
+                + throwableClass));
+    }
+
+    /**
+     * Asserts whether at least one {@link LogRecord} with the given formatted
+     * message is present, see
+     * {@link TestLogHandler#resolveLogMessagesFormatted(TestLogLevel, String)}
+     *
+     * @param logLevel to be checked, must not be null
+     * @param message  the formatted message to be checked, must not be null
+     */
+    public static void assertLogMessagePresentFormatted(TestLogLevel logLevel, String message) {
+        var testHandler = getTestHandler();
+        var records = testHandler.resolveLogMessagesFormatted(logLevel, message);
+        assertNotEquals(0, records.size(), failureMessage(testHandler, logLevel, records.size(),
+                NO_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + FORMATTED_MESSAGE_EXACTLY + message));
+    }
+
+    /**
+     * Asserts whether exactly one {@link LogRecord} with the given formatted
+     * message is present, see
+     * {@link TestLogHandler#resolveLogMessagesFormatted(TestLogLevel, String)}
+     *
+     * @param logLevel to be checked, must not be null
+     * @param message  the formatted message to be checked, must not be null
+     */
+    public static void assertSingleLogMessagePresentFormatted(TestLogLevel logLevel, String message) {
+        var testHandler = getTestHandler();
+        var records = testHandler.resolveLogMessagesFormatted(logLevel, message);
+        assertEquals(1, records.size(), failureMessage(testHandler, logLevel, records.size(),
+                NO_SINGLE_MESSAGE_FOUND_WITH_LEVEL + logLevel + FORMATTED_MESSAGE_EXACTLY + message));
+    }
+
+    /**
+     * Asserts whether at least one {@link LogRecord} with a formatted message
+     * containing the given part is present
+     *
+     * @param logLevel    to be checked, must not be null
+     * @param messagePart to be checked, must not be null
+     */
+    public static void assertLogMessagePresentFormattedContaining(TestLogLevel logLevel, String messagePart) {
+        var testHandler = getTestHandler();
+        var records = testHandler.resolveLogMessagesFormattedContaining(logLevel, messagePart);
+        assertNotEquals(0, records.size(), failureMessage(testHandler, logLevel, records.size(),
+                NO_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + FORMATTED_MESSAGE_CONTAINS + messagePart));
+    }
+
+    /**
+     * Asserts whether no {@link LogRecord} with a formatted message containing the
+     * given part is present
+     *
+     * @param logLevel    to be checked, must not be null
+     * @param messagePart to be checked, must not be null
+     */
+    public static void assertNoLogMessagePresentFormatted(TestLogLevel logLevel, String messagePart) {
+        var testHandler = getTestHandler();
+        var records = testHandler.resolveLogMessagesFormattedContaining(logLevel, messagePart);
+        assertTrue(records.isEmpty(), failureMessage(testHandler, logLevel, records.size(),
+                AT_LEAST_ONE_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + FORMATTED_MESSAGE_CONTAINS + messagePart));
+    }
+
+    /**
+     * Asserts whether at least one {@link LogRecord} with the given message
+     * template and parameter is present. The message is not formatted, see
+     * {@link TestLogHandler#resolveLogMessagesWithParameter(TestLogLevel, String, int, Object)}
+     *
+     * @param logLevel to be checked, must not be null
+     * @param template the message template to be checked, must not be null
+     * @param index    the zero-based index of the parameter
+     * @param expected the expected value of the parameter
+     */
+    public static void assertLogMessagePresentWithParameter(TestLogLevel logLevel, String template, int index,
+            Object expected) {
+        var testHandler = getTestHandler();
+        var records = testHandler.resolveLogMessagesWithParameter(logLevel, template, index, expected);
+        assertNotEquals(0, records.size(), failureMessage(testHandler, logLevel, records.size(),
+                NO_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + TEMPLATE_EXACTLY + template + " and parameter " + index
+                + "=" + expected));
+    }
+
+    /**
+     * Asserts whether at least one {@link LogRecord} with the given message
+     * template and exactly the given parameters is present. The message is not
+     * formatted, see
+     * {@link TestLogHandler#resolveLogMessagesWithParameters(TestLogLevel, String, Object...)}
+     *
+     * @param logLevel   to be checked, must not be null
+     * @param template   the message template to be checked, must not be null
+     * @param parameters the expected parameters, must not be null
+     */
+    public static void assertLogMessagePresentWithParameters(TestLogLevel logLevel, String template,
+            Object... parameters) {
+        var testHandler = getTestHandler();
+        var records = testHandler.resolveLogMessagesWithParameters(logLevel, template, parameters);
+        assertNotEquals(0, records.size(), failureMessage(testHandler, logLevel, records.size(),
+                NO_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + TEMPLATE_EXACTLY + template + " and parameters="
+                + Arrays.toString(parameters)));
+    }
+
+    /**
+     * Asserts whether at least one {@link LogRecord} with a thrown
+     * {@link Throwable} being an instance of the given type is present, see
+     * {@link TestLogHandler#resolveLogMessagesWithThrowable(TestLogLevel, Class)}
+     *
+     * @param logLevel       to be checked, must not be null
+     * @param throwableClass the type the thrown must be an instance of, must not
+     *                       be null
+     */
+    public static void assertLogMessagePresentWithThrowable(TestLogLevel logLevel,
+            Class<? extends Throwable> throwableClass) {
+        var testHandler = getTestHandler();
+        var records = testHandler.resolveLogMessagesWithThrowable(logLevel, throwableClass);
+        assertNotEquals(0, records.size(), failureMessage(testHandler, logLevel, records.size(),
+                NO_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + AND_THROWABLE_INSTANCE_OF + throwableClass));
+    }
+
+    /**
+     * Asserts whether at least one {@link LogRecord} with a thrown
+     * {@link Throwable} or cause being an instance of the given type is present,
+     * see {@link TestLogHandler#resolveLogMessagesCausedBy(TestLogLevel, Class)}
+     *
+     * @param logLevel       to be checked, must not be null
+     * @param throwableClass the type the thrown or one of its causes must be an
+     *                       instance of, must not be null
+     */
+    public static void assertLogMessagePresentCausedBy(TestLogLevel logLevel,
+            Class<? extends Throwable> throwableClass) {
+        var testHandler = getTestHandler();
+        var records = testHandler.resolveLogMessagesCausedBy(logLevel, throwableClass);
+        assertNotEquals(0, records.size(), failureMessage(testHandler, logLevel, records.size(),
+                NO_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + AND_CAUSED_BY + throwableClass));
+    }
+
+    /**
+     * Asserts whether at least one {@link LogRecord} with the given message and a
+     * thrown {@link Throwable} or cause being an instance of the given type is
+     * present, see
+     * {@link TestLogHandler#resolveLogMessagesCausedBy(TestLogLevel, String, Class)}
+     *
+     * @param logLevel       to be checked, must not be null
+     * @param message        to be checked, must not be null
+     * @param throwableClass the type the thrown or one of its causes must be an
+     *                       instance of, must not be null
+     */
+    public static void assertLogMessagePresentCausedBy(TestLogLevel logLevel, String message,
+            Class<? extends Throwable> throwableClass) {
+        var testHandler = getTestHandler();
+        var records = testHandler.resolveLogMessagesCausedBy(logLevel, message, throwableClass);
+        assertNotEquals(0, records.size(), failureMessage(testHandler, logLevel, records.size(),
+                NO_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + MESSAGE_EXACTLY + message + AND_CAUSED_BY
+                + throwableClass));
+    }
+
+    /**
+     * Asserts whether no {@link LogRecord} with a thrown {@link Throwable} or
+     * cause being an instance of the given type is present, see
+     * {@link TestLogHandler#resolveLogMessagesCausedBy(TestLogLevel, Class)}
+     *
+     * @param logLevel       to be checked, must not be null
+     * @param throwableClass the type neither the thrown nor one of its causes must
+     *                       be an instance of, must not be null
+     */
+    public static void assertNoLogMessagePresentCausedBy(TestLogLevel logLevel,
+            Class<? extends Throwable> throwableClass) {
+        var testHandler = getTestHandler();
+        var records = testHandler.resolveLogMessagesCausedBy(logLevel, throwableClass);
+        assertTrue(records.isEmpty(), failureMessage(testHandler, logLevel, records.size(),
+                AT_LEAST_ONE_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + AND_CAUSED_BY + throwableClass));
+    }
+
+    /**
+     * Asserts whether at least one {@link LogRecord} with a message matching the
+     * given regular expression is present, see
+     * {@link TestLogHandler#resolveLogMessagesMatching(TestLogLevel, String)}
+     *
+     * @param logLevel to be checked, must not be null
+     * @param regex    the regular expression the complete message must match,
+     *                 must not be null
+     */
+    public static void assertLogMessageMatching(TestLogLevel logLevel, String regex) {
+        var testHandler = getTestHandler();
+        var records = testHandler.resolveLogMessagesMatching(logLevel, regex);
+        assertNotEquals(0, records.size(), failureMessage(testHandler, logLevel, records.size(),
+                NO_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + MESSAGE_MATCHING + regex));
+    }
+
+    /**
+     * Asserts whether exactly one {@link LogRecord} with a message matching the
+     * given regular expression is present, see
+     * {@link TestLogHandler#resolveLogMessagesMatching(TestLogLevel, String)}
+     *
+     * @param logLevel to be checked, must not be null
+     * @param regex    the regular expression the complete message must match,
+     *                 must not be null
+     */
+    public static void assertSingleLogMessageMatching(TestLogLevel logLevel, String regex) {
+        var testHandler = getTestHandler();
+        var records = testHandler.resolveLogMessagesMatching(logLevel, regex);
+        assertEquals(1, records.size(), failureMessage(testHandler, logLevel, records.size(),
+                NO_SINGLE_MESSAGE_FOUND_WITH_LEVEL + logLevel + MESSAGE_MATCHING + regex));
+    }
+
+    /**
+     * Asserts whether no {@link LogRecord} with a message matching the given
+     * regular expression is present, see
+     * {@link TestLogHandler#resolveLogMessagesMatching(TestLogLevel, String)}
+     *
+     * @param logLevel to be checked, must not be null
+     * @param regex    the regular expression the complete message must match,
+     *                 must not be null
+     */
+    public static void assertNoLogMessageMatching(TestLogLevel logLevel, String regex) {
+        var testHandler = getTestHandler();
+        var records = testHandler.resolveLogMessagesMatching(logLevel, regex);
+        assertTrue(records.isEmpty(), failureMessage(testHandler, logLevel, records.size(),
+                AT_LEAST_ONE_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + MESSAGE_MATCHING + regex));
+    }
+
+    /**
+     * Asserts whether at least one {@link LogRecord} published from the given
+     * source class and method is present, requires
+     * {@link TestLogHandler#setCallSiteRecording(boolean)}, see
+     * {@link TestLogHandler#resolveLogMessagesFromCallSite(TestLogLevel, Class, String)}
+     *
+     * @param logLevel    to be checked, must not be null
+     * @param sourceClass the calling class, must not be null
+     * @param method      the name of the calling method, matches all methods if
+     *                    null
+     */
+    public static void assertLogMessagePresentFromCallSite(TestLogLevel logLevel, Class<?> sourceClass,
+            String method) {
+        var testHandler = getTestHandler();
+        var records = testHandler.resolveLogMessagesFromCallSite(logLevel, sourceClass, method);
+        assertNotEquals(0, records.size(), failureMessage(testHandler, logLevel, records.size(),
+                NO_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + CALL_SITE + callSite(sourceClass, method)));
+    }
+
+    /**
+     * Asserts whether no {@link LogRecord} published from the given source class
+     * and method is present, requires
+     * {@link TestLogHandler#setCallSiteRecording(boolean)}, see
+     * {@link TestLogHandler#resolveLogMessagesFromCallSite(TestLogLevel, Class, String)}
+     *
+     * @param logLevel    to be checked, must not be null
+     * @param sourceClass the calling class, must not be null
+     * @param method      the name of the calling method, matches all methods if
+     *                    null
+     */
+    public static void assertNoLogMessagePresentFromCallSite(TestLogLevel logLevel, Class<?> sourceClass,
+            String method) {
+        var testHandler = getTestHandler();
+        var records = testHandler.resolveLogMessagesFromCallSite(logLevel, sourceClass, method);
+        assertTrue(records.isEmpty(), failureMessage(testHandler, logLevel, records.size(),
+                AT_LEAST_ONE_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + CALL_SITE + callSite(sourceClass, method)));
+    }
+
+    private static String callSite(Class<?> sourceClass, String method) {
+        return (null == sourceClass ? "null" : sourceClass.getName()) + "#" + (null == method ? "*" : method);
+    }
+
+    /**
+     * Asserts whether at least one {@link LogRecord} published by a thread with
+     * the given name is present, see
+     * {@link TestLogHandler#resolveLogMessagesFromThread(TestLogLevel, String)}
+     *
+     * @param logLevel   to be checked, must not be null
+     * @param threadName the name of the publishing thread, must not be null
+     */
+    public static void assertLogMessagePresentFromThread(TestLogLevel logLevel, String threadName) {
+        var testHandler = getTestHandler();
+        var records = testHandler.resolveLogMessagesFromThread(logLevel, threadName);
+        assertNotEquals(0, records.size(), failureMessage(testHandler, logLevel, records.size(),
+                NO_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + THREAD + threadName));
+    }
+
+    /**
+     * Asserts whether no {@link LogRecord} published by a thread with the given
+     * name is present, e.g. no {@link TestLogLevel#ERROR} on a scheduler thread,
+     * see {@link TestLogHandler#resolveLogMessagesFromThread(TestLogLevel, String)}
+     *
+     * @param logLevel   to be checked, must not be null
+     * @param threadName the name of the publishing thread, must not be null
+     */
+    public static void assertNoLogMessagePresentFromThread(TestLogLevel logLevel, String threadName) {
+        var testHandler = getTestHandler();
+        var records = testHandler.resolveLogMessagesFromThread(logLevel, threadName);
+        assertTrue(records.isEmpty(), failureMessage(testHandler, logLevel, records.size(),
+                AT_LEAST_ONE_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + THREAD + threadName));
+    }
+
+    /**
+     * Asserts whether at least one {@link LogRecord} with the given message
+     * identifier is present, see
+     * {@link TestLogHandler#resolveLogMessagesWithIdentifier(TestLogLevel, String)}
+     *
+     * @param logLevel   to be checked, must not be null
+     * @param identifier the identifier to be checked, e.g. "PORTAL-123", must not
+     *                   be null
+     */
+    public static void assertLogMessagePresentWithIdentifier(TestLogLevel logLevel, String identifier) {
+        var testHandler = getTestHandler();
+        var records = testHandler.resolveLogMessagesWithIdentifier(logLevel, identifier);
+        assertNotEquals(0, records.size(), failureMessage(testHandler, logLevel, records.size(),
+                NO_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + IDENTIFIER_EXACTLY + identifier));
+    }
+
+    /**
+     * Asserts whether exactly one {@link LogRecord} with the given message
+     * identifier is present, see
+     * {@link TestLogHandler#resolveLogMessagesWithIdentifier(TestLogLevel, String)}
+     *
+     * @param logLevel   to be checked, must not be null
+     * @param identifier the identifier to be checked, e.g. "PORTAL-123", must not
+     *                   be null
+     */
+    public static void assertSingleLogMessagePresentWithIdentifier(TestLogLevel logLevel, String identifier) {
+        var testHandler = getTestHandler();
+        var records = testHandler.resolveLogMessagesWithIdentifier(logLevel, identifier);
+        assertEquals(1, records.size(), failureMessage(testHandler, logLevel, records.size(),
+                NO_SINGLE_MESSAGE_FOUND_WITH_LEVEL + logLevel + IDENTIFIER_EXACTLY + identifier));
+    }
+
+    /**
+     * Asserts whether no {@link LogRecord} with the given message identifier is
+     * present, see
+     * {@link TestLogHandler#resolveLogMessagesWithIdentifier(TestLogLevel, String)}
+     *
+     * @param logLevel   to be checked, must not be null
+     * @param identifier the identifier to be checked, e.g. "PORTAL-123", must not
+     *                   be null
+     */
+    public static void assertNoLogMessagePresentWithIdentifier(TestLogLevel logLevel, String identifier) {
+        var testHandler = getTestHandler();
+        var records = testHandler.resolveLogMessagesWithIdentifier(logLevel, identifier);
+        assertTrue(records.isEmpty(), failureMessage(testHandler, logLevel, records.size(),
+                AT_LEAST_ONE_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + IDENTIFIER_EXACTLY + identifier));
+    }
+
+    /**
+     * Asserts whether at least one {@link LogRecord} logged by the given
+     * definition is present, identified by
+     * {@link de.cuioss.tools.logging.LogRecord#resolveIdentifierString()}
+     *
+     * @param logLevel  to be checked, must not be null
+     * @param logRecord the definition of the message to be checked, must not be
+     *                  null
+     */
+    public static void assertLogMessagePresent(TestLogLevel logLevel, de.cuioss.tools.logging.LogRecord logRecord) {
+        assertLogMessagePresentWithIdentifier(logLevel, identifierOf(logRecord));
+    }
+
+    /**
+     * Asserts whether exactly one {@link LogRecord} logged by the given definition
+     * is present, identified by
+     * {@link de.cuioss.tools.logging.LogRecord#resolveIdentifierString()}
+     *
+     * @param logLevel  to be checked, must not be null
+     * @param logRecord the definition of the message to be checked, must not be
+     *                  null
+     */
+    public static void assertSingleLogMessagePresent(TestLogLevel logLevel,
+            de.cuioss.tools.logging.LogRecord logRecord) {
+        assertSingleLogMessagePresentWithIdentifier(logLevel, identifierOf(logRecord));
+    }
+
+    /**
+     * Asserts whether no {@link LogRecord} logged by the given definition is
+     * present, identified by
+     * {@link de.cuioss.tools.logging.LogRecord#resolveIdentifierString()}
+     *
+     * @param logLevel  to be checked, must not be null
+     * @param logRecord the definition of the message to be checked, must not be
+     *                  null
+     */
+    public static void assertNoLogMessagePresent(TestLogLevel logLevel,
+            de.cuioss.tools.logging.LogRecord logRecord) {
+        assertNoLogMessagePresentWithIdentifier(logLevel, identifierOf(logRecord));
+    }
+
+    /**
+     * Asserts whether no {@link LogRecord} with the given level has been published
+     * since the given checkpoint, see {@link TestLogHandler#since(String)}
+     *
+     * @param logLevel   to be checked, must not be null
+     * @param checkpoint the name of the checkpoint, must not be null
+     */
+    public static void assertNoLogMessagePresentSince(TestLogLevel logLevel, String checkpoint) {
+        var testHandler = getTestHandler();
+        var records = testHandler.since(checkpoint).resolveLogMessages(logLevel);
+        assertTrue(records.isEmpty(), failureMessage(testHandler, logLevel, records.size(),
+                AT_LEAST_ONE_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + SINCE_CHECKPOINT + checkpoint));
+    }
+
+    /**
+     * Asserts whether exactly one {@link LogRecord} with the given level has been
+     * published since the given checkpoint, see {@link TestLogHandler#since(String)}
+     *
+     * @param logLevel   to be checked, must not be null
+     * @param checkpoint the name of the checkpoint, must not be null
+     */
+    public static void assertSingleLogMessagePresentSince(TestLogLevel logLevel, String checkpoint) {
+        var testHandler = getTestHandler();
+        var records = testHandler.since(checkpoint).resolveLogMessages(logLevel);
+        assertEquals(1, records.size(), failureMessage(testHandler, logLevel, records.size(),
+                NO_SINGLE_MESSAGE_FOUND_WITH_LEVEL + logLevel + SINCE_CHECKPOINT + checkpoint));
+    }
+
+    /**
+     * Asserts whether no {@link LogRecord} with the given level has been published
+     * between the given checkpoints, see
+     * {@link TestLogHandler#between(String, String)}
+     *
+     * @param logLevel to be checked, must not be null
+     * @param from     the name of the checkpoint starting the range, must not be
+     *                 null
+     * @param to       the name of the checkpoint ending the range, must not be
+     *                 null
+     */
+    public static void assertNoLogMessagePresentBetween(TestLogLevel logLevel, String from, String to) {
+        var testHandler = getTestHandler();
+        var records = testHandler.between(from, to).resolveLogMessages(logLevel);
+        assertTrue(records.isEmpty(), failureMessage(testHandler, logLevel, records.size(),
+                AT_LEAST_ONE_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + BETWEEN_CHECKPOINTS + from + ", " + to));
+    }
+
+    /**
+     * Asserts whether exactly one {@link LogRecord} with the given level has been
+     * published between the given checkpoints, see
+     * {@link TestLogHandler#between(String, String)}
+     *
+     * @param logLevel to be checked, must not be null
+     * @param from     the name of the checkpoint starting the range, must not be
+     *                 null
+     * @param to       the name of the checkpoint ending the range, must not be
+     *                 null
+     */
+    public static void assertSingleLogMessagePresentBetween(TestLogLevel logLevel, String from, String to) {
+        var testHandler = getTestHandler();
+        var records = testHandler.between(from, to).resolveLogMessages(logLevel);
+        assertEquals(1, records.size(), failureMessage(testHandler, logLevel, records.size(),
+                NO_SINGLE_MESSAGE_FOUND_WITH_LEVEL + logLevel + BETWEEN_CHECKPOINTS + from + ", " + to));
+    }
+
+    /**
+     * Asserts whether at least one {@link LogRecord} containing the given message
+     * part has been logged within the given time range, see
+     * {@link TestLogHandler#during(Instant, Instant)}
+     *
+     * @param logLevel    to be checked, must not be null
+     * @param messagePart to be checked, must not be null
+     * @param from        the inclusive lower bound of the timestamp, must not be
+     *                    null
+     * @param to          the inclusive upper bound of the timestamp, must not be
+     *                    null
+     */
+    public static void assertLogMessagePresentDuring(TestLogLevel logLevel, String messagePart, Instant from,
+            Instant to) {
+        var testHandler = getTestHandler();
+        var records = testHandler.during(from, to).resolveLogMessagesContaining(logLevel, messagePart);
+        assertNotEquals(0, records.size(), failureMessage(testHandler, logLevel, records.size(),
+                NO_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + MESSAGE_CONTAINS + messagePart + DURING + from + ", "
+                        + to));
+    }
+
+    /**
+     * Asserts whether no {@link LogRecord} with the given level has been logged
+     * within the given time range, see
+     * {@link TestLogHandler#during(Instant, Instant)}
+     *
+     * @param logLevel to be checked, must not be null
+     * @param from     the inclusive lower bound of the timestamp, must not be null
+     * @param to       the inclusive upper bound of the timestamp, must not be null
+     */
+    public static void assertNoLogMessagePresentDuring(TestLogLevel logLevel, Instant from, Instant to) {
+        var testHandler = getTestHandler();
+        var records = testHandler.during(from, to).resolveLogMessages(logLevel);
+        assertTrue(records.isEmpty(), failureMessage(testHandler, logLevel, records.size(),
+                AT_LEAST_ONE_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + DURING + from + ", " + to));
+    }
+
+    private static String identifierOf(de.cuioss.tools.logging.LogRecord logRecord) {
+        assertNotNull(logRecord, "LogRecord must not be null");
+        return logRecord.resolveIdentifierString();
+    }
+
+    /**
+     * Waits for a {@link LogRecord} for the given parameter to be published, e.g.
+     * by asynchronous code under test, see
+     * {@link TestLogHandler#awaitLogMessage(TestLogLevel, String, Duration)}. Only
+     * records published after the call are considered.
+     *
+     * @param logLevel to be checked, must not be null
+     * @param message  to be checked, must not be null
+     * @param timeout  the maximum time to wait, must not be null
+     */
+    public static void awaitLogMessagePresent(TestLogLevel logLevel, String message, Duration timeout) {
+        var testHandler = getTestHandler();
+        var found = testHandler.awaitLogMessage(logLevel, message, timeout);
+        assertTrue(found.isPresent(), failureMessage(testHandler, logLevel, 0,
+                NO_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + MESSAGE_EXACTLY + message + WITHIN + timeout));
+    }
+
+    /**
+     * Waits for a {@link LogRecord} containing the given message part to be
+     * published, see {@link #awaitLogMessagePresent(TestLogLevel, String, Duration)}
+     *
+     * @param logLevel    to be checked, must not be null
+     * @param messagePart to be checked, must not be null
+     * @param timeout     the maximum time to wait, must not be null
+     */
+    public static void awaitLogMessagePresentContaining(TestLogLevel logLevel, String messagePart,
+            Duration timeout) {
+        var testHandler = getTestHandler();
+        var found = testHandler.awaitLogMessageContaining(logLevel, messagePart, timeout);
+        assertTrue(found.isPresent(), failureMessage(testHandler, logLevel, 0,
+                NO_LOG_MESSAGE_FOUND_WITH_LEVEL + logLevel + MESSAGE_CONTAINS + messagePart + WITHIN + timeout));
+    }
+
+    /**
+     * Asserts whether records matching the given steps have been logged in the
+     * given order, other records may be logged in between. The steps are
+     * evaluated by a single forward pass over the captured records. On failure
+     * the message shows the longest matched prefix and where it broke.
+     *
+     * @param steps to be matched in order, must not be empty
+     */
+    public static void assertLogSequence(LogRecordQuery... steps) {
+        assertLogSequence(false, steps);
+    }
+
+    /**
+     * Variant of {@link #assertLogSequence(LogRecordQuery...)} requiring the
+     * steps to be matched by consecutive records, without any other record
+     * logged in between.
+     *
+     * @param steps to be matched in order, must not be empty
+     */
+    public static void assertLogSequenceStrict(LogRecordQuery... steps) {
+        assertLogSequence(true, steps);
+    }
+
+    private static void assertLogSequence(boolean strict, LogRecordQuery... steps) {
+        assertNotNull(steps, "Steps must not be null");
+        assertTrue(steps.length > 0, "Steps must not be empty");
+        for (LogRecordQuery step : steps) {
+            assertNotNull(step, "Step must not be null");
+        }
+        var testHandler = getTestHandler();
+        var sequence = LogSequence.match(testHandler.resolveAll(), strict, Arrays.asList(steps));
+        assertTrue(sequence.isComplete(), failureMessage(testHandler, null, sequence.getMatched(),
+                sequence.toString()));
+    }
+
+    /**
+     * The message of an assertion contains all captured records and is therefore
+     * only rendered in case the assertion actually fails. The rendering is
+     * reported as {@link LogAssertionEvent}.
+     *
+     * @param testHandler the handler providing the records
+     * @param logLevel    the level asserted for
+     * @param resultSize  the number of records found by the assertion
+     * @param description describing the failed expectation
+     * @return a {@link Supplier} rendering the complete assertion message
+     */
+    private static Supplier<String> failureMessage(TestLogHandler testHandler, TestLogLevel logLevel, int resultSize,
+            String description) {
+        return () -> {
+            var event = new LogAssertionEvent();
+            event.begin();
+            var message = description + ALL_LOGS + testHandler.getRecordsAsString();
+            if (event.shouldCommit()) {
+                event.level = String.valueOf(logLevel);
+                event.resultSize = resultSize;
+                event.recordsRendered = testHandler.size();
+                event.messageLength = message.length();
+                event.commit();
+            }
+            return message;
+        };
     }
 }
@@ -0,0 +1,215 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.logging.LogRecord;
+
+/**
+ * Scope restricting queries to the records captured while it is open, without
+ * copying or clearing records:
+ *
+ * <pre>
+ * try (var scope = LogCapture.open()) {
+ *     service.login("alice");
+ *     assertEquals(1, scope.resolveLogMessages(TestLogLevel.INFO).size());
+ * }
+ * </pre>
+ *
+ * Opening and closing only take the current capture sequence of the
+ * {@link TestLogHandler} as start and end mark. Queries through the scope are
+ * restricted to the records between these marks, on heap located by binary
+ * search. Scopes may be nested or overlap, and stay queryable after being
+ * closed. Records removed by {@link TestLogHandler#clearRecords()} are not
+ * visible anymore. Ranges between named checkpoints are represented the same
+ * way, see {@link TestLogHandler#since(String)}, as well as time ranges, see
+ * {@link TestLogHandler#during(Instant, Instant)}.
+ *
+ * @author Oliver Wolff
+ *
+ */
+public final class LogCapture implements AutoCloseable {
+
+    private final TestLogHandler handler;
+
+    /** The capture sequence of the first record within this scope */
+    private final long startSequence;
+
+    /** The capture sequence following the last record within this scope */
+    private volatile long endSequence = Long.MAX_VALUE;
+
+    /** The inclusive bounds of the timestamps in nanoseconds since epoch */
+    private final long fromNanos;
+
+    private final long toNanos;
+
+    LogCapture(TestLogHandler handler, long startSequence) {
+        this(handler, startSequence, Long.MAX_VALUE);
+    }
+
+    LogCapture(TestLogHandler handler, long startSequence, long endSequence) {
+        this(handler, startSequence, endSequence, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    LogCapture(TestLogHandler handler, long startSequence, long endSequence, long fromNanos, long toNanos) {
+        this.handler = handler;
+        this.startSequence = startSequence;
+        this.endSequence = endSequence;
+        this.fromNanos = fromNanos;
+        this.toNanos = toNanos;
+    }
+
+    /**
+     * @return a scope opened on the installed {@link TestLogHandler}, see
+     *         {@link TestLoggerFactory#install()}
+     */
+    public static LogCapture open() {
+        return TestLoggerFactory.getTestHandler().openCapture();
+    }
+
+    /**
+     * @return {@code true} if records published from now on are within this scope
+     */
+    public boolean isOpen() {
+        return Long.MAX_VALUE == endSequence;
+    }
+
+    /**
+     * Ends this scope, records published afterwards are not within it. Calling it
+     * again has no effect.
+     */
+    @Override
+    public void close() {
+        if (isOpen()) {
+            endSequence = handler.nextSequence();
+        }
+    }
+
+    /**
+     * Runs the given query against the {@link TestLogHandler}, restricted to the
+     * records within this scope, e.g.
+     * {@code scope.query(handler -> handler.resolveLogMessagesMatching(level, regex))}
+     *
+     * @param query to be run, must not be null
+     * @return the result of the query
+     */
+    public <T> T query(Function<TestLogHandler, T> query) {
+        assertNotNull(query, "Query must not be null");
+        return handler.within(startSequence, endSequence, fromNanos, toNanos, () -> query.apply(handler));
+    }
+
+    /**
+     * @param from the inclusive lower bound of the timestamp, must not be null
+     * @param to   the inclusive upper bound of the timestamp, must not be null
+     * @return the records within this scope whose {@link LogRecord#getInstant()}
+     *         is within the given range, see
+     *         {@link TestLogHandler#during(Instant, Instant)}
+     */
+    public LogCapture during(Instant from, Instant to) {
+        assertNotNull(from, "From must not be null");
+        assertNotNull(to, "To must not be null");
+        return new LogCapture(handler, startSequence, endSequence, Math.max(fromNanos, RecordStore.epochNanos(from)),
+                Math.min(toNanos, RecordStore.epochNanos(to)));
+    }
+
+    /**
+     * @return the records within this scope, including spilled ones
+     */
+    public List<LogRecord> getRecords() {
+        return query(TestLogHandler::resolveAll);
+    }
+
+    /**
+     * @param level to be checked for message, must not be null
+     * @return a {@link List} of found {@link LogRecord}s within this scope
+     */
+    public List<LogRecord> resolveLogMessages(TestLogLevel level) {
+        return query(testHandler -> testHandler.resolveLogMessages(level));
+    }
+
+    /**
+     * @param level   to be checked for message, must not be null
+     * @param message to be checked, must not be null
+     * @return a {@link List} of found {@link LogRecord}s within this scope
+     */
+    public List<LogRecord> resolveLogMessages(TestLogLevel level, String message) {
+        return query(testHandler -> testHandler.resolveLogMessages(level, message));
+    }
+
+    /**
+     * @param level       to be checked for message, must not be null
+     * @param messagePart to be checked, must not be null
+     * @return a {@link List} of found {@link LogRecord}s within this scope
+     */
+    public List<LogRecord> resolveLogMessagesContaining(TestLogLevel level, String messagePart) {
+        return query(testHandler -> testHandler.resolveLogMessagesContaining(level, messagePart));
+    }
+
+    /**
+     * Returns the first matching record within this scope, waiting for it to be
+     * published if none has been captured yet, see
+     * {@link TestLogHandler#awaitLogMessage(Predicate, Duration)}. Opening the
+     * scope before triggering asynchronous code therefore covers records published
+     * before the wait starts. A closed scope does not wait.
+     *
+     * @param query   to be matched, must not be null
+     * @param timeout the maximum time to wait, must not be null
+     * @return the first matching record within this scope, or
+     *         {@link Optional#empty()} if none has been published within the
+     *         timeout
+     */
+    public Optional<LogRecord> awaitLogMessage(Predicate<LogRecord> query, Duration timeout) {
+        assertNotNull(query, "Query must not be null");
+        Supplier<Optional<LogRecord>> captured = () -> getRecords().stream().filter(query).findFirst();
+        if (!isOpen()) {
+            return captured.get();
+        }
+        return handler.await(r -> isOpen() && inTime(r) && query.test(r), timeout, captured);
+    }
+
+    /**
+     * @param level       to be checked for message, must not be null
+     * @param messagePart to be checked, must not be null
+     * @param timeout     the maximum time to wait, must not be null
+     * @return the first record within this scope containing the given message
+     *         part, see {@link #awaitLogMessage(Predicate, Duration)}
+     */
+    public Optional<LogRecord> awaitLogMessageContaining(TestLogLevel level, String messagePart, Duration timeout) {
+        assertNotNull(level, "TestLogLevel must not be null");
+        assertNotNull(messagePart, "Message must not be null");
+        return awaitLogMessage(r -> level.getJuliLevel().equals(r.getLevel()) && null != r.getMessage()
+                && r.getMessage().contains(messagePart), timeout);
+    }
+
+    private boolean inTime(LogRecord logRecord) {
+        var nanos = RecordStore.epochNanos(logRecord.getInstant());
+        return nanos >= fromNanos && nanos <= toNanos;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" + startSequence + ", "
+                + (isOpen() ? "open" : String.valueOf(endSequence)) + ")";
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight-Recorder event emitted by {@link TestLogHandler#publish(java.util.logging.LogRecord)}
+ * for each captured {@link java.util.logging.LogRecord}. Like all JFR events it is
+ * effectively free as long as no recording with this event enabled is running.
+ *
+ * @author Oliver Wolff
+ *
+ */
+@Name(LogPublishEvent.NAME)
+@Label("Log Record Captured")
+@Category({ "CUI", "Test Logger" })
+@Description("A LogRecord has been captured by the TestLogHandler")
+@StackTrace(false)
+final class LogPublishEvent extends Event {
+
+    static final String NAME = "de.cuioss.test.juli.Publish";
+
+    @Label("Level")
+    String level;
+
+    @Label("Logger")
+    String logger;
+
+    @Label("Captured Records")
+    @Description("Number of records held by the handler after capturing")
+    int capturedRecords;
+}
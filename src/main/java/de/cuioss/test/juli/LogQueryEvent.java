@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight-Recorder event emitted by the {@code resolveLogMessages*} methods of
+ * {@link TestLogHandler}, covering a single scan over the captured records.
+ *
+ * @author Oliver Wolff
+ *
+ */
+@Name(LogQueryEvent.NAME)
+@Label("Log Query")
+@Category({ "CUI", "Test Logger" })
+@Description("A query against the records captured by the TestLogHandler")
+final class LogQueryEvent extends Event {
+
+    static final String NAME = "de.cuioss.test.juli.Query";
+
+    @Label("Query")
+    @Description("The name of the resolving method")
+    String query;
+
+    @Label("Level")
+    String level;
+
+    @Label("Logger")
+    String logger;
+
+    @Label("Records Scanned")
+    @Description("The records captured, or those captured since the memoized result of the same query")
+    int recordsScanned;
+
+    @Label("Result Size")
+    int resultSize;
+}
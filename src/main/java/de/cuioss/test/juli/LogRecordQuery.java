@@ -0,0 +1,100 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.function.Predicate;
+import java.util.logging.LogRecord;
+
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * A {@link Predicate} on {@link LogRecord}s carrying a description, used as step
+ * of {@link LogAsserts#assertLogSequence(LogRecordQuery...)} and rendered within
+ * its failure message.
+ *
+ * @author Oliver Wolff
+ *
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class LogRecordQuery implements Predicate<LogRecord> {
+
+    private static final String TEST_LOG_LEVEL_MUST_NOT_BE_NULL = "TestLogLevel must not be null";
+    private static final String MESSAGE_MUST_NOT_BE_NULL = "Message must not be null";
+
+    private final String description;
+
+    private final Predicate<LogRecord> predicate;
+
+    /**
+     * @param level to be matched, must not be null
+     * @return a query matching all records with the given level
+     */
+    public static LogRecordQuery level(TestLogLevel level) {
+        assertNotNull(level, TEST_LOG_LEVEL_MUST_NOT_BE_NULL);
+        return new LogRecordQuery(level.name(), r -> level.getJuliLevel().equals(r.getLevel()));
+    }
+
+    /**
+     * @param level   to be matched, must not be null
+     * @param message to be matched exactly, must not be null
+     * @return a query matching the records with the given level and message
+     */
+    public static LogRecordQuery message(TestLogLevel level, String message) {
+        assertNotNull(level, TEST_LOG_LEVEL_MUST_NOT_BE_NULL);
+        assertNotNull(message, MESSAGE_MUST_NOT_BE_NULL);
+        return new LogRecordQuery(level + " message is exactly=" + message,
+                r -> level.getJuliLevel().equals(r.getLevel()) && message.equals(r.getMessage()));
+    }
+
+    /**
+     * @param level       to be matched, must not be null
+     * @param messagePart to be contained within the message, must not be null
+     * @return a query matching the records with the given level whose message
+     *         contains the given part
+     */
+    public static LogRecordQuery containing(TestLogLevel level, String messagePart) {
+        assertNotNull(level, TEST_LOG_LEVEL_MUST_NOT_BE_NULL);
+        assertNotNull(messagePart, MESSAGE_MUST_NOT_BE_NULL);
+        return new LogRecordQuery(level + " message containing=" + messagePart,
+                r -> level.getJuliLevel().equals(r.getLevel()) && null != r.getMessage()
+                        && r.getMessage().contains(messagePart));
+    }
+
+    /**
+     * @param description rendered within failure messages, must not be null
+     * @param predicate   to be matched, must not be null
+     * @return a query delegating to the given predicate
+     */
+    public static LogRecordQuery matching(String description, Predicate<LogRecord> predicate) {
+        assertNotNull(description, "Description must not be null");
+        assertNotNull(predicate, "Predicate must not be null");
+        return new LogRecordQuery(description, predicate);
+    }
+
+    @Override
+    public boolean test(LogRecord logRecord) {
+        return predicate.test(logRecord);
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+}
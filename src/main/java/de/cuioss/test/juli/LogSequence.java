@@ -0,0 +1,147 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+import java.util.List;
+import java.util.logging.LogRecord;
+
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Result of matching an ordered list of {@link LogRecordQuery}s against the
+ * captured records in capture order, computed by a single forward pass, see
+ * {@link #match(List, boolean, List)}. In case no complete match exists it keeps
+ * the longest matched prefix and the position where matching broke.
+ *
+ * @author Oliver Wolff
+ *
+ */
+final class LogSequence {
+
+    private final List<LogRecordQuery> steps;
+
+    private final boolean strict;
+
+    /** The number of steps matched by the longest prefix */
+    @Getter(AccessLevel.PACKAGE)
+    private final int matched;
+
+    /** The positions of the records matched by the longest prefix */
+    private final int[] positions;
+
+    private final List<LogRecord> records;
+
+    private LogSequence(List<LogRecordQuery> steps, boolean strict, int matched, int[] positions,
+            List<LogRecord> records) {
+        this.steps = steps;
+        this.strict = strict;
+        this.matched = matched;
+        this.positions = positions;
+        this.records = records;
+    }
+
+    /**
+     * Matches the given steps in order. Gapped, each step is matched by the first
+     * record following the one matched by the previous step, which finds a match
+     * whenever one exists. Strict, the steps must be matched by consecutive
+     * records: all partial matches ending at the current record are tracked at
+     * once, so each record is only tested against the steps continuing one of them.
+     *
+     * @param records in capture order
+     * @param strict  whether the steps must be matched by consecutive records
+     * @param steps   to be matched in order, must not be empty
+     * @return the result of the match
+     */
+    static LogSequence match(List<LogRecord> records, boolean strict, List<LogRecordQuery> steps) {
+        return strict ? matchStrict(records, steps) : matchGapped(records, steps);
+    }
+
+    private static LogSequence matchGapped(List<LogRecord> records, List<LogRecordQuery> steps) {
+        var positions = new int[steps.size()];
+        var matched = 0;
+        for (var position = 0; position < records.size() && matched < steps.size(); position++) {
+            if (steps.get(matched).test(records.get(position))) {
+                positions[matched++] = position;
+            }
+        }
+        return new LogSequence(steps, false, matched, positions, records);
+    }
+
+    private static LogSequence matchStrict(List<LogRecord> records, List<LogRecordQuery> steps) {
+        var count = steps.size();
+        // active[i]: the records up to the current one match the first i steps
+        var active = new boolean[count + 1];
+        active[0] = true;
+        var longest = 0;
+        var longestEnd = -1;
+        for (var position = 0; position < records.size() && longest < count; position++) {
+            var logRecord = records.get(position);
+            for (var i = count; i > 0; i--) {
+                active[i] = active[i - 1] && steps.get(i - 1).test(logRecord);
+                if (active[i] && i > longest) {
+                    longest = i;
+                    longestEnd = position;
+                }
+            }
+        }
+        var positions = new int[count];
+        for (var i = 0; i < longest; i++) {
+            positions[i] = longestEnd - longest + 1 + i;
+        }
+        return new LogSequence(steps, true, longest, positions, records);
+    }
+
+    /**
+     * @return whether all steps have been matched
+     */
+    boolean isComplete() {
+        return matched == steps.size();
+    }
+
+    @Override
+    public String toString() {
+        var builder = new StringBuilder("Expected log sequence (").append(strict ? "strict" : "gapped")
+                .append(")=").append(steps).append("\nMatched ").append(matched).append(" of ")
+                .append(steps.size()).append(" steps");
+        for (var i = 0; i < matched; i++) {
+            builder.append("\n#").append(positions[i]).append(' ').append(steps.get(i)).append(": ")
+                    .append(render(records.get(positions[i])));
+        }
+        if (!isComplete()) {
+            builder.append("\nBroke at step ").append(matched + 1).append('=').append(steps.get(matched))
+                    .append(": ");
+            var next = 0 == matched ? 0 : positions[matched - 1] + 1;
+            if (!strict) {
+                builder.append("no matching record at or after #").append(next);
+            } else if (0 == matched) {
+                builder.append("no matching record");
+            } else if (next < records.size()) {
+                builder.append("#").append(next).append(' ').append(render(records.get(next)))
+                        .append(" does not match");
+            } else {
+                builder.append("no further record");
+            }
+        }
+        return builder.toString();
+    }
+
+    private static String render(LogRecord logRecord) {
+        return TestLogLevel.parse(logRecord.getLevel()) + ": " + logRecord.getLoggerName() + "-"
+                + logRecord.getMessage();
+    }
+}
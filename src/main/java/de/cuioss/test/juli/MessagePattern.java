@@ -0,0 +1,261 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Compiled regular expression to be matched against complete messages, see
+ * {@link java.util.regex.Matcher#matches()}. Instances are shared by a bounded
+ * cache, see {@link #compile(String)}. Before running the expression, a literal
+ * part that any matching message must contain is checked, see
+ * {@link #getLiteral()}.
+ *
+ * @author Oliver Wolff
+ *
+ */
+final class MessagePattern {
+
+    /** The maximum number of cached patterns */
+    static final int CACHE_SIZE = 256;
+
+    private static final String METACHARACTERS = "\\^$.|?*+()[]{}";
+
+    private static final Map<String, MessagePattern> CACHE = new LinkedHashMap<>(16, 0.75f, true) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, MessagePattern> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    @Getter(AccessLevel.PACKAGE)
+    private final Pattern pattern;
+
+    /**
+     * The longest literal any matching message contains, {@code null} if none
+     * could be derived
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private final String literal;
+
+    /** {@code true} if any matching message starts with {@link #literal} */
+    @Getter(AccessLevel.PACKAGE)
+    private final boolean prefix;
+
+    private MessagePattern(String regex) {
+        pattern = Pattern.compile(regex);
+        var scanner = new LiteralScanner(regex);
+        if (scanner.scan()) {
+            literal = scanner.longest;
+            prefix = scanner.longestAtStart;
+        } else {
+            literal = null;
+            prefix = false;
+        }
+    }
+
+    /**
+     * @param regex the regular expression, must not be null
+     * @return the cached or newly compiled pattern
+     * @throws java.util.regex.PatternSyntaxException if the expression is invalid
+     */
+    static MessagePattern compile(String regex) {
+        synchronized (CACHE) {
+            var cached = CACHE.get(regex);
+            if (null == cached) {
+                cached = new MessagePattern(regex);
+                CACHE.put(regex, cached);
+            }
+            return cached;
+        }
+    }
+
+    /**
+     * @return the number of cached patterns
+     */
+    static int cacheSize() {
+        synchronized (CACHE) {
+            return CACHE.size();
+        }
+    }
+
+    /**
+     * @param message to be matched, may be null
+     * @return {@code true} if the complete message matches the pattern
+     */
+    boolean matches(String message) {
+        if (null == message) {
+            return false;
+        }
+        if (null != literal && !(prefix ? message.startsWith(literal) : message.contains(literal))) {
+            return false;
+        }
+        return pattern.matcher(message).matches();
+    }
+
+    /**
+     * Derives the longest run of literal characters on the top level of an
+     * expression that is not affected by quantifiers. Expressions containing
+     * alternations, inline flags, quotes or escapes denoting single characters are
+     * not analyzed, because a literal derived from them is not necessarily
+     * contained in a matching message.
+     */
+    private static final class LiteralScanner {
+
+        private static final String CLASS_ESCAPES = "dDsSwWbBhHvVRXAzZG";
+
+        private final String regex;
+
+        private final StringBuilder run = new StringBuilder();
+
+        private int position;
+
+        private int depth;
+
+        private boolean atStart = true;
+
+        private boolean runAtStart;
+
+        private String longest;
+
+        private boolean longestAtStart;
+
+        LiteralScanner(String regex) {
+            this.regex = regex;
+        }
+
+        /**
+         * @return {@code true} if the expression could be analyzed, {@link #longest}
+         *         is {@code null} if it does not contain a literal
+         */
+        boolean scan() {
+            if (regex.contains("|") || regex.contains("(?") || regex.contains("\\Q")) {
+                return false;
+            }
+            if (regex.startsWith("^")) {
+                position++;
+            }
+            while (position < regex.length()) {
+                var literalCharacter = -1;
+                var character = regex.charAt(position++);
+                if ('\\' == character) {
+                    if (position == regex.length()) {
+                        return false;
+                    }
+                    var escaped = regex.charAt(position++);
+                    if (!Character.isLetterOrDigit(escaped)) {
+                        literalCharacter = escaped;
+                    } else if ('p' == escaped || 'P' == escaped) {
+                        skipProperty();
+                    } else if (CLASS_ESCAPES.indexOf(escaped) < 0) {
+                        return false;
+                    }
+                } else if ('[' == character) {
+                    skipClass();
+                } else if ('(' == character) {
+                    depth++;
+                } else if (')' == character) {
+                    depth--;
+                } else if (METACHARACTERS.indexOf(character) < 0) {
+                    literalCharacter = character;
+                }
+                var quantifier = skipQuantifier();
+                if (-1 != literalCharacter && 0 == depth && ('+' == quantifier || 0 == quantifier)) {
+                    if (0 == run.length()) {
+                        runAtStart = atStart;
+                    }
+                    run.append((char) literalCharacter);
+                    if ('+' == quantifier) {
+                        endRun();
+                    }
+                } else {
+                    endRun();
+                }
+            }
+            endRun();
+            return true;
+        }
+
+        private void endRun() {
+            if (run.length() > 0 && (null == longest || run.length() > longest.length())) {
+                longest = run.toString();
+                longestAtStart = runAtStart;
+            }
+            run.setLength(0);
+            atStart = false;
+        }
+
+        /**
+         * @return the quantifier following the current position, 0 if there is none
+         */
+        private char skipQuantifier() {
+            if (position == regex.length()) {
+                return 0;
+            }
+            var quantifier = regex.charAt(position);
+            if ('{' == quantifier) {
+                skipBraces();
+            } else if ('?' == quantifier || '*' == quantifier || '+' == quantifier) {
+                position++;
+            } else {
+                return 0;
+            }
+            if (position < regex.length() && ('?' == regex.charAt(position) || '+' == regex.charAt(position))) {
+                position++;
+            }
+            return quantifier;
+        }
+
+        /** Skips the name of a character property, either {@code {Name}} or a single letter */
+        private void skipProperty() {
+            if (position < regex.length() && '{' != regex.charAt(position)) {
+                position++;
+            } else {
+                skipBraces();
+            }
+        }
+
+        private void skipBraces() {
+            if (position < regex.length() && '{' == regex.charAt(position)) {
+                var end = regex.indexOf('}', position);
+                position = -1 == end ? regex.length() : end + 1;
+            }
+        }
+
+        private void skipClass() {
+            var nesting = 1;
+            while (position < regex.length() && nesting > 0) {
+                var character = regex.charAt(position++);
+                if ('\\' == character) {
+                    position++;
+                } else if ('[' == character) {
+                    nesting++;
+                } else if (']' == character) {
+                    nesting--;
+                }
+            }
+        }
+    }
+}
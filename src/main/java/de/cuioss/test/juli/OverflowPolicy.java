@@ -0,0 +1,46 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+/**
+ * Defines what happens to a record published while the buffer of a subscriber
+ * of {@link TestLogHandler#publisher()} is full, because the subscriber has not
+ * requested or not yet consumed enough records. In no case
+ * {@link TestLogHandler#publish(java.util.logging.LogRecord)} waits for the
+ * subscriber. Dropped records are counted by
+ * {@link CaptureStatisticsMXBean#getSubscriberDroppedRecords()}.
+ *
+ * @author Oliver Wolff
+ *
+ */
+public enum OverflowPolicy {
+
+    /** Drops the published record, keeping the buffered ones. */
+    DROP_LATEST,
+
+    /**
+     * Drops the oldest buffered record in favor of the published one, the
+     * default. Suited for monitors interested in the most recent records.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Discards the buffered records, cancels the subscription and signals an
+     * {@link IllegalStateException} to the subscriber. Suited for verifiers that
+     * must not miss any record.
+     */
+    CANCEL
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+/**
+ * Defines how a {@link TestLogHandler} keeps the parameters of captured records,
+ * see {@link TestLogHandler#setParameterRetention(ParameterRetention)}. JUL
+ * records reference their parameters, so capturing records logging entities,
+ * requests or buffers keeps those alive until
+ * {@link TestLogHandler#clearRecords()}, distorting the memory behavior of the
+ * code under test. Numbers, booleans, characters and enums are small and
+ * immutable and therefore kept as they are by all policies, see
+ * {@link CaptureStatisticsMXBean#getParameterBytes()} for the heap actually
+ * retained.
+ *
+ * @author Oliver Wolff
+ *
+ */
+public enum ParameterRetention {
+
+    /** Keeps the parameters as they are, the default. */
+    KEEP,
+
+    /**
+     * Replaces the parameters by their {@link String#valueOf(Object)} at publish
+     * time, truncated to {@value #SNAPSHOT_LENGTH} characters. Queries for
+     * parameters compare the string representations.
+     */
+    SNAPSHOT,
+
+    /**
+     * Drops the parameters. Formatted messages are the plain templates, queries
+     * for parameters will not match.
+     */
+    DROP,
+
+    /**
+     * Holds the parameters through {@link java.lang.ref.WeakReference}s, strings
+     * are kept as they are. Parameters collected in the meantime are rendered as
+     * "&lt;collected ClassName&gt;" and no longer match queries.
+     */
+    WEAK;
+
+    /** The maximum length of parameters snapshot by {@link #SNAPSHOT} */
+    public static final int SNAPSHOT_LENGTH = 256;
+
+    /**
+     * @param parameters to be retained, may be null
+     * @return the parameters to be kept according to this policy, a new array
+     *         unless {@link #KEEP}
+     */
+    Object[] retain(Object[] parameters) {
+        if (null == parameters || KEEP == this) {
+            return parameters;
+        }
+        if (DROP == this) {
+            return null;
+        }
+        var retained = new Object[parameters.length];
+        for (var i = 0; i < parameters.length; i++) {
+            retained[i] = SNAPSHOT == this ? snapshot(parameters[i]) : weak(parameters[i]);
+        }
+        return retained;
+    }
+
+    private static Object snapshot(Object parameter) {
+        if (null == parameter || isValue(parameter)) {
+            return parameter;
+        }
+        String value;
+        try {
+            value = String.valueOf(parameter);
+        } catch (RuntimeException e) {
+            value = "<" + parameter.getClass().getName() + ">";
+        }
+        return value.length() > SNAPSHOT_LENGTH ? value.substring(0, SNAPSHOT_LENGTH) : value;
+    }
+
+    private static Object weak(Object parameter) {
+        if (null == parameter || isValue(parameter) || parameter instanceof String) {
+            return parameter;
+        }
+        return new WeakParameter(parameter);
+    }
+
+    private static boolean isValue(Object parameter) {
+        return parameter instanceof Number || parameter instanceof Boolean || parameter instanceof Character
+                || parameter instanceof Enum;
+    }
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.LogRecord;
+
+/**
+ * Passes the records published to a {@link TestLogHandler} to the subscribers of
+ * {@link TestLogHandler#publisher()}. Each subscription buffers at most the given
+ * number of records and applies its {@link OverflowPolicy} once the buffer is
+ * full, so {@link #offer(LogRecord)} never waits for a subscriber. The records
+ * are passed to the subscriber as requested, by a daemon thread draining the
+ * buffer; the signals to a subscriber are serialized, see
+ * {@link Flow.Subscriber}.
+ *
+ * @author Oliver Wolff
+ *
+ */
+final class RecordPublisher implements AutoCloseable {
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    /** Guarded by this, created on first subscription */
+    private ExecutorService executor;
+
+    /** Guarded by this */
+    private boolean closed;
+
+    /**
+     * @param subscriber receiving the records published from now on, must not be
+     *                   null
+     * @param capacity   the maximum number of buffered records, must be positive
+     * @param policy     applied once the buffer is full, must not be null
+     */
+    synchronized void subscribe(Flow.Subscriber<? super LogRecord> subscriber, int capacity,
+            OverflowPolicy policy) {
+        requireNonNull(subscriber, "Subscriber must not be null");
+        if (closed) {
+            var subscription = new Subscription(subscriber, capacity, policy, Runnable::run);
+            subscription.complete();
+            return;
+        }
+        if (null == executor) {
+            executor = Executors.newCachedThreadPool(runnable -> {
+                var thread = new Thread(runnable, "cui-test-juli-subscriber");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        var subscription = new Subscription(subscriber, capacity, policy, executor::execute);
+        subscriptions.add(subscription);
+        subscription.signal();
+    }
+
+    /**
+     * @return {@code true} if there is at least one active subscription
+     */
+    boolean hasSubscribers() {
+        return !subscriptions.isEmpty();
+    }
+
+    /**
+     * Buffers the given record for each subscription, without waiting for any
+     * subscriber.
+     *
+     * @param logRecord to be passed to the subscribers, must not be null
+     * @return the number of records dropped by the {@link OverflowPolicy} of the
+     *         subscriptions
+     */
+    int offer(LogRecord logRecord) {
+        var dropped = 0;
+        for (Subscription subscription : subscriptions) {
+            dropped += subscription.offer(logRecord);
+        }
+        return dropped;
+    }
+
+    /**
+     * Completes all subscriptions once their buffered records have been passed,
+     * the records are still passed as requested by the subscribers. Subscribing
+     * afterwards completes the subscription immediately.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        subscriptions.forEach(Subscription::complete);
+        shutdownIfTerminated();
+    }
+
+    private synchronized void remove(Subscription subscription) {
+        subscriptions.remove(subscription);
+        shutdownIfTerminated();
+    }
+
+    /** The executor is kept until the last subscription has terminated */
+    private void shutdownIfTerminated() {
+        if (closed && subscriptions.isEmpty() && null != executor) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Buffer and demand of a single subscriber. The buffer, demand and terminal
+     * state are guarded by the subscription itself, the subscriber is only
+     * called by {@link #run()}, which is never running concurrently for the same
+     * subscription.
+     */
+    private final class Subscription implements Flow.Subscription, Runnable {
+
+        private final Flow.Subscriber<? super LogRecord> subscriber;
+
+        private final int capacity;
+
+        private final OverflowPolicy policy;
+
+        private final Executor executor;
+
+        private final ArrayDeque<LogRecord> buffer = new ArrayDeque<>();
+
+        /** The number of pending signals, the subscription is drained if not 0 */
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private long demand;
+
+        private boolean completed;
+
+        private Throwable error;
+
+        private boolean terminated;
+
+        /** Confined to {@link #run()} */
+        private boolean subscribed;
+
+        Subscription(Flow.Subscriber<? super LogRecord> subscriber, int capacity, OverflowPolicy policy,
+                Executor executor) {
+            this.subscriber = subscriber;
+            this.capacity = capacity;
+            this.policy = policy;
+            this.executor = executor;
+        }
+
+        /**
+         * @return the number of dropped records
+         */
+        int offer(LogRecord logRecord) {
+            var dropped = 0;
+            synchronized (this) {
+                if (terminated || completed || null != error) {
+                    return 0;
+                }
+                if (buffer.size() == capacity) {
+                    if (OverflowPolicy.DROP_LATEST == policy) {
+                        return 1;
+                    }
+                    if (OverflowPolicy.DROP_OLDEST == policy) {
+                        buffer.poll();
+                        dropped = 1;
+                    } else {
+                        dropped = buffer.size() + 1;
+                        buffer.clear();
+                        error = new IllegalStateException(
+                                "Subscriber did not keep up, buffer of " + capacity + " records exceeded");
+                    }
+                }
+                if (null == error) {
+                    buffer.add(logRecord);
+                }
+            }
+            signal();
+            return dropped;
+        }
+
+        @Override
+        public void request(long n) {
+            synchronized (this) {
+                if (n <= 0) {
+                    error = new IllegalArgumentException("Requested number of records must be positive: " + n);
+                } else {
+                    demand = demand > Long.MAX_VALUE - n ? Long.MAX_VALUE : demand + n;
+                }
+            }
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                terminated = true;
+                buffer.clear();
+            }
+            remove(this);
+        }
+
+        void complete() {
+            synchronized (this) {
+                completed = true;
+            }
+            signal();
+        }
+
+        void signal() {
+            if (0 == pending.getAndIncrement()) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // Only shut down once all subscriptions have terminated, nothing left to pass
+                    pending.set(0);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            var missed = 1;
+            do {
+                if (!subscribed) {
+                    subscribed = true;
+                    try {
+                        subscriber.onSubscribe(this);
+                    } catch (RuntimeException e) {
+                        cancel();
+                    }
+                }
+                drain();
+                missed = pending.addAndGet(-missed);
+            } while (0 != missed);
+        }
+
+        private void drain() {
+            while (true) {
+                LogRecord next;
+                Throwable failure = null;
+                synchronized (this) {
+                    if (terminated) {
+                        return;
+                    }
+                    next = demand > 0 ? buffer.poll() : null;
+                    if (null != next) {
+                        demand--;
+                    } else if (null != error) {
+                        failure = error;
+                        terminated = true;
+                    } else if (completed && buffer.isEmpty()) {
+                        terminated = true;
+                    } else {
+                        return;
+                    }
+                }
+                if (null == next) {
+                    remove(this);
+                    if (null == failure) {
+                        subscriber.onComplete();
+                    } else {
+                        subscriber.onError(failure);
+                    }
+                    return;
+                }
+                try {
+                    subscriber.onNext(next);
+                } catch (RuntimeException e) {
+                    cancel();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,1075 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Predicate;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.SimpleFormatter;
+
+/**
+ * Columnar storage of the records captured on heap. The attributes queries filter
+ * on are kept in primitive columns, grown in chunks of {@link #CHUNK_SIZE}: the
+ * level as byte code, the ids of the case folded logger name and of the message
+ * as provided by {@link StringDictionary}, the capture sequence and the timestamp.
+ * The ids of the call site and of the publishing thread are kept as provided by
+ * the {@link CallSiteTable} and {@link ThreadTable} of the handler.
+ * Scans run as tight loops over these columns and touch a {@link LogRecord} only
+ * for candidates passing them.
+ * <p>
+ * Messages with parameters are formatted lazily, the way
+ * {@link Formatter#formatMessage(LogRecord)} does, only if a scan matches on the
+ * formatted message. The result is cached per record in a further column, whose
+ * chunks are allocated on first use.
+ * <p>
+ * Logger names and messages are interned, the stored records refer to the
+ * canonical instances. Values that are not interned, because a dictionary is
+ * full, are marked and compared by value.
+ * <p>
+ * Each record is assigned a capture sequence, ascending in the order records
+ * are captured and continued by {@link #nextEpoch()}. Scans can be restricted to a
+ * window of capture sequences and timestamps, see
+ * {@link #restrict(long, long, long, long)}, that is located by binary search.
+ * Records arrive in nearly ascending order of their timestamps, so the running
+ * maximum of the timestamps is kept per chunk along with the maximum lateness,
+ * i.e. how far a record's timestamp lagged behind the maximum of the records
+ * captured before. A time range is narrowed to the chunks that may contain it by
+ * binary search over these maxima, late records are still found.
+ * <p>
+ * Repeated records can be collapsed into the preceding entry, see
+ * {@link #collapse(LogRecord, int)}: The entry keeps the first record, the number
+ * of repeats and the timestamp of the last one. Scans pass such an entry once
+ * per occurrence, so the number of matches is the same as without collapsing.
+ * <p>
+ * Not thread-safe, callers need to synchronize. Scans may run without holding
+ * the lock on a {@link #snapshot()}: The columns are append-only, so a snapshot
+ * shares the chunks and fixes the number of entries as high-water mark along
+ * with the repeats of the last entry, the only one still collapsed into.
+ * Clearing starts a new store by {@link #nextEpoch()} instead of releasing the
+ * chunks in place, so snapshots taken before are not affected.
+ *
+ * @author Oliver Wolff
+ *
+ */
+final class RecordStore {
+
+    /** The number of records per chunk */
+    static final int CHUNK_SIZE = 1 << 12;
+
+    /** Matches any value of a column */
+    private static final int ANY = -2;
+
+    /** Verdict of a message predicate per message id, see {@link #scanMessages} */
+    private static final byte UNKNOWN = 0;
+
+    private static final byte ACCEPTED = 1;
+
+    private static final byte REJECTED = 2;
+
+    private static final Formatter FORMATTER = new SimpleFormatter();
+
+    /** The maximum number of distinct level values with a byte code */
+    private static final int MAX_LEVEL_CODES = Byte.MAX_VALUE;
+
+    private static final int INITIAL_CHUNKS = 4;
+
+    private byte[][] levels;
+
+    private int[][] loggerKeyIds;
+
+    private int[][] messageIds;
+
+    /** The capture sequence of the first record of each entry, ascending */
+    private long[][] sequences;
+
+    private long[][] timestamps;
+
+    private LogRecord[][] records;
+
+    private String[][] formattedMessages;
+
+    /** The shared cause chains of the thrown, see {@link ThrownTypes} */
+    private Class<?>[][][] causeChains;
+
+    /** Ids of the {@link CallSiteTable} the records were published from */
+    private int[][] callSites;
+
+    /** Ids of the {@link ThreadTable} the records were published by */
+    private int[][] threads;
+
+    /** The index of the first record of each entry, counting collapsed repeats */
+    private int[][] starts;
+
+    /** The number of repeats collapsed into each entry, chunks allocated on first use */
+    private int[][] repeats;
+
+    /** The timestamp of the last repeat, valid if {@link #repeats} is not 0 */
+    private long[][] lastTimestamps;
+
+    /** The number of entries */
+    private int size;
+
+    /** The number of records, counting collapsed repeats */
+    private int recordCount;
+
+    /** The capture sequence of the next record, continued by {@link #nextEpoch()} */
+    private long nextSequence;
+
+    /** The inclusive lower bound of the capture sequences visible to scans */
+    private long windowFrom = Long.MIN_VALUE;
+
+    /** The exclusive upper bound of the capture sequences visible to scans */
+    private long windowTo = Long.MAX_VALUE;
+
+    /** The inclusive lower bound of the timestamps visible to scans */
+    private long windowFromNanos = Long.MIN_VALUE;
+
+    /** The inclusive upper bound of the timestamps visible to scans */
+    private long windowToNanos = Long.MAX_VALUE;
+
+    /** The maximum timestamp of the records up to and including each chunk */
+    private long[] chunkMaxTimestamps;
+
+    private long maxTimestamp;
+
+    /** The maximum difference of a record's timestamp to the preceding maximum */
+    private long maxLateness;
+
+    /** The {@link Level#intValue()} per byte code */
+    private final int[] levelValues;
+
+    private int levelCodes;
+
+    private final StringDictionary loggerNames;
+
+    /** Maps the ids of loggerNames to the ids of loggerKeys */
+    private int[] loggerKeyOfName;
+
+    private final StringDictionary loggerKeys;
+
+    private final StringDictionary messages;
+
+    /** Maps the ids of messages to their identifier, null if without */
+    private String[] identifierOfMessage;
+
+    private final IdentifierIndex identifierIndex;
+
+    private final ThrownTypes thrownTypes;
+
+    /** The last entry of a snapshot, -1 for a store records are added to */
+    private final int pinnedEntry;
+
+    /** The repeats of {@link #pinnedEntry} when the snapshot was taken */
+    private final int pinnedRepeats;
+
+    /** The timestamp of the last repeat of {@link #pinnedEntry} */
+    private final long pinnedLastTimestamp;
+
+    RecordStore() {
+        this(0);
+    }
+
+    private RecordStore(long nextSequence) {
+        levelValues = new int[MAX_LEVEL_CODES];
+        loggerNames = new StringDictionary();
+        loggerKeyOfName = new int[64];
+        loggerKeys = new StringDictionary();
+        messages = new StringDictionary();
+        identifierOfMessage = new String[64];
+        identifierIndex = new IdentifierIndex();
+        thrownTypes = new ThrownTypes();
+        pinnedEntry = -1;
+        pinnedRepeats = 0;
+        pinnedLastTimestamp = 0;
+        this.nextSequence = nextSequence;
+        allocate();
+    }
+
+    /**
+     * Shares the chunks and dictionaries of the given store up to its current
+     * number of entries, see {@link #snapshot()}.
+     */
+    private RecordStore(RecordStore source) {
+        levels = source.levels;
+        loggerKeyIds = source.loggerKeyIds;
+        messageIds = source.messageIds;
+        sequences = source.sequences;
+        timestamps = source.timestamps;
+        records = source.records;
+        formattedMessages = source.formattedMessages;
+        causeChains = source.causeChains;
+        callSites = source.callSites;
+        threads = source.threads;
+        starts = source.starts;
+        repeats = source.repeats;
+        lastTimestamps = source.lastTimestamps;
+        size = source.size;
+        recordCount = source.recordCount;
+        nextSequence = source.nextSequence;
+        chunkMaxTimestamps = source.chunkMaxTimestamps.clone();
+        maxTimestamp = source.maxTimestamp;
+        maxLateness = source.maxLateness;
+        levelValues = source.levelValues;
+        levelCodes = source.levelCodes;
+        loggerNames = source.loggerNames;
+        loggerKeyOfName = source.loggerKeyOfName;
+        loggerKeys = source.loggerKeys;
+        messages = source.messages;
+        identifierOfMessage = source.identifierOfMessage;
+        identifierIndex = source.identifierIndex;
+        thrownTypes = source.thrownTypes;
+        pinnedEntry = size - 1;
+        if (0 == size) {
+            pinnedRepeats = 0;
+            pinnedLastTimestamp = 0;
+        } else {
+            pinnedRepeats = source.repeatsOf(pinnedEntry / CHUNK_SIZE, pinnedEntry % CHUNK_SIZE);
+            pinnedLastTimestamp = source.lastTimestamp(pinnedEntry / CHUNK_SIZE, pinnedEntry % CHUNK_SIZE);
+        }
+    }
+
+    /**
+     * Takes a consistent view on the records added so far, to be scanned without
+     * holding the lock of this store. Costs proportional to the number of chunks,
+     * not of records. Records added or collapsed afterwards are not visible to the
+     * snapshot, which starts with an unrestricted window, see
+     * {@link #restrict(long, long, long, long)}. The dictionaries are shared,
+     * whose lookups are safe while interning, see {@link StringDictionary}. The
+     * cache of formatted messages is shared as well, concurrent scans may only
+     * lose cached values. A snapshot must not be added to.
+     *
+     * @return a snapshot of this store
+     */
+    RecordStore snapshot() {
+        return new RecordStore(this);
+    }
+
+    /**
+     * Starts a new epoch: The returned store is empty and continues the capture
+     * sequence of this one, which is left untouched for the snapshots taken from
+     * it. Costs constant time, the chunks and dictionaries of this store are
+     * released once no longer referenced.
+     *
+     * @return an empty store replacing this one
+     */
+    RecordStore nextEpoch() {
+        return new RecordStore(nextSequence);
+    }
+
+    private void allocate() {
+        levels = new byte[INITIAL_CHUNKS][];
+        loggerKeyIds = new int[INITIAL_CHUNKS][];
+        messageIds = new int[INITIAL_CHUNKS][];
+        sequences = new long[INITIAL_CHUNKS][];
+        timestamps = new long[INITIAL_CHUNKS][];
+        records = new LogRecord[INITIAL_CHUNKS][];
+        formattedMessages = new String[INITIAL_CHUNKS][];
+        causeChains = new Class<?>[INITIAL_CHUNKS][][];
+        callSites = new int[INITIAL_CHUNKS][];
+        threads = new int[INITIAL_CHUNKS][];
+        starts = new int[INITIAL_CHUNKS][];
+        repeats = new int[INITIAL_CHUNKS][];
+        lastTimestamps = new long[INITIAL_CHUNKS][];
+        chunkMaxTimestamps = new long[INITIAL_CHUNKS];
+        maxTimestamp = Long.MIN_VALUE;
+        maxLateness = 0;
+        size = 0;
+        recordCount = 0;
+    }
+
+    /**
+     * Appends the given record, replacing its logger name and message by the
+     * canonical instances.
+     *
+     * @param logRecord to be stored, must not be null
+     * @return {@code true} if the message has already been interned, so the record
+     *         does not retain a string of its own
+     */
+    boolean add(LogRecord logRecord) {
+        return add(logRecord, CallSiteTable.NO_CALL_SITE, ThreadTable.NO_THREAD);
+    }
+
+    /**
+     * Appends the given record, replacing its logger name and message by the
+     * canonical instances.
+     *
+     * @param logRecord to be stored, must not be null
+     * @param callSite  the id within the {@link CallSiteTable} of the handler,
+     *                  {@link CallSiteTable#NO_CALL_SITE} if not recorded
+     * @param thread    the id within the {@link ThreadTable} of the handler,
+     *                  {@link ThreadTable#NO_THREAD} if unknown
+     * @return {@code true} if the message has already been interned, so the record
+     *         does not retain a string of its own
+     */
+    boolean add(LogRecord logRecord, int callSite, int thread) {
+        var chunk = size / CHUNK_SIZE;
+        var offset = size % CHUNK_SIZE;
+        if (0 == offset) {
+            addChunk(chunk);
+        }
+        levels[chunk][offset] = levelCode(logRecord.getLevel());
+        loggerKeyIds[chunk][offset] = internLogger(logRecord);
+        sequences[chunk][offset] = nextSequence++;
+        timestamps[chunk][offset] = epochNanos(logRecord);
+        observeTimestamp(chunk, timestamps[chunk][offset]);
+        records[chunk][offset] = logRecord;
+        causeChains[chunk][offset] = thrownTypes.intern(logRecord.getThrown());
+        callSites[chunk][offset] = callSite;
+        threads[chunk][offset] = thread;
+        starts[chunk][offset] = recordCount;
+        var knownMessages = messages.size();
+        var messageId = messages.intern(logRecord.getMessage());
+        messageIds[chunk][offset] = messageId;
+        var identifier = identifier(messageId, knownMessages, logRecord.getMessage());
+        if (null != identifier) {
+            identifierIndex.add(identifier, size);
+        }
+        size++;
+        recordCount++;
+        if (StringDictionary.NOT_INTERNED == messageId) {
+            return false;
+        }
+        logRecord.setMessage(messages.get(messageId));
+        return messageId < knownMessages;
+    }
+
+    /**
+     * Collapses the given record into the last entry if it repeats its record:
+     * same level, logger name, message, parameters, call site, publishing thread
+     * and cause chain of the thrown. Only the number of repeats and the timestamp are kept from the
+     * given record.
+     *
+     * @param logRecord to be collapsed, must not be null
+     * @param callSite  the id within the {@link CallSiteTable} of the handler,
+     *                  {@link CallSiteTable#NO_CALL_SITE} if not recorded
+     * @param thread    the id within the {@link ThreadTable} of the handler,
+     *                  {@link ThreadTable#NO_THREAD} if unknown
+     * @return {@code true} if the record has been collapsed, {@code false} if it
+     *         needs to be added
+     */
+    boolean collapse(LogRecord logRecord, int callSite, int thread) {
+        if (0 == size) {
+            return false;
+        }
+        var last = size - 1;
+        var chunk = last / CHUNK_SIZE;
+        var offset = last % CHUNK_SIZE;
+        var previous = records[chunk][offset];
+        if (callSites[chunk][offset] != callSite || threads[chunk][offset] != thread
+                || !Objects.equals(previous.getLevel(), logRecord.getLevel())
+                || !Objects.equals(previous.getMessage(), logRecord.getMessage())
+                || !Objects.equals(previous.getLoggerName(), logRecord.getLoggerName())
+                || !Arrays.equals(previous.getParameters(), logRecord.getParameters())
+                || !sameThrown(causeChains[chunk][offset], logRecord.getThrown())) {
+            return false;
+        }
+        if (null == repeats[chunk]) {
+            repeats[chunk] = new int[CHUNK_SIZE];
+            lastTimestamps[chunk] = new long[CHUNK_SIZE];
+        }
+        repeats[chunk][offset]++;
+        lastTimestamps[chunk][offset] = epochNanos(logRecord);
+        observeTimestamp(chunk, lastTimestamps[chunk][offset]);
+        recordCount++;
+        nextSequence++;
+        return true;
+    }
+
+    private static boolean sameThrown(Class<?>[] causeChain, Throwable thrown) {
+        if (null == causeChain || null == thrown) {
+            return null == causeChain && null == thrown;
+        }
+        return Arrays.equals(causeChain, ThrownTypes.causeChainOf(thrown));
+    }
+
+    /**
+     * Parses the identifier once per interned message.
+     */
+    private String identifier(int messageId, int knownMessages, String message) {
+        if (StringDictionary.NOT_INTERNED == messageId) {
+            return IdentifierIndex.parse(message);
+        }
+        if (messageId >= knownMessages) {
+            if (messageId == identifierOfMessage.length) {
+                identifierOfMessage = Arrays.copyOf(identifierOfMessage, messageId * 2);
+            }
+            identifierOfMessage[messageId] = IdentifierIndex.parse(message);
+        }
+        return identifierOfMessage[messageId];
+    }
+
+    private void addChunk(int chunk) {
+        if (chunk == records.length) {
+            var chunks = chunk * 2;
+            levels = Arrays.copyOf(levels, chunks);
+            loggerKeyIds = Arrays.copyOf(loggerKeyIds, chunks);
+            messageIds = Arrays.copyOf(messageIds, chunks);
+            sequences = Arrays.copyOf(sequences, chunks);
+            timestamps = Arrays.copyOf(timestamps, chunks);
+            records = Arrays.copyOf(records, chunks);
+            chunkMaxTimestamps = Arrays.copyOf(chunkMaxTimestamps, chunks);
+            formattedMessages = Arrays.copyOf(formattedMessages, chunks);
+            causeChains = Arrays.copyOf(causeChains, chunks);
+            callSites = Arrays.copyOf(callSites, chunks);
+            threads = Arrays.copyOf(threads, chunks);
+            starts = Arrays.copyOf(starts, chunks);
+            repeats = Arrays.copyOf(repeats, chunks);
+            lastTimestamps = Arrays.copyOf(lastTimestamps, chunks);
+        }
+        levels[chunk] = new byte[CHUNK_SIZE];
+        loggerKeyIds[chunk] = new int[CHUNK_SIZE];
+        messageIds[chunk] = new int[CHUNK_SIZE];
+        sequences[chunk] = new long[CHUNK_SIZE];
+        timestamps[chunk] = new long[CHUNK_SIZE];
+        records[chunk] = new LogRecord[CHUNK_SIZE];
+        causeChains[chunk] = new Class<?>[CHUNK_SIZE][];
+        callSites[chunk] = new int[CHUNK_SIZE];
+        threads[chunk] = new int[CHUNK_SIZE];
+        starts[chunk] = new int[CHUNK_SIZE];
+    }
+
+    private byte levelCode(Level level) {
+        var value = level.intValue();
+        for (var code = 0; code < levelCodes; code++) {
+            if (levelValues[code] == value) {
+                return (byte) code;
+            }
+        }
+        if (levelCodes == MAX_LEVEL_CODES) {
+            return StringDictionary.NOT_INTERNED;
+        }
+        levelValues[levelCodes] = value;
+        return (byte) levelCodes++;
+    }
+
+    private int lookupLevelCode(Level level) {
+        var value = level.intValue();
+        for (var code = 0; code < levelCodes; code++) {
+            if (levelValues[code] == value) {
+                return code;
+            }
+        }
+        return StringDictionary.NOT_INTERNED;
+    }
+
+    private int internLogger(LogRecord logRecord) {
+        var knownNames = loggerNames.size();
+        var nameId = loggerNames.intern(logRecord.getLoggerName());
+        if (StringDictionary.NOT_INTERNED == nameId) {
+            return StringDictionary.NOT_INTERNED;
+        }
+        logRecord.setLoggerName(loggerNames.get(nameId));
+        if (nameId >= knownNames) {
+            if (nameId == loggerKeyOfName.length) {
+                loggerKeyOfName = Arrays.copyOf(loggerKeyOfName, nameId * 2);
+            }
+            loggerKeyOfName[nameId] = loggerKeys.intern(foldCase(logRecord.getLoggerName()));
+        }
+        return loggerKeyOfName[nameId];
+    }
+
+    /**
+     * @param index of the record, must be less than {@link #size()}
+     * @return the record at the given index, the first record of the entry in case
+     *         of collapsed repeats
+     */
+    LogRecord get(int index) {
+        var entry = size == recordCount ? index : entryOf(index);
+        return records[entry / CHUNK_SIZE][entry % CHUNK_SIZE];
+    }
+
+    /**
+     * Binary search for the entry containing the record with the given index.
+     */
+    private int entryOf(int index) {
+        var low = 0;
+        var high = size - 1;
+        while (low < high) {
+            var middle = (low + high + 1) >>> 1;
+            if (starts[middle / CHUNK_SIZE][middle % CHUNK_SIZE] <= index) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return the number of stored records, counting collapsed repeats
+     */
+    int size() {
+        return recordCount;
+    }
+
+    /**
+     * @return the number of entries, each holding a record and its collapsed
+     *         repeats
+     */
+    int entries() {
+        return size;
+    }
+
+    /**
+     * Passes each entry, in the order they were added, to the given consumer.
+     *
+     * @param consumer receiving the first record and the number of records of each
+     *                 entry, must not be null
+     */
+    void forEachEntry(ObjIntConsumer<LogRecord> consumer) {
+        for (var entry = 0; entry < size; entry++) {
+            var chunk = entry / CHUNK_SIZE;
+            var offset = entry % CHUNK_SIZE;
+            consumer.accept(records[chunk][offset], 1 + repeatsOf(chunk, offset));
+        }
+    }
+
+    private int repeatsOf(int chunk, int offset) {
+        if (chunk * CHUNK_SIZE + offset == pinnedEntry) {
+            return pinnedRepeats;
+        }
+        return null == repeats[chunk] ? 0 : repeats[chunk][offset];
+    }
+
+    /**
+     * Passes the record of the given entry once per occurrence within the window.
+     */
+    private void emit(int chunk, int offset, LogRecord logRecord, Consumer<LogRecord> consumer) {
+        var firstSequence = sequences[chunk][offset];
+        var lastSequence = firstSequence + repeatsOf(chunk, offset);
+        var occurrences = Math.min(lastSequence, windowTo - 1) - Math.max(firstSequence, windowFrom) + 1;
+        for (var occurrence = 0L; occurrence < occurrences; occurrence++) {
+            consumer.accept(logRecord);
+        }
+    }
+
+    /**
+     * @return the capture sequence the next record will be assigned, usable as
+     *         mark for {@link #restrict(long, long)}
+     */
+    long nextSequence() {
+        return nextSequence;
+    }
+
+    /**
+     * @return a capture sequence for a record that is not added to this store,
+     *         e.g. because it is spilled to disk
+     */
+    long reserveSequence() {
+        return nextSequence++;
+    }
+
+    private void observeTimestamp(int chunk, long timestamp) {
+        if (timestamp < maxTimestamp) {
+            maxLateness = Math.max(maxLateness, maxTimestamp - timestamp);
+        } else {
+            maxTimestamp = timestamp;
+        }
+        chunkMaxTimestamps[chunk] = maxTimestamp;
+    }
+
+    /**
+     * Restricts all scans to the records within the given window of capture
+     * sequences and timestamps until it is restricted again.
+     *
+     * @param from      the inclusive lower bound of the capture sequence,
+     *                  {@link Long#MIN_VALUE} for no bound
+     * @param to        the exclusive upper bound of the capture sequence,
+     *                  {@link Long#MAX_VALUE} for no bound
+     * @param fromNanos the inclusive lower bound of the timestamp in nanoseconds
+     *                  since epoch, {@link Long#MIN_VALUE} for no bound
+     * @param toNanos   the inclusive upper bound of the timestamp in nanoseconds
+     *                  since epoch, {@link Long#MAX_VALUE} for no bound
+     */
+    void restrict(long from, long to, long fromNanos, long toNanos) {
+        windowFrom = from;
+        windowTo = to;
+        windowFromNanos = fromNanos;
+        windowToNanos = toNanos;
+    }
+
+    long getWindowFrom() {
+        return windowFrom;
+    }
+
+    long getWindowTo() {
+        return windowTo;
+    }
+
+    long getWindowFromNanos() {
+        return windowFromNanos;
+    }
+
+    long getWindowToNanos() {
+        return windowToNanos;
+    }
+
+    /**
+     * @param sequence  the capture sequence of a record
+     * @param logRecord the record, must not be null
+     * @return {@code true} if the given record is within the current window
+     */
+    boolean inWindow(long sequence, LogRecord logRecord) {
+        var timestamp = epochNanos(logRecord);
+        return sequence >= windowFrom && sequence < windowTo && timestamp >= windowFromNanos
+                && timestamp <= windowToNanos;
+    }
+
+    /**
+     * @return {@code true} if the range from the first to the last timestamp of
+     *         the given entry overlaps the given range
+     */
+    private boolean inTime(int chunk, int offset, long fromNanos, long toNanos) {
+        return timestamps[chunk][offset] <= toNanos && lastTimestamp(chunk, offset) >= fromNanos;
+    }
+
+    /**
+     * @param fromNanos the inclusive lower bound of the timestamps to be scanned
+     * @return the first entry that may be within the window
+     */
+    private int firstEntry(long fromNanos) {
+        var first = firstEntryInSequence();
+        if (Long.MIN_VALUE == fromNanos) {
+            return first;
+        }
+        // First chunk whose running maximum reaches the lower bound
+        var low = 0;
+        var high = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+            if (chunkMaxTimestamps[middle] < fromNanos) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return Math.min(size, Math.max(first, low * CHUNK_SIZE));
+    }
+
+    /**
+     * @param toNanos the inclusive upper bound of the timestamps to be scanned
+     * @return the first entry after the window
+     */
+    private int endEntry(long toNanos) {
+        var end = endEntryInSequence();
+        if (Long.MAX_VALUE == toNanos) {
+            return end;
+        }
+        // Records of a chunk lag at most maxLateness behind the maximum of the
+        // preceding chunks, so the first chunk following a maximum beyond
+        // toNanos + maxLateness is the end
+        var limit = toNanos > Long.MAX_VALUE - maxLateness ? Long.MAX_VALUE : toNanos + maxLateness;
+        var low = 1;
+        var high = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+            if (chunkMaxTimestamps[middle - 1] <= limit) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return Math.min(end, low * CHUNK_SIZE);
+    }
+
+    /**
+     * @return the first entry with a record within the window of capture
+     *         sequences
+     */
+    private int firstEntryInSequence() {
+        if (Long.MIN_VALUE == windowFrom) {
+            return 0;
+        }
+        var entry = lastEntryStartingBefore(windowFrom + 1);
+        if (entry < 0) {
+            return 0;
+        }
+        var chunk = entry / CHUNK_SIZE;
+        var offset = entry % CHUNK_SIZE;
+        return sequences[chunk][offset] + repeatsOf(chunk, offset) >= windowFrom ? entry : entry + 1;
+    }
+
+    /**
+     * @return the first entry starting at or after the end of the window of
+     *         capture sequences
+     */
+    private int endEntryInSequence() {
+        if (Long.MAX_VALUE == windowTo) {
+            return size;
+        }
+        return lastEntryStartingBefore(windowTo) + 1;
+    }
+
+    /**
+     * Binary search over the sequence column.
+     *
+     * @return the last entry whose first capture sequence is less than the given
+     *         one, -1 if there is none
+     */
+    private int lastEntryStartingBefore(long sequence) {
+        var low = 0;
+        var high = size - 1;
+        while (low <= high) {
+            var middle = (low + high) >>> 1;
+            if (sequences[middle / CHUNK_SIZE][middle % CHUNK_SIZE] < sequence) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return high;
+    }
+
+    private static int firstOffset(int chunk, int first) {
+        return chunk == first / CHUNK_SIZE ? first % CHUNK_SIZE : 0;
+    }
+
+    /**
+     * @return the number of interned logger names
+     */
+    int loggerDictionarySize() {
+        return loggerNames.size();
+    }
+
+    /**
+     * @return the number of interned messages
+     */
+    int messageDictionarySize() {
+        return messages.size();
+    }
+
+    /**
+     * @return the number of distinct message identifiers
+     */
+    int identifierIndexSize() {
+        return identifierIndex.size();
+    }
+
+    /**
+     * @return the number of distinct cause chains
+     */
+    int causeChainTableSize() {
+        return thrownTypes.size();
+    }
+
+    /**
+     * Passes all records matching the given criteria to the given consumer, in the
+     * order they were added. The primitive columns are checked first, the given
+     * filter is applied only to records passing them.
+     *
+     * @param level      to be matched by {@link Level#intValue()}, matches all if
+     *                   null
+     * @param logger     the logger name to be matched ignoring case, matches all if
+     *                   null
+     * @param message    the message to be matched exactly, matches all if null
+     * @param formatted  to be applied to the formatted message of records passing
+     *                   the columns, matches all if null
+     * @param thrown     to be applied to the cause chain of records with a thrown
+     *                   {@link Throwable}, see {@link ThrownTypes}, matches all if
+     *                   null, records without thrown otherwise
+     * @param fromNanos  the inclusive lower bound of the timestamp in nanoseconds
+     *                   since epoch
+     * @param toNanos    the inclusive upper bound of the timestamp in nanoseconds
+     *                   since epoch. Entries with collapsed repeats match if the
+     *                   range from their first to their last timestamp overlaps
+     * @param filter     to be applied to each record passing the columns, must not
+     *                   be null
+     * @param consumer   receiving the matching records, must not be null
+     */
+    void scan(Level level, String logger, String message, Predicate<String> formatted,
+            Predicate<Class<?>[]> thrown, long fromNanos, long toNanos, Predicate<LogRecord> filter,
+            Consumer<LogRecord> consumer) {
+        var levelCode = null == level ? ANY : lookupLevelCode(level);
+        var loggerKey = null == logger ? ANY : loggerKeys.lookup(foldCase(logger));
+        var messageId = null == message ? ANY : messages.lookup(message);
+        var from = Math.max(fromNanos, windowFromNanos);
+        var to = Math.min(toNanos, windowToNanos);
+        var first = firstEntry(from);
+        var end = endEntry(to);
+        for (var chunk = first / CHUNK_SIZE; chunk * CHUNK_SIZE < end; chunk++) {
+            var count = Math.min(CHUNK_SIZE, end - chunk * CHUNK_SIZE);
+            var levelColumn = levels[chunk];
+            var loggerColumn = loggerKeyIds[chunk];
+            var messageColumn = messageIds[chunk];
+            var timestampColumn = timestamps[chunk];
+            var recordColumn = records[chunk];
+            var causeChainColumn = causeChains[chunk];
+            for (var offset = firstOffset(chunk, first); offset < count; offset++) {
+                if (timestampColumn[offset] > to || lastTimestamp(chunk, offset) < from
+                        || !matches(levelColumn[offset], levelCode)
+                        || !matches(loggerColumn[offset], loggerKey)
+                        || !matches(messageColumn[offset], messageId)
+                        || !matches(causeChainColumn[offset], thrown)) {
+                    continue;
+                }
+                var logRecord = recordColumn[offset];
+                if (matchesByValue(levelColumn[offset], loggerColumn[offset], messageColumn[offset], logRecord,
+                        level, logger, message)
+                        && (null == formatted || matchesFormatted(chunk, offset, logRecord, formatted))
+                        && filter.test(logRecord)) {
+                    emit(chunk, offset, logRecord, consumer);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} if the stored id equals the queried one, or the query
+     *         matches any value, or the stored value is not interned and needs to
+     *         be compared by value
+     */
+    private static boolean matches(int stored, int queried) {
+        return stored == queried || ANY == queried || StringDictionary.NOT_INTERNED == stored;
+    }
+
+    /**
+     * @return the timestamp of the last record of the given entry
+     */
+    private long lastTimestamp(int chunk, int offset) {
+        if (chunk * CHUNK_SIZE + offset == pinnedEntry) {
+            return 0 == pinnedRepeats ? timestamps[chunk][offset] : pinnedLastTimestamp;
+        }
+        return 0 == repeatsOf(chunk, offset) ? timestamps[chunk][offset] : lastTimestamps[chunk][offset];
+    }
+
+    private static boolean matches(Class<?>[] causeChain, Predicate<Class<?>[]> thrown) {
+        return null == thrown || null != causeChain && thrown.test(causeChain);
+    }
+
+    private boolean matchesFormatted(int chunk, int offset, LogRecord logRecord, Predicate<String> formatted) {
+        String formattedMessage;
+        if (!needsFormatting(logRecord)) {
+            formattedMessage = logRecord.getMessage();
+        } else {
+            if (null == formattedMessages[chunk]) {
+                formattedMessages[chunk] = new String[CHUNK_SIZE];
+            }
+            formattedMessage = formattedMessages[chunk][offset];
+            if (null == formattedMessage) {
+                formattedMessage = format(logRecord);
+                formattedMessages[chunk][offset] = formattedMessage;
+            }
+        }
+        return null != formattedMessage && formatted.test(formattedMessage);
+    }
+
+    /**
+     * @param logRecord to be formatted, must not be null
+     * @return the message of the given record with its parameters applied, the
+     *         way {@link Formatter#formatMessage(LogRecord)} does
+     */
+    static String format(LogRecord logRecord) {
+        if (!needsFormatting(logRecord)) {
+            return logRecord.getMessage();
+        }
+        return FORMATTER.formatMessage(logRecord);
+    }
+
+    private static boolean needsFormatting(LogRecord logRecord) {
+        var parameters = logRecord.getParameters();
+        return null != parameters && 0 != parameters.length || null != logRecord.getResourceBundle();
+    }
+
+    /**
+     * Passes all records whose message is accepted by the given predicate and
+     * matching the given criteria to the given consumer, in the order they were
+     * added. The predicate is evaluated once per distinct interned message and
+     * scan, not per record.
+     *
+     * @param level    to be matched by {@link Level#intValue()}, matches all if
+     *                 null
+     * @param message  to be applied to the message, which may be null, must not
+     *                 be null
+     * @param filter   to be applied to each record passing level and message, must
+     *                 not be null
+     * @param consumer receiving the matching records, must not be null
+     */
+    void scanMessages(Level level, Predicate<String> message, Predicate<LogRecord> filter,
+            Consumer<LogRecord> consumer) {
+        var levelCode = null == level ? ANY : lookupLevelCode(level);
+        var verdicts = new byte[messages.size()];
+        var first = firstEntry(windowFromNanos);
+        var end = endEntry(windowToNanos);
+        for (var chunk = first / CHUNK_SIZE; chunk * CHUNK_SIZE < end; chunk++) {
+            var count = Math.min(CHUNK_SIZE, end - chunk * CHUNK_SIZE);
+            var levelColumn = levels[chunk];
+            var messageColumn = messageIds[chunk];
+            var recordColumn = records[chunk];
+            for (var offset = firstOffset(chunk, first); offset < count; offset++) {
+                if (!matches(levelColumn[offset], levelCode)
+                        || !inTime(chunk, offset, windowFromNanos, windowToNanos)) {
+                    continue;
+                }
+                var logRecord = recordColumn[offset];
+                if (matchesByValue(levelColumn[offset], 0, 0, logRecord, level, null, null)
+                        && accepts(messageColumn[offset], logRecord, message, verdicts) && filter.test(logRecord)) {
+                    emit(chunk, offset, logRecord, consumer);
+                }
+            }
+        }
+    }
+
+    private static boolean accepts(int messageId, LogRecord logRecord, Predicate<String> message, byte[] verdicts) {
+        if (StringDictionary.NOT_INTERNED == messageId) {
+            return message.test(logRecord.getMessage());
+        }
+        if (UNKNOWN == verdicts[messageId]) {
+            verdicts[messageId] = message.test(logRecord.getMessage()) ? ACCEPTED : REJECTED;
+        }
+        return ACCEPTED == verdicts[messageId];
+    }
+
+    /**
+     * Passes all records published from one of the given call sites and matching
+     * the given level and filter to the given consumer, in the order they were
+     * added.
+     *
+     * @param level     to be matched by {@link Level#intValue()}, matches all if
+     *                  null
+     * @param callSites per id of the {@link CallSiteTable} whether it matches,
+     *                  see {@link CallSiteTable#matching(String, String)}, must not
+     *                  be null
+     * @param filter    to be applied to each record passing level and call site,
+     *                  must not be null
+     * @param consumer  receiving the matching records, must not be null
+     */
+    void scanCallSites(Level level, boolean[] callSites, Predicate<LogRecord> filter,
+            Consumer<LogRecord> consumer) {
+        var levelCode = null == level ? ANY : lookupLevelCode(level);
+        var first = firstEntry(windowFromNanos);
+        var end = endEntry(windowToNanos);
+        for (var chunk = first / CHUNK_SIZE; chunk * CHUNK_SIZE < end; chunk++) {
+            var count = Math.min(CHUNK_SIZE, end - chunk * CHUNK_SIZE);
+            var levelColumn = levels[chunk];
+            var callSiteColumn = this.callSites[chunk];
+            var recordColumn = records[chunk];
+            for (var offset = firstOffset(chunk, first); offset < count; offset++) {
+                var callSite = callSiteColumn[offset];
+                if (CallSiteTable.NO_CALL_SITE == callSite || callSite >= callSites.length || !callSites[callSite]
+                        || !matches(levelColumn[offset], levelCode)
+                        || !inTime(chunk, offset, windowFromNanos, windowToNanos)) {
+                    continue;
+                }
+                var logRecord = recordColumn[offset];
+                if (matchesByValue(levelColumn[offset], 0, 0, logRecord, level, null, null)
+                        && filter.test(logRecord)) {
+                    emit(chunk, offset, logRecord, consumer);
+                }
+            }
+        }
+    }
+
+    /**
+     * Looks up the entries whose message starts with the given identifier, see
+     * {@link IdentifierIndex#parse(String)}, to be passed to
+     * {@link #scanEntries(int[], Level, Predicate, Consumer)} without scanning
+     * unrelated records.
+     *
+     * @param identifier to be looked up, must not be null
+     * @return the ascending indexes of the entries carrying the given identifier,
+     *         {@code null} if the {@link IdentifierIndex} is incomplete and the
+     *         records need to be scanned
+     */
+    int[] identifierEntries(String identifier) {
+        return identifierIndex.isComplete() ? identifierIndex.entries(identifier) : null;
+    }
+
+    /**
+     * Passes the records of the given entries matching the given criteria to the
+     * given consumer, in the order of the entries. Used for entries resolved by
+     * an index, e.g. by the {@link ThreadTable}, without scanning unrelated
+     * records.
+     *
+     * @param entries  the ascending indexes of the entries to be checked, must
+     *                 not be null
+     * @param level    to be matched by {@link Level#intValue()}, matches all if
+     *                 null
+     * @param filter   to be applied to each record of the given entries, must
+     *                 not be null
+     * @param consumer receiving the matching records, must not be null
+     */
+    void scanEntries(int[] entries, Level level, Predicate<LogRecord> filter, Consumer<LogRecord> consumer) {
+        var levelCode = null == level ? ANY : lookupLevelCode(level);
+        var first = firstEntry(windowFromNanos);
+        var end = endEntry(windowToNanos);
+        for (int index : entries) {
+            scanEntry(index, first, end, levelCode, level, filter, consumer);
+        }
+    }
+
+    private void scanEntry(int index, int first, int end, int levelCode, Level level, Predicate<LogRecord> filter,
+            Consumer<LogRecord> consumer) {
+        var chunk = index / CHUNK_SIZE;
+        var offset = index % CHUNK_SIZE;
+        var logRecord = records[chunk][offset];
+        if (index >= first && index < end && matches(levels[chunk][offset], levelCode)
+                && inTime(chunk, offset, windowFromNanos, windowToNanos)
+                && matchesByValue(levels[chunk][offset], 0, 0, logRecord, level, null, null)
+                && filter.test(logRecord)) {
+            emit(chunk, offset, logRecord, consumer);
+        }
+    }
+
+    /**
+     * Compares the attributes that are not interned by value.
+     */
+    private static boolean matchesByValue(int levelCode, int loggerKey, int messageId, LogRecord logRecord,
+            Level level, String logger, String message) {
+        return (StringDictionary.NOT_INTERNED != levelCode || null == level
+                || level.intValue() == logRecord.getLevel().intValue())
+                && (StringDictionary.NOT_INTERNED != loggerKey || null == logger
+                        || logger.equalsIgnoreCase(logRecord.getLoggerName()))
+                && (StringDictionary.NOT_INTERNED != messageId || null == message
+                        || message.equals(logRecord.getMessage()));
+    }
+
+    private static long epochNanos(LogRecord logRecord) {
+        var instant = logRecord.getInstant();
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    /**
+     * @param instant to be converted, must not be null
+     * @return the nanoseconds since epoch, saturated to {@link Long#MIN_VALUE} or
+     *         {@link Long#MAX_VALUE} if out of range
+     */
+    static long epochNanos(Instant instant) {
+        try {
+            return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000_000L), instant.getNano());
+        } catch (ArithmeticException e) {
+            return instant.getEpochSecond() < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * @return the given value with each code point folded the way
+     *         {@link String#equalsIgnoreCase(String)} compares them, so that
+     *         folded values are equal if and only if the originals are equal
+     *         ignoring case
+     */
+    static String foldCase(String value) {
+        var builder = new StringBuilder(value.length());
+        value.codePoints().forEach(codePoint -> builder
+                .appendCodePoint(Character.toLowerCase(Character.toUpperCase(codePoint))));
+        return builder.toString();
+    }
+}
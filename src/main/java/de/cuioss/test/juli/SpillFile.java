@@ -0,0 +1,709 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+
+import lombok.Getter;
+
+/**
+ * Append-only storage for {@link LogRecord}s spilled to disk by
+ * {@link TestLogHandler}. The records are encoded in a compact binary format and
+ * written in batches through a {@link FileChannel} into segment files of at most
+ * {@value #DEFAULT_SEGMENT_SIZE} bytes. Reading maps the segments into memory
+ * where possible.
+ * <p>
+ * Format: A sequence of entries, each starting with a tag byte. Integers are
+ * written as unsigned LEB128 varints, signed ones zig-zag encoded, strings as
+ * varint length followed by UTF-8 bytes.
+ * </p>
+ * <ul>
+ * <li>{@value #TAG_DEFINE}: Adds a string to the dictionary, ids are assigned in
+ * order of definition. Logger names, level names, class and method names and
+ * messages (until the dictionary reaches {@value #MAX_DICTIONARY_SIZE} entries)
+ * are referenced by id, each definition preceding its first usage.</li>
+ * <li>{@value #TAG_RECORD}: A single record: level-name ref, level value,
+ * logger ref, message ref, sequence number, delta of the capture sequence, see
+ * {@link RecordStore#nextSequence()}, to the previous record, delta of the epoch
+ * milliseconds to the previous record, nano adjustment, thread id, source class ref, source
+ * method ref, parameters and thrown. References are written as id + 1 with 0
+ * representing {@code null}, messages as id + 2 with 1 announcing an inline
+ * string. Parameters are stored as their {@link String#valueOf(Object)}, the
+ * thrown as class-name ref, inline message, the number of further classes in
+ * its cause chain and their class-name refs.</li>
+ * </ul>
+ * <p>
+ * Decoded records are new instances, a thrown {@link Throwable} is represented
+ * by a {@link ThrowableSummary}. The classes of cause chains are kept in memory
+ * and resolved by name when decoding. This type is not thread-safe, it is guarded by
+ * the owning {@link TestLogHandler}.
+ * </p>
+ * <p>
+ * A {@link #snapshot()} is decoded without the lock of the owner, e.g. by
+ * another thread: It retains the segments written so far, which are deleted
+ * only once the last snapshot referring to them has been closed.
+ * </p>
+ *
+ * @author Oliver Wolff
+ *
+ */
+final class SpillFile implements Closeable {
+
+    static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    static final int MAX_DICTIONARY_SIZE = 1 << 16;
+
+    static final byte TAG_DEFINE = 1;
+
+    static final byte TAG_RECORD = 2;
+
+    private static final byte[] MAGIC = { 'C', 'U', 'I', 'J', 3 };
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final Path directory;
+
+    private final int segmentSize;
+
+    private final List<Path> segments = new ArrayList<>();
+
+    private final Map<String, Integer> dictionary = new HashMap<>();
+
+    /** The classes of all spilled cause chains by name */
+    private final Map<String, Class<?>> thrownClasses = new HashMap<>();
+
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+
+    private final Encoder encoder = new Encoder();
+
+    private FileChannel channel;
+
+    private long segmentBytes;
+
+    private long previousMillis;
+
+    private long previousSequence;
+
+    /** The number of records currently spilled */
+    @Getter
+    private int size;
+
+    /** The number of bytes currently spilled, including pending ones */
+    @Getter
+    private long bytes;
+
+    /** Numbers the segment files, not reset, so names of retained segments are not reused */
+    private int segmentCount;
+
+    /** Guards the retention of segments by snapshots, which are closed by other threads */
+    private final Object retentionLock = new Object();
+
+    /** The number of open snapshots per segment, guarded by {@link #retentionLock} */
+    private final Map<Path, Integer> retained = new HashMap<>();
+
+    /** Segments cleared while retained, guarded by {@link #retentionLock} */
+    private final Set<Path> discarded = new HashSet<>();
+
+    /** Guarded by {@link #retentionLock} */
+    private boolean closed;
+
+    /**
+     * @param parent      the directory to create the spill directory in, must not
+     *                    be null
+     * @param segmentSize the maximum size of a single segment file
+     * @throws IOException if the spill directory can not be created
+     */
+    SpillFile(Path parent, int segmentSize) throws IOException {
+        Files.createDirectories(parent);
+        directory = Files.createTempDirectory(parent, "cui-test-juli-spill-");
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Appends the given record, writing it to disk once the write buffer is full.
+     *
+     * @param logRecord       to be spilled, must not be null
+     * @param captureSequence the capture sequence assigned by the
+     *                        {@link RecordStore}, ascending
+     * @return the number of bytes the record occupies on disk
+     * @throws IOException if writing fails
+     */
+    int append(LogRecord logRecord, long captureSequence) throws IOException {
+        encoder.reset();
+        encode(logRecord, captureSequence);
+        var length = encoder.length;
+        if (null == channel || segmentBytes + length > segmentSize && segmentBytes > MAGIC.length) {
+            nextSegment();
+        }
+        var offset = 0;
+        while (offset < length) {
+            if (!writeBuffer.hasRemaining()) {
+                flush();
+            }
+            var chunk = Math.min(writeBuffer.remaining(), length - offset);
+            writeBuffer.put(encoder.buffer, offset, chunk);
+            offset += chunk;
+        }
+        segmentBytes += length;
+        bytes += length;
+        size++;
+        return length;
+    }
+
+    /**
+     * Writes pending records to disk.
+     *
+     * @throws IOException if writing fails
+     */
+    void flush() throws IOException {
+        if (null == channel) {
+            return;
+        }
+        writeBuffer.flip();
+        while (writeBuffer.hasRemaining()) {
+            channel.write(writeBuffer);
+        }
+        writeBuffer.clear();
+    }
+
+    /**
+     * Decodes all spilled records in the order they were appended.
+     *
+     * @param consumer receiving the decoded records, must not be null
+     * @throws UncheckedIOException if reading fails
+     */
+    void forEach(Consumer<LogRecord> consumer) {
+        forEachSequenced((logRecord, captureSequence) -> consumer.accept(logRecord));
+    }
+
+    /**
+     * Decodes all spilled records in the order they were appended.
+     *
+     * @param consumer receiving the decoded records and their capture sequence,
+     *                 must not be null
+     * @throws UncheckedIOException if reading fails
+     */
+    void forEachSequenced(ObjLongConsumer<LogRecord> consumer) {
+        if (0 == size) {
+            return;
+        }
+        try {
+            flush();
+            decode(segments, new Decoder(thrownClasses, size), consumer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read spilled records from " + directory, e);
+        }
+    }
+
+    /**
+     * Writes pending records to disk and retains the segments written so far,
+     * without decoding any record.
+     *
+     * @return the records spilled so far, to be decoded later and closed
+     *         afterwards
+     * @throws IOException if writing fails
+     */
+    Snapshot snapshot() throws IOException {
+        flush();
+        var snapshot = new Snapshot(List.copyOf(segments), Map.copyOf(thrownClasses), size);
+        synchronized (retentionLock) {
+            for (Path segment : snapshot.segments) {
+                retained.merge(segment, 1, Integer::sum);
+            }
+        }
+        return snapshot;
+    }
+
+    private static void decode(List<Path> segments, Decoder decoder, ObjLongConsumer<LogRecord> consumer)
+            throws IOException {
+        for (Path segment : segments) {
+            decoder.decode(read(segment), consumer);
+        }
+    }
+
+    /**
+     * Discards all spilled records by deleting the segment files.
+     *
+     * @throws IOException if deleting fails
+     */
+    void clear() throws IOException {
+        closeChannel();
+        synchronized (retentionLock) {
+            for (Path segment : segments) {
+                if (retained.containsKey(segment)) {
+                    discarded.add(segment);
+                } else {
+                    Files.deleteIfExists(segment);
+                }
+            }
+        }
+        segments.clear();
+        dictionary.clear();
+        thrownClasses.clear();
+        segmentBytes = 0;
+        previousMillis = 0;
+        previousSequence = 0;
+        size = 0;
+        bytes = 0;
+    }
+
+    /**
+     * Discards all spilled records and deletes the spill directory, once the
+     * last open snapshot has been closed.
+     */
+    @Override
+    public void close() throws IOException {
+        clear();
+        synchronized (retentionLock) {
+            closed = true;
+            if (retained.isEmpty()) {
+                Files.deleteIfExists(directory);
+            }
+        }
+    }
+
+    private void release(List<Path> segments) throws IOException {
+        synchronized (retentionLock) {
+            for (Path segment : segments) {
+                if (null == retained.computeIfPresent(segment, (key, count) -> count > 1 ? count - 1 : null)
+                        && discarded.remove(segment)) {
+                    Files.deleteIfExists(segment);
+                }
+            }
+            if (closed && retained.isEmpty()) {
+                Files.deleteIfExists(directory);
+            }
+        }
+    }
+
+    private void nextSegment() throws IOException {
+        closeChannel();
+        var segment = directory.resolve("segment-%05d.bin".formatted(segmentCount++));
+        channel = FileChannel.open(segment, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        segments.add(segment);
+        writeBuffer.put(MAGIC);
+        segmentBytes = MAGIC.length;
+        bytes += MAGIC.length;
+    }
+
+    private void closeChannel() throws IOException {
+        if (null != channel) {
+            flush();
+            channel.close();
+            channel = null;
+        }
+        writeBuffer.clear();
+    }
+
+    private static ByteBuffer read(Path segment) throws IOException {
+        try (var readChannel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            var length = readChannel.size();
+            try {
+                return readChannel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            } catch (IOException | UnsupportedOperationException e) {
+                // Mapping not supported, e.g. by the file system: read into heap instead
+                var buffer = ByteBuffer.allocate(Math.toIntExact(length));
+                while (buffer.hasRemaining() && readChannel.read(buffer) >= 0) {
+                    // read until complete
+                }
+                return buffer.flip();
+            }
+        }
+    }
+
+    private void encode(LogRecord logRecord, long captureSequence) {
+        // Definitions must precede the record, therefore resolve references first
+        var level = logRecord.getLevel();
+        var levelRef = reference(null == level ? null : level.getName());
+        var loggerRef = reference(logRecord.getLoggerName());
+        var messageRef = messageReference(logRecord.getMessage());
+        var sourceClassRef = reference(logRecord.getSourceClassName());
+        var sourceMethodRef = reference(logRecord.getSourceMethodName());
+        var thrown = logRecord.getThrown();
+        var thrownRef = reference(null == thrown ? null : ThrowableSummary.classNameOf(thrown));
+        var causeChain = null == thrown ? new Class<?>[0] : ThrownTypes.causeChainOf(thrown);
+        var causeRefs = new int[Math.max(0, causeChain.length - 1)];
+        for (var i = 0; i < causeRefs.length; i++) {
+            causeRefs[i] = reference(causeChain[i + 1].getName());
+        }
+        for (Class<?> type : causeChain) {
+            thrownClasses.putIfAbsent(type.getName(), type);
+        }
+
+        encoder.writeByte(TAG_RECORD);
+        encoder.writeVarInt(levelRef);
+        encoder.writeVarLong(zigZag(null == level ? 0 : level.intValue()));
+        encoder.writeVarInt(loggerRef);
+        encoder.writeVarInt(messageRef);
+        if (1 == messageRef) {
+            encoder.writeString(logRecord.getMessage());
+        }
+        encoder.writeVarLong(logRecord.getSequenceNumber());
+        encoder.writeVarLong(zigZag(captureSequence - previousSequence));
+        previousSequence = captureSequence;
+        var instant = logRecord.getInstant();
+        var millis = instant.toEpochMilli();
+        encoder.writeVarLong(zigZag(millis - previousMillis));
+        encoder.writeVarInt(instant.getNano() % 1_000_000);
+        previousMillis = millis;
+        encoder.writeVarLong(logRecord.getLongThreadID());
+        encoder.writeVarInt(sourceClassRef);
+        encoder.writeVarInt(sourceMethodRef);
+        var parameters = logRecord.getParameters();
+        if (null == parameters) {
+            encoder.writeVarInt(0);
+        } else {
+            encoder.writeVarInt(parameters.length + 1);
+            for (Object parameter : parameters) {
+                encoder.writeNullableString(null == parameter ? null : String.valueOf(parameter));
+            }
+        }
+        encoder.writeVarInt(thrownRef);
+        if (0 != thrownRef) {
+            encoder.writeNullableString(thrown.getMessage());
+            encoder.writeVarInt(causeRefs.length);
+            for (int causeRef : causeRefs) {
+                encoder.writeVarInt(causeRef);
+            }
+        }
+    }
+
+    /**
+     * @return id + 1 of the given value, 0 for {@code null}. Adds the value to the
+     *         dictionary and writes its definition if not already present.
+     */
+    private int reference(String value) {
+        if (null == value) {
+            return 0;
+        }
+        return define(value) + 1;
+    }
+
+    /**
+     * @return id + 2 of the given message, 0 for {@code null} and 1 if the message
+     *         has to be written inline because the dictionary is full.
+     */
+    private int messageReference(String message) {
+        if (null == message) {
+            return 0;
+        }
+        var id = dictionary.get(message);
+        if (null == id && dictionary.size() >= MAX_DICTIONARY_SIZE) {
+            return 1;
+        }
+        return define(message) + 2;
+    }
+
+    private int define(String value) {
+        var id = dictionary.get(value);
+        if (null == id) {
+            id = dictionary.size();
+            dictionary.put(value, id);
+            encoder.writeByte(TAG_DEFINE);
+            encoder.writeString(value);
+        }
+        return id;
+    }
+
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Growable byte buffer the single record is encoded into before being
+     * transferred into the write buffer.
+     */
+    private static final class Encoder {
+
+        byte[] buffer = new byte[256];
+
+        int length;
+
+        void reset() {
+            length = 0;
+        }
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[length++] = (byte) value;
+        }
+
+        void writeVarInt(int value) {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            var remaining = value;
+            while ((remaining & ~0x7FL) != 0) {
+                buffer[length++] = (byte) ((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            buffer[length++] = (byte) remaining;
+        }
+
+        void writeString(String value) {
+            var encoded = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(encoded.length);
+            ensureCapacity(encoded.length);
+            System.arraycopy(encoded, 0, buffer, length, encoded.length);
+            length += encoded.length;
+        }
+
+        void writeNullableString(String value) {
+            if (null == value) {
+                writeVarInt(0);
+                return;
+            }
+            var encoded = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(encoded.length + 1);
+            ensureCapacity(encoded.length);
+            System.arraycopy(encoded, 0, buffer, length, encoded.length);
+            length += encoded.length;
+        }
+
+        private void ensureCapacity(int additional) {
+            if (length + additional > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + additional));
+            }
+        }
+    }
+
+    /**
+     * The records spilled at the time of {@link SpillFile#snapshot()}, see there.
+     * The segments are read as they are, records appended afterwards are ignored.
+     */
+    final class Snapshot implements Closeable {
+
+        private final List<Path> segments;
+
+        private final Map<String, Class<?>> thrownClasses;
+
+        /** The number of records spilled at the time of the snapshot */
+        @Getter
+        private final int size;
+
+        private boolean released;
+
+        private Snapshot(List<Path> segments, Map<String, Class<?>> thrownClasses, int size) {
+            this.segments = segments;
+            this.thrownClasses = thrownClasses;
+            this.size = size;
+        }
+
+        /**
+         * Decodes the records of the snapshot in the order they were appended.
+         *
+         * @param consumer receiving the decoded records, must not be null
+         * @throws IOException if reading fails
+         */
+        void forEach(Consumer<LogRecord> consumer) throws IOException {
+            forEachSequenced((logRecord, captureSequence) -> consumer.accept(logRecord));
+        }
+
+        /**
+         * Decodes the records of the snapshot in the order they were appended.
+         *
+         * @param consumer receiving the decoded records and their capture
+         *                 sequence, must not be null
+         * @throws IOException if reading fails
+         */
+        void forEachSequenced(ObjLongConsumer<LogRecord> consumer) throws IOException {
+            if (0 != size) {
+                decode(segments, new Decoder(thrownClasses, size), consumer);
+            }
+        }
+
+        /**
+         * Releases the segments, deleting those already cleared.
+         */
+        @Override
+        public void close() throws IOException {
+            if (!released) {
+                released = true;
+                release(segments);
+            }
+        }
+    }
+
+    /**
+     * Decodes the segments in order, the dictionary and the delta state spanning
+     * across segments. Stops after the given number of records, so segments still
+     * being appended to can be read.
+     */
+    private static final class Decoder {
+
+        private final List<String> strings = new ArrayList<>();
+
+        private final Map<String, Class<?>> thrownClasses;
+
+        private int remaining;
+
+        private long previousMillis;
+
+        private long previousSequence;
+
+        Decoder(Map<String, Class<?>> thrownClasses, int limit) {
+            this.thrownClasses = thrownClasses;
+            remaining = limit;
+        }
+
+        void decode(ByteBuffer buffer, ObjLongConsumer<LogRecord> consumer) throws IOException {
+            for (byte expected : MAGIC) {
+                if (!buffer.hasRemaining() || buffer.get() != expected) {
+                    throw new IOException("Not a spill segment");
+                }
+            }
+            while (buffer.hasRemaining() && remaining > 0) {
+                var tag = buffer.get();
+                switch (tag) {
+                case TAG_DEFINE -> strings.add(readString(buffer));
+                case TAG_RECORD -> {
+                    remaining--;
+                    var logRecord = readRecord(buffer);
+                    consumer.accept(logRecord, previousSequence);
+                }
+                default -> throw new IOException("Corrupt spill segment, unknown tag " + tag);
+                }
+            }
+        }
+
+        private LogRecord readRecord(ByteBuffer buffer) {
+            var levelName = resolve(readVarInt(buffer));
+            var levelValue = (int) unZigZag(readVarLong(buffer));
+            var loggerName = resolve(readVarInt(buffer));
+            var messageRef = readVarInt(buffer);
+            String message = switch (messageRef) {
+            case 0 -> null;
+            case 1 -> readString(buffer);
+            default -> strings.get(messageRef - 2);
+            };
+            var logRecord = new LogRecord(toLevel(levelName, levelValue), message);
+            logRecord.setLoggerName(loggerName);
+            logRecord.setSequenceNumber(readVarLong(buffer));
+            previousSequence += unZigZag(readVarLong(buffer));
+            var millis = previousMillis + unZigZag(readVarLong(buffer));
+            previousMillis = millis;
+            logRecord.setInstant(Instant.ofEpochMilli(millis).plusNanos(readVarInt(buffer)));
+            logRecord.setLongThreadID(readVarLong(buffer));
+            logRecord.setSourceClassName(resolve(readVarInt(buffer)));
+            logRecord.setSourceMethodName(resolve(readVarInt(buffer)));
+            var parameterCount = readVarInt(buffer);
+            if (0 != parameterCount) {
+                var parameters = new Object[parameterCount - 1];
+                for (var i = 0; i < parameters.length; i++) {
+                    parameters[i] = readNullableString(buffer);
+                }
+                logRecord.setParameters(parameters);
+            }
+            var thrownClassName = resolve(readVarInt(buffer));
+            if (null != thrownClassName) {
+                var thrownMessage = readNullableString(buffer);
+                List<Class<?>> causeChain = new ArrayList<>();
+                addThrownClass(causeChain, thrownClassName);
+                var causeCount = readVarInt(buffer);
+                for (var i = 0; i < causeCount; i++) {
+                    addThrownClass(causeChain, resolve(readVarInt(buffer)));
+                }
+                logRecord.setThrown(
+                        new ThrowableSummary(thrownClassName, thrownMessage, causeChain.toArray(new Class<?>[0])));
+            }
+            return logRecord;
+        }
+
+        private void addThrownClass(List<Class<?>> causeChain, String className) {
+            var type = thrownClasses.get(className);
+            if (null != type) {
+                causeChain.add(type);
+            }
+        }
+
+        private String resolve(int reference) {
+            return 0 == reference ? null : strings.get(reference - 1);
+        }
+
+        private static Level toLevel(String name, int value) {
+            if (null == name) {
+                return null;
+            }
+            try {
+                var level = Level.parse(name);
+                if (level.intValue() == value) {
+                    return level;
+                }
+            } catch (IllegalArgumentException e) {
+                // Custom level not known by name, fall through to the numeric value
+            }
+            return Level.parse(String.valueOf(value));
+        }
+
+        private static int readVarInt(ByteBuffer buffer) {
+            return (int) readVarLong(buffer);
+        }
+
+        private static long readVarLong(ByteBuffer buffer) {
+            long result = 0;
+            var shift = 0;
+            byte current;
+            do {
+                current = buffer.get();
+                result |= (long) (current & 0x7F) << shift;
+                shift += 7;
+            } while ((current & 0x80) != 0);
+            return result;
+        }
+
+        private static String readString(ByteBuffer buffer) {
+            return readBytes(buffer, readVarInt(buffer));
+        }
+
+        private static String readNullableString(ByteBuffer buffer) {
+            var length = readVarInt(buffer);
+            return 0 == length ? null : readBytes(buffer, length - 1);
+        }
+
+        private static String readBytes(ByteBuffer buffer, int length) {
+            var bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
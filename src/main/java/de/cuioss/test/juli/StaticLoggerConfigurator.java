@@ -15,17 +15,33 @@
  */
 package de.cuioss.test.juli;
 
+import static de.cuioss.test.juli.ConfigurationKeys.CONFIGURATION_KEY_COLLAPSE_REPEATED;
+import static de.cuioss.test.juli.ConfigurationKeys.CONFIGURATION_KEY_EXPORT_BUFFER;
+import static de.cuioss.test.juli.ConfigurationKeys.CONFIGURATION_KEY_EXPORT_DIRECTORY;
+import static de.cuioss.test.juli.ConfigurationKeys.CONFIGURATION_KEY_EXPORT_FAILED_ONLY;
+import static de.cuioss.test.juli.ConfigurationKeys.CONFIGURATION_KEY_EXPORT_MODE;
+import static de.cuioss.test.juli.ConfigurationKeys.CONFIGURATION_KEY_PARAMETER_RETENTION;
+import static de.cuioss.test.juli.ConfigurationKeys.CONFIGURATION_KEY_RECORD_CALL_SITES;
 import static de.cuioss.test.juli.ConfigurationKeys.CONFIGURATION_KEY_ROOT_LOG_LEVEL;
+import static de.cuioss.test.juli.ConfigurationKeys.CONFIGURATION_KEY_SPILL_DIRECTORY;
+import static de.cuioss.test.juli.ConfigurationKeys.CONFIGURATION_KEY_SPILL_THRESHOLD;
+import static de.cuioss.test.juli.ConfigurationKeys.CONFIGURATION_KEY_SUBSCRIBER_BUFFER;
+import static de.cuioss.test.juli.ConfigurationKeys.CONFIGURATION_KEY_SUBSCRIBER_OVERFLOW;
+import static de.cuioss.test.juli.ConfigurationKeys.CONFIGURATION_KEY_THROWABLE_RETENTION;
 import static de.cuioss.test.juli.ConfigurationKeys.LOGGER_PREFIX;
 import static de.cuioss.tools.string.MoreStrings.isEmpty;
 import static de.cuioss.tools.string.MoreStrings.nullToEmpty;
 
+import java.nio.file.Path;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Wraps the configuration / property management of the static resources, from
@@ -98,6 +114,171 @@ final class StaticLoggerConfigurator {
         return TestLogLevel.getLevelOrDefault(configured, TestLogLevel.INFO);
     }
 
+    /**
+     * @return the configured spill threshold, see
+     *         {@link ConfigurationKeys#CONFIGURATION_KEY_SPILL_THRESHOLD}, if
+     *         present and a valid non-negative number, otherwise
+     *         {@link Optional#empty()}
+     */
+    Optional<Integer> getSpillThreshold() {
+        return getNonNegativeIntProperty(CONFIGURATION_KEY_SPILL_THRESHOLD);
+    }
+
+    /**
+     * @return the configured spill directory, see
+     *         {@link ConfigurationKeys#CONFIGURATION_KEY_SPILL_DIRECTORY}, defaults
+     *         to "java.io.tmpdir"
+     */
+    Path getSpillDirectory() {
+        return Path.of(getStringProperty(CONFIGURATION_KEY_SPILL_DIRECTORY)
+                .orElseGet(() -> System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * @return the configured export directory, see
+     *         {@link ConfigurationKeys#CONFIGURATION_KEY_EXPORT_DIRECTORY}, if
+     *         present, otherwise {@link Optional#empty()}
+     */
+    Optional<Path> getExportDirectory() {
+        return getStringProperty(CONFIGURATION_KEY_EXPORT_DIRECTORY).filter(value -> !isEmpty(value.trim()))
+                .map(value -> Path.of(value.trim()));
+    }
+
+    /**
+     * @return {@code true} if
+     *         {@link ConfigurationKeys#CONFIGURATION_KEY_EXPORT_MODE} is set to
+     *         "rolling"
+     */
+    boolean isExportRolling() {
+        return getStringProperty(CONFIGURATION_KEY_EXPORT_MODE).map(String::trim)
+                .filter(JsonLinesExporter.MODE_ROLLING::equalsIgnoreCase).isPresent();
+    }
+
+    /**
+     * @return the configured export buffer, see
+     *         {@link ConfigurationKeys#CONFIGURATION_KEY_EXPORT_BUFFER}, defaults
+     *         to {@link JsonLinesExporter#DEFAULT_CAPACITY}
+     */
+    int getExportBuffer() {
+        return getNonNegativeIntProperty(CONFIGURATION_KEY_EXPORT_BUFFER).orElse(JsonLinesExporter.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @return {@code true} if only the records of failed tests are to be exported,
+     *         see {@link ConfigurationKeys#CONFIGURATION_KEY_EXPORT_FAILED_ONLY}
+     */
+    boolean isExportFailedOnly() {
+        return getBooleanProperty(CONFIGURATION_KEY_EXPORT_FAILED_ONLY).orElse(false);
+    }
+
+    /**
+     * @return {@code true} if call sites are to be recorded, see
+     *         {@link ConfigurationKeys#CONFIGURATION_KEY_RECORD_CALL_SITES}
+     */
+    boolean isRecordCallSites() {
+        return getBooleanProperty(CONFIGURATION_KEY_RECORD_CALL_SITES).orElse(false);
+    }
+
+    /**
+     * @return {@code true} if repeated records are to be collapsed, see
+     *         {@link ConfigurationKeys#CONFIGURATION_KEY_COLLAPSE_REPEATED}
+     */
+    boolean isCollapseRepeated() {
+        return getBooleanProperty(CONFIGURATION_KEY_COLLAPSE_REPEATED).orElse(false);
+    }
+
+    /**
+     * @return the configured {@link ThrowableRetention} per level, see
+     *         {@link ConfigurationKeys#CONFIGURATION_KEY_THROWABLE_RETENTION}.
+     *         Invalid entries are ignored, empty if not set.
+     */
+    Map<TestLogLevel, ThrowableRetention> getThrowableRetention() {
+        Map<TestLogLevel, ThrowableRetention> result = new EnumMap<>(TestLogLevel.class);
+        var configured = getStringProperty(CONFIGURATION_KEY_THROWABLE_RETENTION).orElse("");
+        for (String entry : configured.split(",")) {
+            if (isEmpty(entry.trim())) {
+                continue;
+            }
+            var separator = entry.indexOf('=');
+            try {
+                if (-1 == separator) {
+                    var retention = ThrowableRetention.valueOf(entry.trim().toUpperCase());
+                    for (TestLogLevel level : TestLogLevel.values()) {
+                        result.put(level, retention);
+                    }
+                } else {
+                    result.put(TestLogLevel.valueOf(entry.substring(0, separator).trim().toUpperCase()),
+                            ThrowableRetention.valueOf(entry.substring(separator + 1).trim().toUpperCase()));
+                }
+            } catch (IllegalArgumentException e) {
+                Logger.getLogger(StaticLoggerConfigurator.class.getName()).log(Level.FINE,
+                        "Invalid value for " + CONFIGURATION_KEY_THROWABLE_RETENTION + ": " + entry, e);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the configured {@link ParameterRetention}, see
+     *         {@link ConfigurationKeys#CONFIGURATION_KEY_PARAMETER_RETENTION}, if
+     *         present and valid, otherwise {@link Optional#empty()}
+     */
+    Optional<ParameterRetention> getParameterRetention() {
+        var configured = getStringProperty(CONFIGURATION_KEY_PARAMETER_RETENTION).map(String::trim)
+                .filter(value -> !isEmpty(value));
+        try {
+            return configured.map(value -> ParameterRetention.valueOf(value.toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            Logger.getLogger(StaticLoggerConfigurator.class.getName()).log(Level.FINE,
+                    "Invalid value for " + CONFIGURATION_KEY_PARAMETER_RETENTION + ": " + configured.get(), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @return the configured subscriber buffer, see
+     *         {@link ConfigurationKeys#CONFIGURATION_KEY_SUBSCRIBER_BUFFER}, if
+     *         present and a valid positive number, otherwise
+     *         {@link Optional#empty()}
+     */
+    Optional<Integer> getSubscriberBuffer() {
+        return getNonNegativeIntProperty(CONFIGURATION_KEY_SUBSCRIBER_BUFFER).filter(value -> value > 0);
+    }
+
+    /**
+     * @return the configured {@link OverflowPolicy}, see
+     *         {@link ConfigurationKeys#CONFIGURATION_KEY_SUBSCRIBER_OVERFLOW}, if
+     *         present and valid, otherwise {@link Optional#empty()}
+     */
+    Optional<OverflowPolicy> getSubscriberOverflow() {
+        var configured = getStringProperty(CONFIGURATION_KEY_SUBSCRIBER_OVERFLOW).map(String::trim)
+                .filter(value -> !isEmpty(value));
+        try {
+            return configured.map(value -> OverflowPolicy.valueOf(value.toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            Logger.getLogger(StaticLoggerConfigurator.class.getName()).log(Level.FINE,
+                    "Invalid value for " + CONFIGURATION_KEY_SUBSCRIBER_OVERFLOW + ": " + configured.get(), e);
+            return Optional.empty();
+        }
+    }
+
+    private Optional<Integer> getNonNegativeIntProperty(String name) {
+        var configured = getStringProperty(name);
+        if (configured.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            var value = Integer.parseInt(configured.get().trim());
+            if (value >= 0) {
+                return Optional.of(value);
+            }
+        } catch (NumberFormatException e) {
+            Logger.getLogger(StaticLoggerConfigurator.class.getName()).log(Level.FINE,
+                    "Invalid value for " + name + ": " + configured.get(), e);
+        }
+        return Optional.empty();
+    }
+
     static boolean startsWith(Object toBeChecked, String search) {
         if (null == toBeChecked) {
             return false;
@@ -0,0 +1,120 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded dictionary assigning dense int ids to strings, so that records
+ * repeating the same logger name or message template share a single
+ * {@link String} instance and can be compared by id. Interning is not
+ * thread-safe, callers need to synchronize. {@link #lookup(String)} may run
+ * concurrently to interning, e.g. by scans of a {@link RecordStore#snapshot()}.
+ *
+ * @author Oliver Wolff
+ *
+ */
+final class StringDictionary {
+
+    /**
+     * The id of values that are {@code null} or not interned because the
+     * dictionary is full. Those need to be compared by value.
+     */
+    static final int NOT_INTERNED = -1;
+
+    /** The default maximum number of entries */
+    static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private final int capacity;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+    private final List<String> values = new ArrayList<>();
+
+    StringDictionary() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity the maximum number of entries, further values are not
+     *                 interned
+     */
+    StringDictionary(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * @param value to be interned, may be null
+     * @return the id of the given value, adding it if not already present, or
+     *         {@link #NOT_INTERNED} if the value is {@code null} or the dictionary
+     *         is full
+     */
+    int intern(String value) {
+        if (null == value) {
+            return NOT_INTERNED;
+        }
+        var id = ids.get(value);
+        if (null != id) {
+            return id;
+        }
+        if (values.size() >= capacity) {
+            return NOT_INTERNED;
+        }
+        id = values.size();
+        ids.put(value, id);
+        values.add(value);
+        return id;
+    }
+
+    /**
+     * @param value to be looked up, may be null
+     * @return the id of the given value if already present, otherwise
+     *         {@link #NOT_INTERNED}
+     */
+    int lookup(String value) {
+        if (null == value) {
+            return NOT_INTERNED;
+        }
+        var id = ids.get(value);
+        return null == id ? NOT_INTERNED : id;
+    }
+
+    /**
+     * @param id a valid id, as returned by {@link #intern(String)}
+     * @return the canonical instance of the value with the given id
+     */
+    String get(int id) {
+        return values.get(id);
+    }
+
+    /**
+     * @return the number of interned values
+     */
+    int size() {
+        return values.size();
+    }
+
+    /**
+     * Removes all values, previously returned ids become invalid.
+     */
+    void clear() {
+        ids.clear();
+        values.clear();
+    }
+}
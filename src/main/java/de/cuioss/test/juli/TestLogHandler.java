@@ -18,19 +18,49 @@ package de.cuioss.test.juli;
 import static de.cuioss.tools.string.MoreStrings.isEmpty;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.logging.ErrorManager;
 import java.util.logging.Handler;
+import java.util.logging.Level;
 import java.util.logging.LogRecord;
 
 
+import lombok.AccessLevel;
 import lombok.Getter;
 
 /**
- * Handler for storing and querying {@link LogRecord}s
+ * Handler for storing and querying {@link LogRecord}s. By default all records
+ * are kept on heap, see {@link #spillToDisk(int, Path)} for captures exceeding
+ * the heap budget of a test.
  *
  * @author Oliver Wolff
  *
@@ -47,8 +77,113 @@ public class TestLogHandler extends Handler {
 
     private static final String THROWABLE_MUST_NOT_BE_NULL = "Throwable must not be null";
 
-    @Getter
-    private final List<LogRecord> records = Collections.synchronizedList(new ArrayList<>());
+    private static final String CHECKPOINT_MUST_NOT_BE_NULL = "Checkpoint must not be null";
+
+    private static final String THREAD_NAME_MUST_NOT_BE_NULL = "ThreadName must not be null";
+
+    private static final String BUFFER_CAPACITY_MUST_BE_POSITIVE = "BufferCapacity must be positive";
+
+    private static final String OVERFLOW_POLICY_MUST_NOT_BE_NULL = "OverflowPolicy must not be null";
+
+    private static final Predicate<LogRecord> ANY = logRecord -> true;
+
+    /** The maximum number of memoized query results */
+    static final int MEMOIZED_QUERIES = 64;
+
+    /** Guards all mutable state of this handler */
+    private final Object lock = new Object();
+
+    /** The records kept on heap, replaced by {@link #clearRecords()}, guarded by {@link #lock} */
+    private RecordStore store = new RecordStore();
+
+    private final List<LogRecord> recordView = new RecordView();
+
+    @Getter(AccessLevel.PACKAGE)
+    private final CaptureStatistics statistics = new CaptureStatistics();
+
+    /** Guarded by {@link #lock}, {@code null} unless spilling is enabled */
+    private SpillFile spillFile;
+
+    private int spillThreshold;
+
+    /** Guarded by {@link #lock}, levels not contained keep the full throwable */
+    private final Map<TestLogLevel, ThrowableRetention> throwableRetention = new EnumMap<>(TestLogLevel.class);
+
+    /** Guarded by {@link #lock} */
+    private ParameterRetention parameterRetention = ParameterRetention.KEEP;
+
+    /** Guarded by {@link #lock} */
+    private final CallSiteTable callSites = new CallSiteTable();
+
+    /** Guarded by {@link #lock} */
+    private boolean callSiteRecording;
+
+    /** Guarded by {@link #lock} */
+    private final ThreadTable threads = new ThreadTable();
+
+    /** Guarded by {@link #lock} */
+    private boolean collapseRepeated;
+
+    /** The capture sequence per checkpoint name, guarded by {@link #lock} */
+    private final Map<String, Long> checkpoints = new HashMap<>();
+
+    private final RecordPublisher recordPublisher = new RecordPublisher();
+
+    /** Guarded by {@link #lock} */
+    private int subscriberBufferCapacity = Flow.defaultBufferSize();
+
+    /** Guarded by {@link #lock} */
+    private OverflowPolicy subscriberOverflowPolicy = OverflowPolicy.DROP_OLDEST;
+
+    /** The pending awaits with their queries, guarded by {@link #lock} */
+    private final Map<CompletableFuture<LogRecord>, Predicate<LogRecord>> waiters = new LinkedHashMap<>();
+
+    /** The query results in access order, guarded by {@link #lock} */
+    private final Map<QueryKey, MemoizedResult> memoizedResults = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** The window the queries of the current thread are restricted to, see {@link #within} */
+    private final ThreadLocal<Window> window = ThreadLocal.withInitial(() -> Window.UNBOUNDED);
+
+    /**
+     * Registers the dictionaries of the store at the {@link CaptureStatistics}.
+     */
+    public TestLogHandler() {
+        statistics.registerIndex("loggerDictionary", () -> {
+            synchronized (lock) {
+                return store.loggerDictionarySize();
+            }
+        });
+        statistics.registerIndex("messageDictionary", () -> {
+            synchronized (lock) {
+                return store.messageDictionarySize();
+            }
+        });
+        statistics.registerIndex("identifierIndex", () -> {
+            synchronized (lock) {
+                return store.identifierIndexSize();
+            }
+        });
+        statistics.registerIndex("causeChainTable", () -> {
+            synchronized (lock) {
+                return store.causeChainTableSize();
+            }
+        });
+        statistics.registerIndex("callSiteTable", () -> {
+            synchronized (lock) {
+                return callSites.size();
+            }
+        });
+        statistics.registerIndex("threadTable", () -> {
+            synchronized (lock) {
+                return threads.size();
+            }
+        });
+        statistics.registerIndex("queryMemo", () -> {
+            synchronized (lock) {
+                return memoizedResults.size();
+            }
+        });
+    }
 
     @Override
     public void publish(LogRecord logRecord) {
@@ -56,18 +191,473 @@ public class TestLogHandler extends Handler {
         if (logRecord == null) {
             return;
         }
-        records.add(logRecord);
+        var event = new LogPublishEvent();
+        event.begin();
+        // The record is shared with the other handlers, retention applies to a copy
+        var stored = logRecord;
+        List<Map.Entry<CompletableFuture<LogRecord>, Predicate<LogRecord>>> pendingWaiters = List.of();
+        synchronized (lock) {
+            if (null != logRecord.getThrown() && !throwableRetention.isEmpty()) {
+                var retained = getThrowableRetention(logRecord.getLevel()).retain(logRecord.getThrown());
+                if (retained != logRecord.getThrown()) {
+                    stored = copyOf(logRecord, !callSiteRecording);
+                    stored.setThrown(retained);
+                }
+            }
+            if (ParameterRetention.KEEP != parameterRetention && null != logRecord.getParameters()) {
+                if (stored == logRecord) {
+                    stored = copyOf(logRecord, !callSiteRecording);
+                }
+                stored.setParameters(parameterRetention.retain(logRecord.getParameters()));
+            }
+            var callSite = CallSiteTable.NO_CALL_SITE;
+            if (callSiteRecording) {
+                if (stored == logRecord) {
+                    stored = copyOf(logRecord, false);
+                }
+                callSite = callSites.record(stored);
+            }
+            var thread = threads.record(stored);
+            if (collapseRepeated && (null == spillFile || 0 == spillFile.getSize())
+                    && store.collapse(stored, callSite, thread)) {
+                statistics.recordCollapsed(stored);
+            } else if (null == spillFile || store.entries() < spillThreshold || !spill(stored)) {
+                threads.index(thread, store.entries());
+                statistics.recordPublished(stored, store.add(stored, callSite, thread));
+            }
+            if (!waiters.isEmpty()) {
+                waiters.keySet().removeIf(CompletableFuture::isDone);
+                pendingWaiters = new ArrayList<>(waiters.entrySet());
+            }
+            if (recordPublisher.hasSubscribers()) {
+                var dropped = recordPublisher.offer(stored);
+                if (0 != dropped) {
+                    statistics.recordSubscriberDropped(dropped);
+                }
+            }
+        }
+        notifyWaiters(stored, pendingWaiters);
+        if (event.shouldCommit()) {
+            event.level = String.valueOf(logRecord.getLevel());
+            event.logger = logRecord.getLoggerName();
+            event.capturedRecords = size();
+            event.commit();
+        }
+    }
+
+    /**
+     * Tests the given waiters without holding {@link #lock}: Their queries are
+     * supplied by the caller and may log themselves. Completed waiters are
+     * removed on the next publish or by
+     * {@link #await(Predicate, Duration, Supplier)}.
+     */
+    private static void notifyWaiters(LogRecord logRecord,
+            List<Map.Entry<CompletableFuture<LogRecord>, Predicate<LogRecord>>> pendingWaiters) {
+        for (Map.Entry<CompletableFuture<LogRecord>, Predicate<LogRecord>> waiter : pendingWaiters) {
+            if (waiter.getKey().isDone()) {
+                continue;
+            }
+            try {
+                if (waiter.getValue().test(logRecord)) {
+                    waiter.getKey().complete(logRecord);
+                }
+            } catch (RuntimeException e) {
+                waiter.getKey().completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} if the record has been spilled, {@code false} if
+     *         spilling failed and the record needs to be kept on heap
+     */
+    private boolean spill(LogRecord logRecord) {
+        try {
+            statistics.recordSpilled(logRecord, spillFile.append(logRecord, store.reserveSequence()));
+            return true;
+        } catch (IOException e) {
+            reportError("Unable to spill record, keeping it on heap", e, ErrorManager.WRITE_FAILURE);
+            return false;
+        }
+    }
+
+    /**
+     * Enables spilling: Once the given number of records is captured, further
+     * records are no longer kept on heap but appended to files within a new
+     * directory below the given one. The spilled records are transparently
+     * included in all queries, but decoded as new instances: Their parameters are
+     * represented by their {@link String#valueOf(Object)} and a thrown
+     * {@link Throwable} by a stand-in carrying the original class name, message
+     * and cause classes. Therefore, queries for a concrete {@link Throwable}
+     * instance match spilled records by class and message. The files are deleted by {@link #clearRecords()} and
+     * {@link #close()}.
+     *
+     * @param threshold the number of records kept on heap, must not be negative
+     * @param directory the parent of the spill directory, must not be null
+     * @throws UncheckedIOException if the spill directory can not be created
+     */
+    public void spillToDisk(int threshold, Path directory) {
+        assertTrue(threshold >= 0, "Threshold must not be negative");
+        assertNotNull(directory, "Directory must not be null");
+        synchronized (lock) {
+            assertNull(spillFile, "Spilling is already enabled");
+            try {
+                spillFile = new SpillFile(directory, SpillFile.DEFAULT_SEGMENT_SIZE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to create spill directory within " + directory, e);
+            }
+            spillThreshold = threshold;
+        }
+    }
+
+    /**
+     * Defines how much of a thrown {@link Throwable} is kept for records of the
+     * given level that are published afterwards. Records whose level does not map
+     * to a {@link TestLogLevel} use the policy of {@link TestLogLevel#INFO}, see
+     * {@link TestLogLevel#parse(Level)}. The policy applies to a copy of the
+     * published record, other handlers still receive the original throwable.
+     *
+     * @param level     the level to be configured, must not be null
+     * @param retention the policy to be applied, must not be null
+     */
+    public void setThrowableRetention(TestLogLevel level, ThrowableRetention retention) {
+        assertNotNull(level, TEST_LOG_LEVEL_MUST_NOT_BE_NULL);
+        assertNotNull(retention, "Retention must not be null");
+        synchronized (lock) {
+            throwableRetention.put(level, retention);
+        }
+    }
+
+    /**
+     * Applies the given policy to all levels, see
+     * {@link #setThrowableRetention(TestLogLevel, ThrowableRetention)}.
+     *
+     * @param retention the policy to be applied, must not be null
+     */
+    public void setThrowableRetention(ThrowableRetention retention) {
+        for (TestLogLevel level : TestLogLevel.values()) {
+            setThrowableRetention(level, retention);
+        }
+    }
+
+    /**
+     * @param level to be looked up, must not be null
+     * @return the policy applied to records of the given level, defaults to
+     *         {@link ThrowableRetention#FULL}
+     */
+    public ThrowableRetention getThrowableRetention(TestLogLevel level) {
+        assertNotNull(level, TEST_LOG_LEVEL_MUST_NOT_BE_NULL);
+        synchronized (lock) {
+            return throwableRetention.getOrDefault(level, ThrowableRetention.FULL);
+        }
+    }
+
+    /**
+     * Defines how the parameters of records published afterwards are kept. The
+     * policy applies to a copy of the published record, other handlers still
+     * receive the original parameters.
+     *
+     * @param retention the policy to be applied, must not be null
+     */
+    public void setParameterRetention(ParameterRetention retention) {
+        assertNotNull(retention, "Retention must not be null");
+        synchronized (lock) {
+            parameterRetention = retention;
+        }
+    }
+
+    /**
+     * @return the policy applied to the parameters of published records, defaults
+     *         to {@link ParameterRetention#KEEP}
+     */
+    public ParameterRetention getParameterRetention() {
+        synchronized (lock) {
+            return parameterRetention;
+        }
+    }
+
+    /**
+     * Enables or disables the recording of call sites for records published
+     * afterwards. {@link LogRecord#getSourceClassName()} otherwise infers the
+     * caller lazily from the stack of the thread calling it, which is wrong once
+     * the record is queried from the test. If enabled, the call site is determined
+     * at publish time by a {@link StackWalker} limited to
+     * {@value CallSiteTable#MAX_DEPTH} frames, skipping the frames of
+     * {@code java.util.logging} and common logging facades, and set as source
+     * class and method of a copy of the record, replacing explicitly given ones.
+     * The published record is left untouched for the other handlers. See
+     * {@link #resolveLogMessagesFromCallSite(TestLogLevel, String, String)} and
+     * {@link #getCallSiteVolume()}.
+     *
+     * @param enabled whether call sites are recorded
+     */
+    public void setCallSiteRecording(boolean enabled) {
+        synchronized (lock) {
+            callSiteRecording = enabled;
+        }
+    }
+
+    /**
+     * @return whether call sites are recorded, defaults to {@code false}
+     */
+    public boolean isCallSiteRecording() {
+        synchronized (lock) {
+            return callSiteRecording;
+        }
+    }
+
+    /**
+     * Live view on the records published from now on, e.g. for custom verifiers,
+     * streaming exporters or progress monitors. Each subscriber receives the
+     * records as requested, by a daemon thread. Records published while a
+     * subscriber has not requested or consumed them are buffered per subscriber,
+     * up to {@link #getSubscriberBufferCapacity()} records, beyond that the
+     * {@link #getSubscriberOverflowPolicy()} applies, as determined at subscribe
+     * time. {@link #publish(LogRecord)} never waits for a subscriber. The
+     * subscriptions are completed by {@link #close()}.
+     *
+     * @return a publisher of the records published to this handler
+     */
+    public Flow.Publisher<LogRecord> publisher() {
+        return subscriber -> {
+            int capacity;
+            OverflowPolicy policy;
+            synchronized (lock) {
+                capacity = subscriberBufferCapacity;
+                policy = subscriberOverflowPolicy;
+            }
+            recordPublisher.subscribe(subscriber, capacity, policy);
+        };
+    }
+
+    /**
+     * Variant of {@link #publisher()} with explicit buffering.
+     *
+     * @param bufferCapacity the maximum number of records buffered per
+     *                       subscriber, must be positive
+     * @param policy         applied once the buffer of a subscriber is full, must
+     *                       not be null
+     * @return a publisher of the records published to this handler
+     */
+    public Flow.Publisher<LogRecord> publisher(int bufferCapacity, OverflowPolicy policy) {
+        assertTrue(bufferCapacity > 0, BUFFER_CAPACITY_MUST_BE_POSITIVE);
+        assertNotNull(policy, OVERFLOW_POLICY_MUST_NOT_BE_NULL);
+        return subscriber -> recordPublisher.subscribe(subscriber, bufferCapacity, policy);
+    }
+
+    /**
+     * @param bufferCapacity the maximum number of records buffered per subscriber
+     *                       of {@link #publisher()}, must be positive
+     */
+    public void setSubscriberBufferCapacity(int bufferCapacity) {
+        assertTrue(bufferCapacity > 0, BUFFER_CAPACITY_MUST_BE_POSITIVE);
+        synchronized (lock) {
+            subscriberBufferCapacity = bufferCapacity;
+        }
+    }
+
+    /**
+     * @return the maximum number of records buffered per subscriber of
+     *         {@link #publisher()}, defaults to
+     *         {@link Flow#defaultBufferSize()}
+     */
+    public int getSubscriberBufferCapacity() {
+        synchronized (lock) {
+            return subscriberBufferCapacity;
+        }
+    }
+
+    /**
+     * @param policy applied once the buffer of a subscriber of
+     *               {@link #publisher()} is full, must not be null
+     */
+    public void setSubscriberOverflowPolicy(OverflowPolicy policy) {
+        assertNotNull(policy, OVERFLOW_POLICY_MUST_NOT_BE_NULL);
+        synchronized (lock) {
+            subscriberOverflowPolicy = policy;
+        }
+    }
+
+    /**
+     * @return the policy applied once the buffer of a subscriber of
+     *         {@link #publisher()} is full, defaults to
+     *         {@link OverflowPolicy#DROP_OLDEST}
+     */
+    public OverflowPolicy getSubscriberOverflowPolicy() {
+        synchronized (lock) {
+            return subscriberOverflowPolicy;
+        }
+    }
+
+    /**
+     * Enables or disables collapsing of repeated records published afterwards, as
+     * caused by retry or polling loops: A record with the same level, logger,
+     * message, parameters, call site and thrown types as the preceding one is not
+     * stored but counted as repeat of it, keeping the timestamp of the last
+     * repeat. Queries and {@link #getRecords()} return the preceding record once
+     * per repeat, so counting assertions are not affected.
+     * {@link #getRecordsAsString()} renders such a record once, followed by the
+     * number of occurrences as "xN". Records
+     * are not collapsed once spilling to disk has started.
+     *
+     * @param enabled whether repeated records are collapsed
+     */
+    public void setCollapseRepeated(boolean enabled) {
+        synchronized (lock) {
+            collapseRepeated = enabled;
+        }
+    }
 
+    /**
+     * @return whether repeated records are collapsed, defaults to {@code false}
+     */
+    public boolean isCollapseRepeated() {
+        synchronized (lock) {
+            return collapseRepeated;
+        }
     }
 
+    /**
+     * @return the number of records published per call site since the last
+     *         {@link #clearRecords()}, rendered as
+     *         "className#methodName:lineNumber", most frequent first. Empty unless
+     *         {@link #setCallSiteRecording(boolean)} is enabled
+     */
+    public Map<String, Long> getCallSiteVolume() {
+        synchronized (lock) {
+            return Collections.unmodifiableMap(callSites.volume());
+        }
+    }
+
+    private ThrowableRetention getThrowableRetention(Level level) {
+        if (null == level) {
+            return ThrowableRetention.FULL;
+        }
+        return throwableRetention.getOrDefault(TestLogLevel.parse(level), ThrowableRetention.FULL);
+    }
+
+    /**
+     * Deletes spilled records, if any, and disables spilling. Records captured
+     * afterwards are kept on heap.
+     */
     @Override
     public void close() {
-        // There is no need to close
+        recordPublisher.close();
+        synchronized (lock) {
+            if (null != spillFile) {
+                try {
+                    spillFile.close();
+                } catch (IOException e) {
+                    reportError("Unable to delete spilled records", e, ErrorManager.CLOSE_FAILURE);
+                }
+                spillFile = null;
+            }
+        }
     }
 
+    /**
+     * Writes pending spilled records to disk, there is no need to flush otherwise.
+     */
     @Override
     public void flush() {
-        // There is no need to flush
+        synchronized (lock) {
+            if (null != spillFile) {
+                try {
+                    spillFile.flush();
+                } catch (IOException e) {
+                    reportError("Unable to flush spilled records", e, ErrorManager.FLUSH_FAILURE);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the captured records. As long as no record has been spilled to disk,
+     *         see {@link #spillToDisk(int, Path)}, this is an unmodifiable live
+     *         view on the records, otherwise an unmodifiable copy including the
+     *         records decoded from disk.
+     */
+    public List<LogRecord> getRecords() {
+        synchronized (lock) {
+            if (null == spillFile || 0 == spillFile.getSize()) {
+                return recordView;
+            }
+            return Collections.unmodifiableList(snapshot());
+        }
+    }
+
+    /**
+     * @return a mutable copy of the captured records, including spilled ones, that
+     *         is not affected by further publishing or clearing
+     */
+    List<LogRecord> snapshot() {
+        RecordStore onHeap;
+        SpillFile.Snapshot spilled;
+        synchronized (lock) {
+            onHeap = store.snapshot();
+            spilled = snapshotSpilled();
+        }
+        List<LogRecord> all = new ArrayList<>(onHeap.size() + (null == spilled ? 0 : spilled.getSize()));
+        onHeap.forEachEntry((logRecord, count) -> all.addAll(Collections.nCopies(count, logRecord)));
+        decode(spilled, (logRecord, captureSequence) -> all.add(logRecord));
+        return all;
+    }
+
+    /**
+     * @return the captured records, not affected by further publishing or
+     *         clearing. Spilled records are not decoded before being passed, so
+     *         the result must be closed once no longer needed.
+     * @throws UncheckedIOException if pending spilled records can not be written
+     */
+    CapturedRecords captureRecords() {
+        synchronized (lock) {
+            return new CapturedRecords(store.snapshot(), snapshotSpilled(), threads.names());
+        }
+    }
+
+    /**
+     * To be called while holding {@link #lock}, the snapshot is decoded without
+     * it by {@link #decode(SpillFile.Snapshot, ObjLongConsumer)}.
+     *
+     * @return the snapshot of the spilled records, {@code null} if there are none
+     * @throws UncheckedIOException if pending spilled records can not be written
+     */
+    private SpillFile.Snapshot snapshotSpilled() {
+        if (null == spillFile || 0 == spillFile.getSize()) {
+            return null;
+        }
+        try {
+            return spillFile.snapshot();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to flush spilled records", e);
+        }
+    }
+
+    /**
+     * Decodes the given snapshot, without holding {@link #lock}, and releases it.
+     *
+     * @param spilled  see {@link #snapshotSpilled()}, may be null
+     * @param consumer receiving the decoded records and their capture sequence
+     * @throws UncheckedIOException if reading fails
+     */
+    private static void decode(SpillFile.Snapshot spilled, ObjLongConsumer<LogRecord> consumer) {
+        if (null == spilled) {
+            return;
+        }
+        try (spilled) {
+            spilled.forEachSequenced(consumer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read spilled records", e);
+        }
+    }
+
+    /**
+     * @return the number of captured records, including spilled ones
+     */
+    int size() {
+        synchronized (lock) {
+            return store.size() + (null == spillFile ? 0 : spillFile.getSize());
+        }
     }
 
     /**
@@ -78,8 +668,11 @@ public class TestLogHandler extends Handler {
      */
     public List<LogRecord> resolveLogMessages(TestLogLevel level, String message,
             Class<? extends Throwable> throwableClass) {
+        assertNotNull(level, TEST_LOG_LEVEL_MUST_NOT_BE_NULL);
+        assertNotNull(message, MESSAGE_MUST_NOT_BE_NULL);
         assertNotNull(throwableClass, THROWABLE_CLASS_MUST_NOT_BE_NULL);
-        return resolveLogMessages(level, message).stream().filter(r -> logRecordContains(r, throwableClass)).toList();
+        return resolve("resolveLogMessages", Arrays.asList(level, message, throwableClass), level, null, message, null,
+                thrownOfType(throwableClass, false, false), ANY);
     }
 
     /**
@@ -89,8 +682,10 @@ public class TestLogHandler extends Handler {
      * @return a {@link List} of found {@link LogRecord}s
      */
     public List<LogRecord> resolveLogMessages(TestLogLevel level, String message, Throwable throwable) {
+        assertNotNull(level, TEST_LOG_LEVEL_MUST_NOT_BE_NULL);
+        assertNotNull(message, MESSAGE_MUST_NOT_BE_NULL);
         assertNotNull(throwable, THROWABLE_MUST_NOT_BE_NULL);
-        return resolveLogMessages(level, message).stream().filter(r -> logRecordContains(r, throwable)).toList();
+        return resolve("resolveLogMessages", null, level, null, message, null, r -> logRecordContains(r, throwable));
     }
 
     /**
@@ -99,8 +694,9 @@ public class TestLogHandler extends Handler {
      * @return a {@link List} of found {@link LogRecord}s
      */
     public List<LogRecord> resolveLogMessages(TestLogLevel level, String message) {
+        assertNotNull(level, TEST_LOG_LEVEL_MUST_NOT_BE_NULL);
         assertNotNull(message, MESSAGE_MUST_NOT_BE_NULL);
-        return resolveLogMessages(level).stream().filter(r -> message.equals(r.getMessage())).toList();
+        return resolve("resolveLogMessages", Arrays.asList(level, message), level, null, message, null, ANY);
     }
 
     /**
@@ -109,7 +705,8 @@ public class TestLogHandler extends Handler {
      */
     public List<LogRecord> resolveLogMessagesForLogger(String logger) {
         assertFalse(isEmpty(logger), LOGGER_MUST_NOT_BE_NULL);
-        return records.stream().filter(r -> logger.equalsIgnoreCase(r.getLoggerName())).toList();
+        return resolve("resolveLogMessagesForLogger", Arrays.asList(null, RecordStore.foldCase(logger)), null, logger,
+                null, null, ANY);
     }
 
     /**
@@ -119,8 +716,9 @@ public class TestLogHandler extends Handler {
      */
     public List<LogRecord> resolveLogMessagesForLogger(TestLogLevel level, String logger) {
         assertNotNull(level, TEST_LOG_LEVEL_MUST_NOT_BE_NULL);
-        return resolveLogMessagesForLogger(logger).stream().filter(r -> level.getJuliLevel().equals(r.getLevel()))
-                .toList();
+        assertFalse(isEmpty(logger), LOGGER_MUST_NOT_BE_NULL);
+        return resolve("resolveLogMessagesForLogger", Arrays.asList(level, RecordStore.foldCase(logger)), level, logger,
+                null, null, ANY);
     }
 
     /**
@@ -152,8 +750,10 @@ public class TestLogHandler extends Handler {
      * @return a {@link List} of found {@link LogRecord}s
      */
     public List<LogRecord> resolveLogMessagesContaining(TestLogLevel level, String messagePart) {
+        assertNotNull(level, TEST_LOG_LEVEL_MUST_NOT_BE_NULL);
         assertNotNull(messagePart, MESSAGE_MUST_NOT_BE_NULL);
-        return resolveLogMessages(level).stream().filter(r -> logRecordContains(r, messagePart)).toList();
+        return resolve("resolveLogMessagesContaining", Arrays.asList(level, messagePart), level, null, null, null,
+                r -> logRecordContains(r, messagePart));
     }
 
     /**
@@ -166,9 +766,11 @@ public class TestLogHandler extends Handler {
      * @return a {@link List} of found {@link LogRecord}s
      */
     public List<LogRecord> resolveLogMessagesContaining(TestLogLevel level, String messagePart, Throwable throwable) {
+        assertNotNull(level, TEST_LOG_LEVEL_MUST_NOT_BE_NULL);
+        assertNotNull(messagePart, MESSAGE_MUST_NOT_BE_NULL);
         assertNotNull(throwable, THROWABLE_MUST_NOT_BE_NULL);
-        return resolveLogMessagesContaining(level, messagePart).stream().filter(r -> logRecordContains(r, throwable))
-                .toList();
+        return resolve("resolveLogMessagesContaining", null, level, null, null, null,
+                r -> logRecordContains(r, messagePart) && logRecordContains(r, throwable));
     }
 
     /**
@@ -182,9 +784,67 @@ public class TestLogHandler extends Handler {
      */
     public List<LogRecord> resolveLogMessagesContaining(TestLogLevel level, String messagePart,
             Class<? extends Throwable> throwableClass) {
+        assertNotNull(level, TEST_LOG_LEVEL_MUST_NOT_BE_NULL);
+        assertNotNull(messagePart, MESSAGE_MUST_NOT_BE_NULL);
+        assertNotNull(throwableClass, THROWABLE_CLASS_MUST_NOT_BE_NULL);
+        return resolve("resolveLogMessagesContaining", Arrays.asList(level, messagePart, throwableClass), level, null,
+                null, null, thrownOfType(throwableClass, false, false), r -> logRecordContains(r, messagePart));
+    }
+
+    /**
+     * Compared to
+     * {@link #resolveLogMessages(TestLogLevel, String, Class)} the thrown
+     * {@link Throwable} matches if it is an instance of the given type, i.e. of
+     * the type itself or any subtype.
+     *
+     * @param level          to be checked for message, must not be null
+     * @param throwableClass the type the thrown must be an instance of, must not
+     *                       be null
+     * @return a {@link List} of found {@link LogRecord}s
+     */
+    public List<LogRecord> resolveLogMessagesWithThrowable(TestLogLevel level,
+            Class<? extends Throwable> throwableClass) {
+        assertNotNull(level, TEST_LOG_LEVEL_MUST_NOT_BE_NULL);
+        assertNotNull(throwableClass, THROWABLE_CLASS_MUST_NOT_BE_NULL);
+        return resolve("resolveLogMessagesWithThrowable", Arrays.asList(level, throwableClass), level, null, null, null,
+                thrownOfType(throwableClass, true, false), ANY);
+    }
+
+    /**
+     * Matches records whose thrown {@link Throwable} or any of its causes is an
+     * instance of the given type, e.g. an exception wrapped into a
+     * {@link java.util.concurrent.CompletionException}. The cause chains are
+     * computed once per record at capture time.
+     *
+     * @param level          to be checked for message, must not be null
+     * @param throwableClass the type the thrown or one of its causes must be an
+     *                       instance of, must not be null
+     * @return a {@link List} of found {@link LogRecord}s
+     */
+    public List<LogRecord> resolveLogMessagesCausedBy(TestLogLevel level, Class<? extends Throwable> throwableClass) {
+        assertNotNull(level, TEST_LOG_LEVEL_MUST_NOT_BE_NULL);
+        assertNotNull(throwableClass, THROWABLE_CLASS_MUST_NOT_BE_NULL);
+        return resolve("resolveLogMessagesCausedBy", Arrays.asList(level, throwableClass), level, null, null, null,
+                thrownOfType(throwableClass, true, true), ANY);
+    }
+
+    /**
+     * Variant of {@link #resolveLogMessagesCausedBy(TestLogLevel, Class)}
+     * additionally matching the message exactly.
+     *
+     * @param level          to be checked for message, must not be null
+     * @param message        to be checked, must not be null
+     * @param throwableClass the type the thrown or one of its causes must be an
+     *                       instance of, must not be null
+     * @return a {@link List} of found {@link LogRecord}s
+     */
+    public List<LogRecord> resolveLogMessagesCausedBy(TestLogLevel level, String message,
+            Class<? extends Throwable> throwableClass) {
+        assertNotNull(level, TEST_LOG_LEVEL_MUST_NOT_BE_NULL);
+        assertNotNull(message, MESSAGE_MUST_NOT_BE_NULL);
         assertNotNull(throwableClass, THROWABLE_CLASS_MUST_NOT_BE_NULL);
-        return resolveLogMessagesContaining(level, messagePart).stream()
-                .filter(r -> logRecordContains(r, throwableClass)).toList();
+        return resolve("resolveLogMessagesCausedBy", Arrays.asList(level, message, throwableClass), level, null,
+                message, null, thrownOfType(throwableClass, true, true), ANY);
     }
 
     /**
@@ -193,16 +853,683 @@ public class TestLogHandler extends Handler {
      */
     public List<LogRecord> resolveLogMessages(TestLogLevel level) {
         assertNotNull(level, TEST_LOG_LEVEL_MUST_NOT_BE_NULL);
-        synchronized (records) {
-            return records.stream().filter(r -> logRecordContains(r, level)).toList();
+        return resolve("resolveLogMessages", Arrays.asList(level), level, null, null, null, ANY);
+    }
+
+    /**
+     * Matches the formatted message, i.e. the message with its parameters applied
+     * the way {@link java.util.logging.Formatter#formatMessage(LogRecord)} does.
+     * Each record is formatted at most once, on first demand.
+     *
+     * @param level   to be checked for message, must not be null
+     * @param message the formatted message to be checked, must not be null
+     * @return a {@link List} of found {@link LogRecord}s
+     */
+    public List<LogRecord> resolveLogMessagesFormatted(TestLogLevel level, String message) {
+        assertNotNull(level, TEST_LOG_LEVEL_MUST_NOT_BE_NULL);
+        assertNotNull(message, MESSAGE_MUST_NOT_BE_NULL);
+        return resolve("resolveLogMessagesFormatted", Arrays.asList(level, message), level, null, null, message::equals,
+                ANY);
+    }
+
+    /**
+     * Compared to {@link #resolveLogMessagesFormatted(TestLogLevel, String)} this
+     * method checks whether the given text is contained within the formatted
+     * message.
+     *
+     * @param level       to be checked for message, must not be null
+     * @param messagePart to be checked, must not be null
+     * @return a {@link List} of found {@link LogRecord}s
+     */
+    public List<LogRecord> resolveLogMessagesFormattedContaining(TestLogLevel level, String messagePart) {
+        assertNotNull(level, TEST_LOG_LEVEL_MUST_NOT_BE_NULL);
+        assertNotNull(messagePart, MESSAGE_MUST_NOT_BE_NULL);
+        return resolve("resolveLogMessagesFormattedContaining", Arrays.asList(level, messagePart), level, null, null,
+                formatted -> formatted.contains(messagePart), ANY);
+    }
+
+    /**
+     * Matches the unformatted message template and a single parameter, without
+     * formatting the message. A parameter is considered equal if it equals the
+     * expected value or if their {@link String#valueOf(Object)} representations
+     * are equal, the latter being the case for spilled records.
+     *
+     * @param level    to be checked for message, must not be null
+     * @param template the message template to be checked exactly, must not be null
+     * @param index    the zero-based index of the parameter, must not be negative
+     * @param expected the expected value of the parameter, may be null
+     * @return a {@link List} of found {@link LogRecord}s
+     */
+    public List<LogRecord> resolveLogMessagesWithParameter(TestLogLevel level, String template, int index,
+            Object expected) {
+        assertNotNull(level, TEST_LOG_LEVEL_MUST_NOT_BE_NULL);
+        assertNotNull(template, MESSAGE_MUST_NOT_BE_NULL);
+        assertTrue(index >= 0, "Index must not be negative");
+        return resolve("resolveLogMessagesWithParameter", null, level, null, template, null,
+                r -> null != r.getParameters() && r.getParameters().length > index
+                        && parameterEquals(r.getParameters()[index], expected));
+    }
+
+    /**
+     * Matches the unformatted message template and all parameters, without
+     * formatting the message. Parameters are compared like
+     * {@link #resolveLogMessagesWithParameter(TestLogLevel, String, int, Object)}
+     * does.
+     *
+     * @param level      to be checked for message, must not be null
+     * @param template   the message template to be checked exactly, must not be
+     *                   null
+     * @param parameters the expected parameters, must not be null
+     * @return a {@link List} of found {@link LogRecord}s
+     */
+    public List<LogRecord> resolveLogMessagesWithParameters(TestLogLevel level, String template,
+            Object... parameters) {
+        assertNotNull(level, TEST_LOG_LEVEL_MUST_NOT_BE_NULL);
+        assertNotNull(template, MESSAGE_MUST_NOT_BE_NULL);
+        assertNotNull(parameters, "Parameters must not be null");
+        return resolve("resolveLogMessagesWithParameters", null, level, null, template, null,
+                r -> parametersEqual(r.getParameters(), parameters));
+    }
+
+    /**
+     * Resolves the records whose complete unformatted message matches the given
+     * regular expression, see {@link java.util.regex.Matcher#matches()}. Compiled
+     * patterns are cached. A literal part derived from the expression is checked
+     * before running it, and the expression runs once per distinct message, not
+     * per record.
+     *
+     * @param level to be checked for message, must not be null
+     * @param regex the regular expression to be matched, must not be null
+     * @return a {@link List} of found {@link LogRecord}s
+     * @throws java.util.regex.PatternSyntaxException if the expression is invalid
+     */
+    public List<LogRecord> resolveLogMessagesMatching(TestLogLevel level, String regex) {
+        assertNotNull(level, TEST_LOG_LEVEL_MUST_NOT_BE_NULL);
+        assertNotNull(regex, "Regex must not be null");
+        var pattern = MessagePattern.compile(regex);
+        return resolve("resolveLogMessagesMatching", Arrays.asList(level, regex), level, null,
+                snapshot -> consumer -> snapshot.scanMessages(level.getJuliLevel(), pattern::matches, ANY, consumer),
+                r -> logRecordContains(r, level) && pattern.matches(r.getMessage()));
+    }
+
+    /**
+     * Resolves the records whose message starts with the given identifier, as
+     * logged by {@code de.cuioss.tools.logging.LogRecord} definitions, e.g.
+     * "PORTAL-123: Some message". The records on heap are looked up by an index
+     * built at capture time, without scanning unrelated records.
+     *
+     * @param level      to be checked for message, must not be null
+     * @param identifier the identifier to be checked exactly, e.g. "PORTAL-123",
+     *                   must not be null
+     * @return a {@link List} of found {@link LogRecord}s
+     */
+    public List<LogRecord> resolveLogMessagesWithIdentifier(TestLogLevel level, String identifier) {
+        assertNotNull(level, TEST_LOG_LEVEL_MUST_NOT_BE_NULL);
+        assertNotNull(identifier, "Identifier must not be null");
+        return resolve("resolveLogMessagesWithIdentifier", Arrays.asList(level, identifier), level, null,
+                snapshot -> {
+                    var entries = snapshot.identifierEntries(identifier);
+                    if (null == entries) {
+                        return consumer -> snapshot.scan(level.getJuliLevel(), null, null, null, null, Long.MIN_VALUE,
+                                Long.MAX_VALUE, r -> identifier.equals(IdentifierIndex.parse(r.getMessage())),
+                                consumer);
+                    }
+                    return consumer -> snapshot.scanEntries(entries, level.getJuliLevel(), ANY, consumer);
+                },
+                r -> logRecordContains(r, level) && identifier.equals(IdentifierIndex.parse(r.getMessage())));
+    }
+
+    /**
+     * Resolves the records published from the given source class and method, see
+     * {@link #setCallSiteRecording(boolean)}. The records on heap are matched by
+     * their call site id, records captured while call site recording was disabled
+     * are not matched.
+     *
+     * @param level       to be checked for message, must not be null
+     * @param sourceClass the fully qualified name of the calling class, must not
+     *                    be null
+     * @param method      the name of the calling method, matches all methods if
+     *                    null
+     * @return a {@link List} of found {@link LogRecord}s
+     */
+    public List<LogRecord> resolveLogMessagesFromCallSite(TestLogLevel level, String sourceClass, String method) {
+        assertNotNull(level, TEST_LOG_LEVEL_MUST_NOT_BE_NULL);
+        assertNotNull(sourceClass, "SourceClass must not be null");
+        return resolve("resolveLogMessagesFromCallSite", Arrays.asList(level, sourceClass, method), level, null,
+                snapshot -> {
+                    var matching = callSites.matching(sourceClass, method);
+                    return consumer -> snapshot.scanCallSites(level.getJuliLevel(), matching, ANY, consumer);
+                },
+                r -> logRecordContains(r, level) && sourceClass.equals(r.getSourceClassName())
+                        && (null == method || method.equals(r.getSourceMethodName())));
+    }
+
+    /**
+     * @param level       to be checked for message, must not be null
+     * @param sourceClass the calling class, must not be null
+     * @param method      the name of the calling method, matches all methods if
+     *                    null
+     * @return a {@link List} of found {@link LogRecord}s
+     * @see #resolveLogMessagesFromCallSite(TestLogLevel, String, String)
+     */
+    public List<LogRecord> resolveLogMessagesFromCallSite(TestLogLevel level, Class<?> sourceClass, String method) {
+        assertNotNull(sourceClass, "SourceClass must not be null");
+        return resolveLogMessagesFromCallSite(level, sourceClass.getName(), method);
+    }
+
+    /**
+     * Resolves the records published by threads with the given name. Each record
+     * is attributed to the thread publishing it, or, if the record has been
+     * created by a different thread, to the thread with its
+     * {@link LogRecord#getLongThreadID()} seen before. The records on heap are
+     * resolved by an index per thread, without scanning unrelated records.
+     *
+     * @param level      to be checked for message, must not be null
+     * @param threadName the name of the thread at publish time, must not be null
+     * @return a {@link List} of found {@link LogRecord}s
+     */
+    public List<LogRecord> resolveLogMessagesFromThread(TestLogLevel level, String threadName) {
+        assertNotNull(threadName, THREAD_NAME_MUST_NOT_BE_NULL);
+        return resolveFromThreads("resolveLogMessagesFromThread", Arrays.asList(level, threadName), level,
+                threadName::equals, false);
+    }
+
+    /**
+     * Variant of {@link #resolveLogMessagesFromThread(TestLogLevel, String)}
+     * matching all threads whose name starts with the given prefix, e.g. the
+     * workers of a pool named "pool-1-thread-".
+     *
+     * @param level      to be checked for message, must not be null
+     * @param namePrefix the prefix of the thread names, must not be null
+     * @return a {@link List} of found {@link LogRecord}s
+     */
+    public List<LogRecord> resolveLogMessagesFromThreadsStartingWith(TestLogLevel level, String namePrefix) {
+        assertNotNull(namePrefix, THREAD_NAME_MUST_NOT_BE_NULL);
+        return resolveFromThreads("resolveLogMessagesFromThreadsStartingWith", Arrays.asList(level, namePrefix), level,
+                name -> name.startsWith(namePrefix), false);
+    }
+
+    /**
+     * Variant of {@link #resolveLogMessagesFromThread(TestLogLevel, String)}
+     * matching all virtual threads.
+     *
+     * @param level to be checked for message, must not be null
+     * @return a {@link List} of found {@link LogRecord}s
+     */
+    public List<LogRecord> resolveLogMessagesFromVirtualThreads(TestLogLevel level) {
+        return resolveFromThreads("resolveLogMessagesFromVirtualThreads", Arrays.asList(level), level, name -> true,
+                true);
+    }
+
+    private List<LogRecord> resolveFromThreads(String query, List<Object> arguments, TestLogLevel level,
+            Predicate<String> threadName, boolean virtual) {
+        assertNotNull(level, TEST_LOG_LEVEL_MUST_NOT_BE_NULL);
+        return resolve(query, arguments, level, null,
+                snapshot -> {
+                    var entries = threads.entries(threadName, virtual);
+                    return consumer -> snapshot.scanEntries(entries, level.getJuliLevel(), ANY, consumer);
+                },
+                r -> {
+                    var name = threads.nameOf(r.getLongThreadID());
+                    return logRecordContains(r, level) && null != name && threadName.test(name)
+                            && (!virtual || threads.isVirtual(r.getLongThreadID()));
+                });
+    }
+
+    /**
+     * @return the number of records published per thread name since the last
+     *         {@link #clearRecords()}, most frequent first. Threads sharing a
+     *         name, e.g. unnamed virtual threads, are counted together.
+     */
+    public Map<String, Long> getThreadVolume() {
+        synchronized (lock) {
+            return Collections.unmodifiableMap(threads.volume());
+        }
+    }
+
+    /**
+     * Single scan over the captured records, shared by all
+     * {@code resolveLogMessages*} methods and reported as {@link LogQueryEvent}.
+     * The records on heap are scanned column-wise, see {@link RecordStore}, on a
+     * {@link RecordStore#snapshot()} without holding the lock, so queries do not
+     * block publishing threads.
+     *
+     * @param query     the name of the calling method
+     * @param arguments the normalized arguments of the query, its result is
+     *                  memoized by name and arguments, see
+     *                  {@link #resolve(String, List, TestLogLevel, String, HeapScan, Predicate)}.
+     *                  {@code null} if not to be memoized.
+     * @param level     the level to be matched, matches all if null
+     * @param logger    the logger name to be matched ignoring case, matches all
+     *                  if null
+     * @param message   the message to be matched exactly, matches all if null
+     * @param formatted to be applied to the formatted message, see
+     *                  {@link RecordStore#format(LogRecord)}, matches all if null
+     * @param filter    to be applied to each record matching level, logger and
+     *                  message
+     * @return a {@link List} of found {@link LogRecord}s
+     */
+    private List<LogRecord> resolve(String query, List<Object> arguments, TestLogLevel level, String logger,
+            String message, Predicate<String> formatted, Predicate<LogRecord> filter) {
+        return resolve(query, arguments, level, logger, message, formatted, null, filter);
+    }
+
+    /**
+     * Variant of {@link #resolve(String, List, TestLogLevel, String, String, Predicate, Predicate)}
+     * additionally matching the thrown {@link Throwable}.
+     *
+     * @param thrown to be applied to the cause chain of the thrown, see
+     *               {@link ThrownTypes#causeChainOf(Throwable)}, matches all if
+     *               null, records without thrown otherwise
+     */
+    private List<LogRecord> resolve(String query, List<Object> arguments, TestLogLevel level, String logger,
+            String message, Predicate<String> formatted, Predicate<Class<?>[]> thrown, Predicate<LogRecord> filter) {
+        return resolve(query, arguments, level, logger,
+                snapshot -> consumer -> snapshot.scan(null == level ? null : level.getJuliLevel(), logger, message,
+                        formatted, thrown, Long.MIN_VALUE, Long.MAX_VALUE, filter, consumer),
+                r -> (null == level || logRecordContains(r, level))
+                        && (null == logger || logger.equalsIgnoreCase(r.getLoggerName()))
+                        && (null == message || message.equals(r.getMessage()))
+                        && (null == formatted || matchesFormatted(r, formatted))
+                        && (null == thrown || null != r.getThrown()
+                                && thrown.test(ThrownTypes.causeChainOf(r.getThrown())))
+                        && filter.test(r));
+    }
+
+    /**
+     * Takes a snapshot of the records on heap restricted to the window of the
+     * current thread and prepares the heap scan while holding the lock, e.g. by
+     * looking up an index. Spilled records are read from disk while holding the
+     * lock as well. The heap scan then runs on the snapshot without the lock.
+     * <p>
+     * Results are memoized per query, arguments and window along with the capture
+     * sequence the snapshot ended at. Repeating the query only scans the records
+     * captured since, appending their matches to the memoized ones. The
+     * {@value #MEMOIZED_QUERIES} least recently used results are kept until
+     * {@link #clearRecords()}. While records are spilled, queries are not
+     * memoized.
+     *
+     * @param query         the name of the calling method
+     * @param arguments     the normalized arguments of the query, {@code null} if
+     *                      not to be memoized, e.g. because they are compared by
+     *                      an {@link Object#equals(Object)} that may change
+     * @param level         the queried level, used for reporting only
+     * @param logger        the queried logger name, used for reporting only
+     * @param heapScan      preparing the scan of the records on heap, see
+     *                      {@link HeapScan}
+     * @param spilledFilter to be applied to each spilled record
+     * @return a {@link List} of found {@link LogRecord}s
+     */
+    private List<LogRecord> resolve(String query, List<Object> arguments, TestLogLevel level, String logger,
+            HeapScan heapScan, Predicate<LogRecord> spilledFilter) {
+        var event = new LogQueryEvent();
+        event.begin();
+        List<LogRecord> memoized = List.of();
+        QueryKey key = null;
+        RecordStore epoch;
+        RecordStore snapshot;
+        SpillFile.Snapshot spilled;
+        long mark;
+        int scanned;
+        Consumer<Consumer<LogRecord>> scan;
+        synchronized (lock) {
+            scanned = size();
+            var current = window.get();
+            var from = current.from();
+            if (null != arguments && (null == spillFile || 0 == spillFile.getSize())) {
+                key = new QueryKey(query, arguments, current);
+                var memo = memoizedResults.get(key);
+                if (null != memo) {
+                    memoized = memo.records();
+                    from = Math.max(from, memo.mark());
+                    scanned = (int) Math.min(Integer.MAX_VALUE, store.nextSequence() - memo.mark());
+                }
+            }
+            epoch = store;
+            snapshot = store.snapshot();
+            snapshot.restrict(from, current.to(), current.fromNanos(), current.toNanos());
+            mark = snapshot.nextSequence();
+            scan = heapScan.prepare(snapshot);
+            spilled = snapshotSpilled();
+        }
+        List<LogRecord> result = new ArrayList<>(memoized);
+        scan.accept(result::add);
+        decode(spilled, (r, sequence) -> {
+            if (snapshot.inWindow(sequence, r) && spilledFilter.test(r)) {
+                result.add(r);
+            }
+        });
+        var records = Collections.unmodifiableList(result);
+        if (null != key) {
+            memoize(key, new MemoizedResult(records, mark), epoch);
+        }
+        if (event.shouldCommit()) {
+            event.query = query;
+            event.level = null == level ? null : level.name();
+            event.logger = logger;
+            event.recordsScanned = scanned;
+            event.resultSize = result.size();
+            event.commit();
+        }
+        return records;
+    }
+
+    /**
+     * Keeps the given result unless the records have been cleared meanwhile,
+     * evicting the least recently used one beyond {@link #MEMOIZED_QUERIES}.
+     *
+     * @param epoch the store the result has been computed on
+     */
+    private void memoize(QueryKey key, MemoizedResult result, RecordStore epoch) {
+        synchronized (lock) {
+            if (epoch != store) {
+                return;
+            }
+            memoizedResults.put(key, result);
+            if (memoizedResults.size() > MEMOIZED_QUERIES) {
+                memoizedResults.remove(memoizedResults.keySet().iterator().next());
+            }
+        }
+    }
+
+    /**
+     * Opens a {@link LogCapture} scope on this handler, see
+     * {@link LogCapture#open()}.
+     *
+     * @return the opened scope, to be closed once the block to be captured is done
+     */
+    public LogCapture openCapture() {
+        return new LogCapture(this, nextSequence());
+    }
+
+    /**
+     * Marks the current position within the captured records under the given
+     * name, replacing a previous checkpoint with the same name. Checkpoints are
+     * removed by {@link #clearRecords()}, i.e. between tests, ranges already
+     * obtained by {@link #since(String)} or {@link #between(String, String)} are
+     * not affected.
+     *
+     * @param name of the checkpoint, must not be null
+     */
+    public void checkpoint(String name) {
+        assertNotNull(name, CHECKPOINT_MUST_NOT_BE_NULL);
+        synchronized (lock) {
+            checkpoints.put(name, store.nextSequence());
+        }
+    }
+
+    /**
+     * @param checkpoint the name of a checkpoint, see {@link #checkpoint(String)},
+     *                   must not be null
+     * @return the records published since the given checkpoint, including those
+     *         published later on. The start of the range is located by binary
+     *         search, queries cost proportional to the range.
+     */
+    public LogCapture since(String checkpoint) {
+        return new LogCapture(this, checkpointSequence(checkpoint));
+    }
+
+    /**
+     * @param from the name of the checkpoint starting the range, must not be
+     *             null
+     * @param to   the name of the checkpoint ending the range, must not be null
+     * @return the records published between the given checkpoints
+     * @throws IllegalArgumentException if the checkpoint starting the range has
+     *                                  been taken after the one ending it
+     */
+    public LogCapture between(String from, String to) {
+        var fromSequence = checkpointSequence(from);
+        var toSequence = checkpointSequence(to);
+        if (fromSequence > toSequence) {
+            throw new IllegalArgumentException("Checkpoint " + from + " has been taken after " + to);
+        }
+        return new LogCapture(this, fromSequence, toSequence);
+    }
+
+    private long checkpointSequence(String checkpoint) {
+        assertNotNull(checkpoint, CHECKPOINT_MUST_NOT_BE_NULL);
+        synchronized (lock) {
+            var sequence = checkpoints.get(checkpoint);
+            assertNotNull(sequence, "Unknown checkpoint: " + checkpoint);
+            return sequence;
+        }
+    }
+
+    /**
+     * @return the capture sequence the next published record will be assigned
+     */
+    long nextSequence() {
+        synchronized (lock) {
+            return store.nextSequence();
+        }
+    }
+
+    /**
+     * @param from the inclusive lower bound of the timestamp, must not be null
+     * @param to   the inclusive upper bound of the timestamp, must not be null
+     * @return the records whose {@link LogRecord#getInstant()} is within the given
+     *         range, including late records published after younger ones. The
+     *         range is located by binary search over the timestamps in capture
+     *         order, queries cost proportional to the range.
+     */
+    public LogCapture during(Instant from, Instant to) {
+        assertNotNull(from, "From must not be null");
+        assertNotNull(to, "To must not be null");
+        return new LogCapture(this, Long.MIN_VALUE, Long.MAX_VALUE, RecordStore.epochNanos(from),
+                RecordStore.epochNanos(to));
+    }
+
+    /**
+     * @param level to be checked for message, must not be null
+     * @param from  the inclusive lower bound of the timestamp, must not be null
+     * @param to    the inclusive upper bound of the timestamp, must not be null
+     * @return a {@link List} of found {@link LogRecord}s, see
+     *         {@link #during(Instant, Instant)}
+     */
+    public List<LogRecord> resolveLogMessagesDuring(TestLogLevel level, Instant from, Instant to) {
+        return during(from, to).resolveLogMessages(level);
+    }
+
+    /**
+     * Runs the given query restricted to the records captured within the given
+     * window, intersected with the window of an enclosing call. The window is
+     * kept per thread, so the query does not hold the lock.
+     *
+     * @param from      the inclusive lower bound of the capture sequence
+     * @param to        the exclusive upper bound of the capture sequence
+     * @param fromNanos the inclusive lower bound of the timestamp in nanoseconds
+     *                  since epoch
+     * @param toNanos   the inclusive upper bound of the timestamp in nanoseconds
+     *                  since epoch
+     * @param query     to be run, must not be null
+     * @return the result of the query
+     */
+    <T> T within(long from, long to, long fromNanos, long toNanos, Supplier<T> query) {
+        var enclosing = window.get();
+        window.set(new Window(Math.max(from, enclosing.from()), Math.min(to, enclosing.to()),
+                Math.max(fromNanos, enclosing.fromNanos()), Math.min(toNanos, enclosing.toNanos())));
+        try {
+            return query.get();
+        } finally {
+            if (Window.UNBOUNDED == enclosing) {
+                window.remove();
+            } else {
+                window.set(enclosing);
+            }
+        }
+    }
+
+    /**
+     * @return all records, including spilled ones, restricted by
+     *         {@link #within(long, long, long, long, Supplier)}
+     */
+    List<LogRecord> resolveAll() {
+        return resolve("resolveAll", List.of(), null, null, null, null, ANY);
+    }
+
+    /**
+     * Waits for a record matching the given query to be published, e.g. by
+     * asynchronous code under test. Only records published after this call are
+     * checked. The query is registered at {@link #publish(LogRecord)}, which
+     * evaluates it against each record and wakes the waiting thread on the first
+     * match, so there is no polling. The query is evaluated by the publishing
+     * thread while holding the lock of this handler and should therefore be cheap.
+     *
+     * @param query   to be matched, must not be null
+     * @param timeout the maximum time to wait, must not be null
+     * @return the first matching record, or {@link Optional#empty()} if none has
+     *         been published within the timeout or the waiting thread has been
+     *         interrupted, the latter keeping the interrupt status
+     */
+    public Optional<LogRecord> awaitLogMessage(Predicate<LogRecord> query, Duration timeout) {
+        return await(query, timeout, Optional::empty);
+    }
+
+    /**
+     * @param level   to be checked for message, must not be null
+     * @param message to be checked, must not be null
+     * @param timeout the maximum time to wait, must not be null
+     * @return the first matching record published after this call, see
+     *         {@link #awaitLogMessage(Predicate, Duration)}
+     */
+    public Optional<LogRecord> awaitLogMessage(TestLogLevel level, String message, Duration timeout) {
+        assertNotNull(level, TEST_LOG_LEVEL_MUST_NOT_BE_NULL);
+        assertNotNull(message, MESSAGE_MUST_NOT_BE_NULL);
+        return awaitLogMessage(r -> logRecordContains(r, level) && message.equals(r.getMessage()), timeout);
+    }
+
+    /**
+     * @param level       to be checked for message, must not be null
+     * @param messagePart to be checked, must not be null
+     * @param timeout     the maximum time to wait, must not be null
+     * @return the first record containing the given message part published after
+     *         this call, see {@link #awaitLogMessage(Predicate, Duration)}
+     */
+    public Optional<LogRecord> awaitLogMessageContaining(TestLogLevel level, String messagePart, Duration timeout) {
+        assertNotNull(level, TEST_LOG_LEVEL_MUST_NOT_BE_NULL);
+        assertNotNull(messagePart, MESSAGE_MUST_NOT_BE_NULL);
+        return awaitLogMessage(r -> logRecordContains(r, level) && logRecordContains(r, messagePart), timeout);
+    }
+
+    /**
+     * @param query    to be matched by published records, must not be null
+     * @param timeout  the maximum time to wait, must not be null
+     * @param captured looks up a matching record among the captured ones. It is
+     *                 called after the query has been registered, so no record
+     *                 published in between is missed, but without holding the lock.
+     * @return the captured or first published matching record
+     */
+    Optional<LogRecord> await(Predicate<LogRecord> query, Duration timeout,
+            Supplier<Optional<LogRecord>> captured) {
+        assertNotNull(query, "Query must not be null");
+        assertNotNull(timeout, "Timeout must not be null");
+        var match = new CompletableFuture<LogRecord>();
+        synchronized (lock) {
+            waiters.put(match, query);
+        }
+        try {
+            var found = captured.get();
+            if (found.isPresent()) {
+                return found;
+            }
+            return Optional.of(match.get(toNanos(timeout), TimeUnit.NANOSECONDS));
+        } catch (TimeoutException e) {
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Query failed", e.getCause());
+        } finally {
+            synchronized (lock) {
+                waiters.remove(match);
+            }
+        }
+    }
+
+    private static long toNanos(Duration timeout) {
+        try {
+            return timeout.toNanos();
+        } catch (ArithmeticException e) {
+            return timeout.isNegative() ? Long.MIN_VALUE : Long.MAX_VALUE;
         }
     }
 
     /**
-     * Clears the contained records
+     * Clears the contained records, including spilled ones, and the checkpoints.
+     * The records on heap are dropped by starting a new {@link RecordStore} epoch
+     * in constant time, queries running concurrently complete on their snapshot.
      */
     public void clearRecords() {
-        records.clear();
+        synchronized (lock) {
+            statistics.recordCleared(size());
+            store = store.nextEpoch();
+            memoizedResults.clear();
+            checkpoints.clear();
+            callSites.clear();
+            threads.clear();
+            if (null != spillFile) {
+                try {
+                    spillFile.clear();
+                } catch (IOException e) {
+                    reportError("Unable to delete spilled records", e, ErrorManager.GENERIC_FAILURE);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param logRecord  to be copied, must not be null
+     * @param withSource whether to copy the source class and method, which are
+     *                   inferred from the current stack if not set, so the copy
+     *                   must be created while publishing. Otherwise they are to
+     *                   be set by {@link CallSiteTable#record(LogRecord)}.
+     * @return a new record with the attributes of the given one
+     */
+    private static LogRecord copyOf(LogRecord logRecord, boolean withSource) {
+        var copy = new LogRecord(logRecord.getLevel(), logRecord.getMessage());
+        copy.setLoggerName(logRecord.getLoggerName());
+        copy.setResourceBundle(logRecord.getResourceBundle());
+        copy.setResourceBundleName(logRecord.getResourceBundleName());
+        copy.setSequenceNumber(logRecord.getSequenceNumber());
+        copy.setInstant(logRecord.getInstant());
+        copy.setLongThreadID(logRecord.getLongThreadID());
+        if (withSource) {
+            copy.setSourceClassName(logRecord.getSourceClassName());
+            copy.setSourceMethodName(logRecord.getSourceMethodName());
+        }
+        copy.setParameters(logRecord.getParameters());
+        copy.setThrown(logRecord.getThrown());
+        return copy;
+    }
+
+    private static boolean matchesFormatted(LogRecord logRecord, Predicate<String> formatted) {
+        var formattedMessage = RecordStore.format(logRecord);
+        return null != formattedMessage && formatted.test(formattedMessage);
+    }
+
+    private static boolean parametersEqual(Object[] actual, Object[] expected) {
+        var actualLength = null == actual ? 0 : actual.length;
+        if (actualLength != expected.length) {
+            return false;
+        }
+        for (var i = 0; i < actualLength; i++) {
+            if (!parameterEquals(actual[i], expected[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean parameterEquals(Object actual, Object expected) {
+        if (actual instanceof WeakParameter weak) {
+            var referenced = weak.get();
+            return null != referenced && parameterEquals(referenced, expected);
+        }
+        return Objects.equals(actual, expected) || String.valueOf(actual).equals(String.valueOf(expected));
     }
 
     private static boolean logRecordContains(LogRecord logRecord, String messagePart) {
@@ -210,13 +1537,16 @@ public class TestLogHandler extends Handler {
         return null != msg && msg.contains(messagePart);
     }
 
-    private static boolean logRecordContains(LogRecord logRecord, Class<? extends Throwable> throwableClass) {
-        var thrown = logRecord.getThrown();
-        return null != thrown && thrown.getClass().equals(throwableClass);
+    private static Predicate<Class<?>[]> thrownOfType(Class<? extends Throwable> throwableClass, boolean assignable,
+            boolean causes) {
+        return causeChain -> ThrownTypes.matches(causeChain, throwableClass, assignable, causes);
     }
 
     private static boolean logRecordContains(LogRecord logRecord, Throwable throwable) {
         var thrown = logRecord.getThrown();
+        if (thrown instanceof ThrowableSummary summary && !(throwable instanceof ThrowableSummary)) {
+            return summary.summarizes(throwable);
+        }
         return null != thrown && thrown.equals(throwable);
     }
 
@@ -227,24 +1557,36 @@ public class TestLogHandler extends Handler {
 
     @Override
     public String toString() {
-        return getClass().getName() + " with " + getRecords().size() + " entries";
+        return getClass().getName() + " with " + size() + " entries";
     }
 
     /**
-     * @return String representation of the records within this handler.
+     * @return String representation of the records within this handler, collapsed
+     *         repeats rendered as "xN", see {@link #setCollapseRepeated(boolean)}
      */
     public String getRecordsAsString() {
-        if (records.isEmpty()) {
+        List<Map.Entry<LogRecord, Integer>> all = new ArrayList<>();
+        RecordStore snapshot;
+        SpillFile.Snapshot spilled;
+        synchronized (lock) {
+            snapshot = store.snapshot();
+            spilled = snapshotSpilled();
+        }
+        snapshot.forEachEntry((logRecord, count) -> all.add(Map.entry(logRecord, count)));
+        decode(spilled, (logRecord, captureSequence) -> all.add(Map.entry(logRecord, 1)));
+        if (all.isEmpty()) {
             return "No log messages available";
         }
-        List<LogRecord> all = new ArrayList<>(records);
 
-        all.sort(Comparator.comparing(l -> l.getLevel().intValue()));
+        all.sort(Comparator.comparing(entry -> entry.getKey().getLevel().intValue()));
 
         List<String> elements = new ArrayList<>();
 
-        all.forEach(
-                l -> elements.add(TestLogLevel.parse(l.getLevel()) + ": " + l.getLoggerName() + "-" + l.getMessage()));
+        all.forEach(entry -> {
+            var l = entry.getKey();
+            elements.add(TestLogLevel.parse(l.getLevel()) + ": " + l.getLoggerName() + "-" + l.getMessage()
+                    + (entry.getValue() > 1 ? " x" + entry.getValue() : ""));
+        });
         var builder = new StringBuilder();
         builder.append("Available Messages:");
         for (String element : elements) {
@@ -252,4 +1594,64 @@ public class TestLogHandler extends Handler {
         }
         return builder.toString();
     }
+
+    /**
+     * Prepares the scan of the records on heap for
+     * {@link TestLogHandler#resolve(String, List, TestLogLevel, String, HeapScan, Predicate)}.
+     */
+    @FunctionalInterface
+    private interface HeapScan {
+
+        /**
+         * @param snapshot to be scanned, see {@link RecordStore#snapshot()}
+         * @return passing the matching records of the given snapshot to the given
+         *         consumer. Called without holding the lock, while this method is
+         *         called holding it, e.g. for looking up an index.
+         */
+        Consumer<Consumer<LogRecord>> prepare(RecordStore snapshot);
+    }
+
+    /**
+     * Window of capture sequences and timestamps, see
+     * {@link RecordStore#restrict(long, long, long, long)}
+     */
+    private record Window(long from, long to, long fromNanos, long toNanos) {
+
+        static final Window UNBOUNDED = new Window(Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Identifies a memoized query result by the name of the query, its normalized
+     * arguments and the window it has been run within
+     */
+    private record QueryKey(String query, List<Object> arguments, Window window) {
+    }
+
+    /**
+     * @param records the matching records captured before the mark
+     * @param mark    the capture sequence the snapshot of the query ended at
+     */
+    private record MemoizedResult(List<LogRecord> records, long mark) {
+    }
+
+    /**
+     * Unmodifiable live view on the records within {@link #store}
+     */
+    private final class RecordView extends AbstractList<LogRecord> implements RandomAccess {
+
+        @Override
+        public LogRecord get(int index) {
+            synchronized (lock) {
+                Objects.checkIndex(index, store.size());
+                return store.get(index);
+            }
+        }
+
+        @Override
+        public int size() {
+            synchronized (lock) {
+                return store.size();
+            }
+        }
+    }
 }
@@ -45,26 +45,81 @@ public class TestLoggerFactory {
 
     private static final ConsoleHandlerModifier CONSOLE_HANDLER = new ConsoleHandlerModifier();
 
+    /** {@code null} unless installed with "cui.logging.export_directory" configured */
+    private static JsonLinesExporter exporter;
+
     /**
-     * Adds a {@link TestLogHandler} instance to jul's root logger. This method is
+     * Adds a {@link TestLogHandler} instance to jul's root logger and registers its
+     * {@link CaptureStatisticsMXBean} at the platform MBeanServer. In case
+     * "cui.logging.spill_threshold" is configured, spilling to disk is enabled, see
+     * {@link TestLogHandler#spillToDisk(int, java.nio.file.Path)}. The
+     * {@link ThrowableRetention} and {@link ParameterRetention} are applied as
+     * configured by "cui.logging.throwable_retention" and
+     * "cui.logging.parameter_retention", call sites are recorded if
+     * "cui.logging.record_call_sites" is {@code true} and repeated records are
+     * collapsed if "cui.logging.collapse_repeated" is {@code true}. Subscribers
+     * of {@link TestLogHandler#publisher()} are buffered as configured by
+     * "cui.logging.subscriber_buffer" and "cui.logging.subscriber_overflow". In case
+     * "cui.logging.export_directory" is configured, an exporter for
+     * {@link #exportRecords(String, String, boolean)} is started. This method is
      * reentrant, it ensures the {@link TestLogHandler} is installed only once
      */
-    public static void install() {
+    public static synchronized void install() {
         if (getTestHandlerOption().isEmpty()) {
             CONSOLE_HANDLER.saveLevel();
-            getRootLogger().addHandler(new TestLogHandler());
+            var testLogHandler = new TestLogHandler();
+            configuration.getSpillThreshold().ifPresent(
+                    threshold -> testLogHandler.spillToDisk(threshold, configuration.getSpillDirectory()));
+            configuration.getThrowableRetention().forEach(testLogHandler::setThrowableRetention);
+            configuration.getParameterRetention().ifPresent(testLogHandler::setParameterRetention);
+            testLogHandler.setCallSiteRecording(configuration.isRecordCallSites());
+            testLogHandler.setCollapseRepeated(configuration.isCollapseRepeated());
+            configuration.getSubscriberBuffer().ifPresent(testLogHandler::setSubscriberBufferCapacity);
+            configuration.getSubscriberOverflow().ifPresent(testLogHandler::setSubscriberOverflowPolicy);
+            getRootLogger().addHandler(testLogHandler);
+            CaptureStatistics.register(testLogHandler.getStatistics());
+            exporter = configuration.getExportDirectory().map(directory -> new JsonLinesExporter(directory,
+                    configuration.isExportRolling(), configuration.getExportBuffer())).orElse(null);
         }
     }
 
     /**
-     * Removes previously installed {@link TestLogHandler} instance and restores the
-     * previously stored {@link ConsoleHandler#getLevel()}. See also
-     * {@link #install()}.
+     * Removes and closes previously installed {@link TestLogHandler} instance,
+     * unregisters its {@link CaptureStatisticsMXBean} and restores the previously stored
+     * {@link ConsoleHandler#getLevel()}. Waits for pending exports to be
+     * written. See also {@link #install()}.
      */
-    public static void uninstall() {
+    public static synchronized void uninstall() {
         CONSOLE_HANDLER.restoreLevel();
         var testHandlerOption = getTestHandlerOption();
-        testHandlerOption.ifPresent(testLogHandler -> getRootLogger().removeHandler(testLogHandler));
+        testHandlerOption.ifPresent(testLogHandler -> {
+            getRootLogger().removeHandler(testLogHandler);
+            testLogHandler.close();
+            CaptureStatistics.unregister();
+        });
+        if (null != exporter) {
+            exporter.close();
+            exporter = null;
+        }
+    }
+
+    /**
+     * Hands the records captured so far to the exporter, that resolves and
+     * writes them as JSON-lines in the background. Does nothing unless
+     * "cui.logging.export_directory" is configured, see {@link #install()}.
+     *
+     * @param testId uniquely identifying the test, must not be null
+     * @param name   of the test, used as file name in case of one file per test,
+     *               must not be null
+     * @param failed whether the test failed, in case of
+     *               "cui.logging.export_failed_only" only failed tests are
+     *               exported
+     */
+    public static synchronized void exportRecords(String testId, String name, boolean failed) {
+        if (null == exporter || !failed && configuration.isExportFailedOnly()) {
+            return;
+        }
+        getTestHandlerOption().ifPresent(handler -> exporter.export(testId, name, handler.captureRecords()));
     }
 
     /**
@@ -0,0 +1,239 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.logging.LogRecord;
+
+/**
+ * Attributes published records to the thread publishing them, see
+ * {@link TestLogHandler#resolveLogMessagesFromThread(TestLogLevel, String)}. Each
+ * thread is kept once, with its {@link LogRecord#getLongThreadID()}, its name
+ * interned by a {@link StringDictionary} and whether it is virtual, under a
+ * dense int id. A renamed thread is kept under a further id. Per id the
+ * ascending indexes of the entries of the {@link RecordStore} published by that
+ * thread are indexed, so queries by thread do not scan unrelated records. Not
+ * thread-safe, callers need to synchronize.
+ *
+ * @author Oliver Wolff
+ *
+ */
+final class ThreadTable {
+
+    /** The id of records whose publishing thread is unknown */
+    static final int NO_THREAD = -1;
+
+    private static final int INITIAL_POSTINGS = 8;
+
+    private final StringDictionary names = new StringDictionary();
+
+    /** Maps {@link LogRecord#getLongThreadID()} to the id of its latest entry */
+    private final Map<Long, Integer> ids = new HashMap<>();
+
+    private String[] threadNames = new String[64];
+
+    private boolean[] virtuals = new boolean[64];
+
+    /** The number of records per id, counting spilled ones and repeats */
+    private long[] counts = new long[64];
+
+    /** Per id the ascending indexes of the entries */
+    private int[][] postings = new int[64][];
+
+    private int[] postingCounts = new int[64];
+
+    private int size;
+
+    /** Shortcut for consecutive records published by the same thread */
+    private long lastThreadId = -1;
+
+    private String lastName;
+
+    private int lastId = NO_THREAD;
+
+    /**
+     * Attributes the given record to the current thread and counts it. If the
+     * record has been created by a different thread, it is attributed to the one
+     * with its {@link LogRecord#getLongThreadID()} seen before, if any.
+     *
+     * @param logRecord being published, must not be null
+     * @return the id of the thread, {@link #NO_THREAD} if unknown
+     */
+    int record(LogRecord logRecord) {
+        var current = Thread.currentThread();
+        var threadId = logRecord.getLongThreadID();
+        int id;
+        if (current.threadId() != threadId) {
+            id = ids.getOrDefault(threadId, NO_THREAD);
+        } else {
+            var name = current.getName();
+            if (threadId == lastThreadId && name == lastName) {
+                id = lastId;
+            } else {
+                id = intern(threadId, name, current.isVirtual());
+                lastThreadId = threadId;
+                lastName = name;
+                lastId = id;
+            }
+        }
+        if (NO_THREAD != id) {
+            counts[id]++;
+        }
+        return id;
+    }
+
+    private int intern(long threadId, String name, boolean virtual) {
+        var known = ids.get(threadId);
+        if (null != known && threadNames[known].equals(name)) {
+            return known;
+        }
+        var id = size++;
+        if (id == threadNames.length) {
+            var capacity = id * 2;
+            threadNames = Arrays.copyOf(threadNames, capacity);
+            virtuals = Arrays.copyOf(virtuals, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+            postings = Arrays.copyOf(postings, capacity);
+            postingCounts = Arrays.copyOf(postingCounts, capacity);
+        }
+        var nameId = names.intern(name);
+        threadNames[id] = StringDictionary.NOT_INTERNED == nameId ? name : names.get(nameId);
+        virtuals[id] = virtual;
+        ids.put(threadId, id);
+        return id;
+    }
+
+    /**
+     * @param id    of the thread, ignored if {@link #NO_THREAD}
+     * @param entry index of the entry within the {@link RecordStore}, must be
+     *              greater than all entries indexed before
+     */
+    void index(int id, int entry) {
+        if (NO_THREAD == id) {
+            return;
+        }
+        var posting = postings[id];
+        if (null == posting) {
+            posting = new int[INITIAL_POSTINGS];
+        } else if (postingCounts[id] == posting.length) {
+            posting = Arrays.copyOf(posting, posting.length * 2);
+        }
+        postings[id] = posting;
+        posting[postingCounts[id]++] = entry;
+    }
+
+    /**
+     * @param name    to be applied to the thread names, must not be null
+     * @param virtual whether only virtual threads match
+     * @return the ascending indexes of the entries published by the matching
+     *         threads
+     */
+    int[] entries(Predicate<String> name, boolean virtual) {
+        var total = 0;
+        List<Integer> matching = new ArrayList<>();
+        for (var id = 0; id < size; id++) {
+            if (0 != postingCounts[id] && (!virtual || virtuals[id]) && name.test(threadNames[id])) {
+                matching.add(id);
+                total += postingCounts[id];
+            }
+        }
+        var entries = new int[total];
+        var position = 0;
+        for (Integer id : matching) {
+            System.arraycopy(postings[id], 0, entries, position, postingCounts[id]);
+            position += postingCounts[id];
+        }
+        if (matching.size() > 1) {
+            Arrays.sort(entries);
+        }
+        return entries;
+    }
+
+    /**
+     * @param threadId as provided by {@link LogRecord#getLongThreadID()}
+     * @return the latest name of the thread, {@code null} if unknown
+     */
+    String nameOf(long threadId) {
+        var id = ids.get(threadId);
+        return null == id ? null : threadNames[id];
+    }
+
+    /**
+     * @return the latest name per {@link LogRecord#getLongThreadID()}, see
+     *         {@link #nameOf(long)}
+     */
+    Map<Long, String> names() {
+        Map<Long, String> result = new HashMap<>();
+        ids.forEach((threadId, id) -> result.put(threadId, threadNames[id]));
+        return result;
+    }
+
+    /**
+     * @param threadId as provided by {@link LogRecord#getLongThreadID()}
+     * @return {@code true} if the thread is known to be virtual
+     */
+    boolean isVirtual(long threadId) {
+        var id = ids.get(threadId);
+        return null != id && virtuals[id];
+    }
+
+    /**
+     * @return the number of records per thread name, most frequent first
+     */
+    Map<String, Long> volume() {
+        Map<String, Long> perName = new HashMap<>();
+        for (var id = 0; id < size; id++) {
+            perName.merge(threadNames[id], counts[id], Long::sum);
+        }
+        List<Map.Entry<String, Long>> sorted = new ArrayList<>(perName.entrySet());
+        sorted.sort((first, second) -> Long.compare(second.getValue(), first.getValue()));
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : sorted) {
+            result.put(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * @return the number of distinct threads
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    void clear() {
+        names.clear();
+        ids.clear();
+        threadNames = new String[64];
+        virtuals = new boolean[64];
+        counts = new long[64];
+        postings = new int[64][];
+        postingCounts = new int[64];
+        size = 0;
+        lastThreadId = -1;
+        lastName = null;
+        lastId = NO_THREAD;
+    }
+}
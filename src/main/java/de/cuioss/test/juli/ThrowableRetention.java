@@ -0,0 +1,63 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+/**
+ * Defines how much of a thrown {@link Throwable} a {@link TestLogHandler} keeps
+ * for each captured record, see
+ * {@link TestLogHandler#setThrowableRetention(TestLogLevel, ThrowableRetention)}.
+ * Stack traces, suppressed exceptions and objects reachable from exceptions can
+ * be a major heap consumer in tests logging many exceptions. All
+ * {@link Throwable} based queries and assertions work with each policy: Types
+ * are matched on the classes of the cause chain, concrete instances by class
+ * and, if retained, message.
+ *
+ * @author Oliver Wolff
+ *
+ */
+public enum ThrowableRetention {
+
+    /** Keeps the original {@link Throwable}, the default. */
+    FULL,
+
+    /**
+     * Keeps a summary of the {@link Throwable} and its causes: Their classes,
+     * messages and the top {@value #RETAINED_FRAMES} stack frames each.
+     */
+    SUMMARY,
+
+    /** Keeps the classes of the {@link Throwable} and its causes only. */
+    CLASS_ONLY;
+
+    /** The number of stack frames kept per {@link Throwable} by {@link #SUMMARY} */
+    public static final int RETAINED_FRAMES = 10;
+
+    /**
+     * @param thrown to be retained, may be null
+     * @return the {@link Throwable} to be kept according to this policy, null if
+     *         the given one is null
+     */
+    Throwable retain(Throwable thrown) {
+        if (null == thrown) {
+            return null;
+        }
+        return switch (this) {
+        case FULL -> thrown;
+        case SUMMARY -> ThrowableSummary.summarize(thrown, RETAINED_FRAMES);
+        case CLASS_ONLY -> ThrowableSummary.classOnly(thrown);
+        };
+    }
+}
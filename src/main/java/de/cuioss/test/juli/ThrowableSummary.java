@@ -0,0 +1,164 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Stands in for a {@link Throwable} whose instance is no longer available, e.g.
+ * for records decoded from a spill file or captured with a
+ * {@link ThrowableRetention} other than {@link ThrowableRetention#FULL}. It
+ * carries the name of the original class, its message and the classes of its
+ * cause chain, optionally the summarized causes and the top stack frames, and
+ * renders itself like the original would.
+ *
+ * @author Oliver Wolff
+ *
+ */
+final class ThrowableSummary extends Throwable {
+
+    @Serial
+    private static final long serialVersionUID = 7366516467815536452L;
+
+    /** The fully qualified name of the summarized {@link Throwable} */
+    @Getter(AccessLevel.PACKAGE)
+    private final String thrownClassName;
+
+    /**
+     * The distinct classes of the summarized {@link Throwable} and its causes,
+     * top-level first, see {@link ThrownTypes#causeChainOf(Throwable)}.
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private final Class<?>[] causeChain;
+
+    /** {@code false} if the message of the original has been dropped */
+    private final boolean messageRetained;
+
+    ThrowableSummary(String thrownClassName, String message, Class<?>[] causeChain) {
+        this(thrownClassName, message, null, causeChain, true);
+    }
+
+    private ThrowableSummary(String thrownClassName, String message, ThrowableSummary cause, Class<?>[] causeChain,
+            boolean messageRetained) {
+        super(message, cause, false, true);
+        this.thrownClassName = thrownClassName;
+        this.causeChain = causeChain;
+        this.messageRetained = messageRetained;
+    }
+
+    /**
+     * @param thrown to be summarized, must not be null
+     * @param frames the maximum number of top stack frames to be kept per
+     *               {@link Throwable}
+     * @return a summary of the given {@link Throwable} and its causes, keeping
+     *         their classes, messages and top stack frames. Suppressed exceptions
+     *         and anything else reachable from the original are dropped. A
+     *         {@link ThrowableSummary} is returned as it is.
+     */
+    static ThrowableSummary summarize(Throwable thrown, int frames) {
+        if (thrown instanceof ThrowableSummary summary) {
+            return summary;
+        }
+        var chain = chainOf(thrown);
+        ThrowableSummary summary = null;
+        for (var i = chain.size() - 1; i >= 0; i--) {
+            var current = chain.get(i);
+            summary = new ThrowableSummary(current.getClass().getName(), current.getMessage(), summary,
+                    ThrownTypes.causeChainOf(current), true);
+            var stackTrace = current.getStackTrace();
+            summary.setStackTrace(Arrays.copyOf(stackTrace, Math.min(frames, stackTrace.length)));
+        }
+        return summary;
+    }
+
+    /**
+     * @param thrown to be summarized, must not be null
+     * @return a summary of the given {@link Throwable} keeping the classes of its
+     *         cause chain only. A {@link ThrowableSummary} is returned as it is.
+     */
+    static ThrowableSummary classOnly(Throwable thrown) {
+        if (thrown instanceof ThrowableSummary summary) {
+            return summary;
+        }
+        return new ThrowableSummary(thrown.getClass().getName(), null, null, ThrownTypes.causeChainOf(thrown), false);
+    }
+
+    private static List<Throwable> chainOf(Throwable thrown) {
+        List<Throwable> chain = new ArrayList<>();
+        Map<Throwable, Boolean> visited = new IdentityHashMap<>();
+        var current = thrown;
+        while (null != current && null == visited.put(current, Boolean.TRUE)) {
+            chain.add(current);
+            current = current.getCause();
+        }
+        return chain;
+    }
+
+    /**
+     * @param throwable to be checked, must not be null
+     * @return {@code true} if the given {@link Throwable} is of the summarized
+     *         class and, if retained, has the same message
+     */
+    boolean summarizes(Throwable throwable) {
+        return thrownClassName.equals(classNameOf(throwable))
+                && (!messageRetained || Objects.equals(getMessage(), throwable.getMessage()));
+    }
+
+    /**
+     * Summaries do not record the stack of their creation.
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+
+    /**
+     * @param throwableClass to be checked, must not be null
+     * @return {@code true} if the summarized {@link Throwable} was exactly of the
+     *         given type
+     */
+    boolean isOfType(Class<? extends Throwable> throwableClass) {
+        return thrownClassName.equals(throwableClass.getName());
+    }
+
+    /**
+     * @param thrown to be checked, must not be null
+     * @return the fully qualified class name of the given {@link Throwable}, or
+     *         the summarized one in case of a {@link ThrowableSummary}
+     */
+    static String classNameOf(Throwable thrown) {
+        if (thrown instanceof ThrowableSummary summary) {
+            return summary.getThrownClassName();
+        }
+        return thrown.getClass().getName();
+    }
+
+    @Override
+    public String toString() {
+        var message = getLocalizedMessage();
+        return null == message ? thrownClassName : thrownClassName + ": " + message;
+    }
+}
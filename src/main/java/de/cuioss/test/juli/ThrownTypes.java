@@ -0,0 +1,144 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Deduplicating table of cause chains, i.e. the distinct classes of a thrown
+ * {@link Throwable} and its causes, top-level first. Records failing for the
+ * same reason share a single chain instance. The supertypes of each class are
+ * computed once and cached by a {@link ClassValue}, so that checking a chain
+ * for an assignable type does not walk class hierarchies per record. Not
+ * thread-safe, callers need to synchronize.
+ *
+ * @author Oliver Wolff
+ *
+ */
+final class ThrownTypes {
+
+    /** The maximum number of distinct chains being shared */
+    static final int DEFAULT_CAPACITY = 1 << 12;
+
+    private static final ClassValue<Set<Class<?>>> SUPERTYPES = new ClassValue<>() {
+
+        @Override
+        protected Set<Class<?>> computeValue(Class<?> type) {
+            Set<Class<?>> supertypes = new HashSet<>();
+            collectSupertypes(type, supertypes);
+            return Collections.unmodifiableSet(supertypes);
+        }
+    };
+
+    private final Map<List<Class<?>>, Class<?>[]> chains = new HashMap<>();
+
+    /**
+     * @param thrown to be interned, may be null
+     * @return the shared cause chain of the given {@link Throwable}, see
+     *         {@link #causeChainOf(Throwable)}, or {@code null} if there is none
+     */
+    Class<?>[] intern(Throwable thrown) {
+        if (null == thrown) {
+            return null;
+        }
+        var chain = causeChainOf(thrown);
+        var key = List.of(chain);
+        var shared = chains.get(key);
+        if (null != shared) {
+            return shared;
+        }
+        if (chains.size() < DEFAULT_CAPACITY) {
+            chains.put(key, chain);
+        }
+        return chain;
+    }
+
+    /**
+     * @return the number of distinct chains
+     */
+    int size() {
+        return chains.size();
+    }
+
+    /**
+     * Removes all entries.
+     */
+    void clear() {
+        chains.clear();
+    }
+
+    /**
+     * @param thrown to be analyzed, must not be null
+     * @return the distinct classes of the given {@link Throwable} and its causes,
+     *         top-level first. For a {@link ThrowableSummary} the chain of the
+     *         summarized {@link Throwable}.
+     */
+    static Class<?>[] causeChainOf(Throwable thrown) {
+        if (thrown instanceof ThrowableSummary summary) {
+            return summary.getCauseChain();
+        }
+        List<Class<?>> chain = new ArrayList<>();
+        Map<Throwable, Boolean> visited = new IdentityHashMap<>();
+        var current = thrown;
+        while (null != current && null == visited.put(current, Boolean.TRUE)) {
+            if (!chain.contains(current.getClass())) {
+                chain.add(current.getClass());
+            }
+            current = current.getCause();
+        }
+        return chain.toArray(new Class<?>[0]);
+    }
+
+    /**
+     * @param chain      to be checked, see {@link #causeChainOf(Throwable)}, may
+     *                   be null
+     * @param type       to be looked for, must not be null
+     * @param assignable {@code true} if subtypes of the given type match as well,
+     *                   {@code false} if only the exact type does
+     * @param causes     {@code true} if the causes are checked as well,
+     *                   {@code false} if only the top-level {@link Throwable} is
+     * @return {@code true} if the chain contains the given type
+     */
+    static boolean matches(Class<?>[] chain, Class<?> type, boolean assignable, boolean causes) {
+        if (null == chain) {
+            return false;
+        }
+        var length = causes ? chain.length : Math.min(1, chain.length);
+        for (var i = 0; i < length; i++) {
+            if (type == chain[i] || assignable && SUPERTYPES.get(chain[i]).contains(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void collectSupertypes(Class<?> type, Set<Class<?>> supertypes) {
+        if (null == type || !supertypes.add(type)) {
+            return;
+        }
+        collectSupertypes(type.getSuperclass(), supertypes);
+        for (Class<?> implemented : type.getInterfaces()) {
+            collectSupertypes(implemented, supertypes);
+        }
+    }
+}
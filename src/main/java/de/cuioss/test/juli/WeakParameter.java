@@ -0,0 +1,51 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Stands in for a parameter held by {@link ParameterRetention#WEAK}. Renders
+ * itself like the referenced parameter, or as "&lt;collected ClassName&gt;" once
+ * it has been garbage collected.
+ *
+ * @author Oliver Wolff
+ *
+ */
+final class WeakParameter {
+
+    private final WeakReference<Object> reference;
+
+    private final String className;
+
+    WeakParameter(Object parameter) {
+        reference = new WeakReference<>(parameter);
+        className = parameter.getClass().getName();
+    }
+
+    /**
+     * @return the referenced parameter, {@code null} if it has been collected
+     */
+    Object get() {
+        return reference.get();
+    }
+
+    @Override
+    public String toString() {
+        var parameter = reference.get();
+        return null == parameter ? "<collected " + className + ">" : String.valueOf(parameter);
+    }
+}
@@ -17,6 +17,7 @@ package de.cuioss.test.juli.junit5;
 
 import static de.cuioss.test.juli.TestLoggerFactory.addLogger;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -27,17 +28,22 @@ import de.cuioss.test.juli.TestLogLevel;
 import de.cuioss.test.juli.TestLoggerFactory;
 import de.cuioss.tools.reflect.MoreReflection;
 import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.AfterEachCallback;
 import org.junit.jupiter.api.extension.BeforeAllCallback;
 import org.junit.jupiter.api.extension.BeforeEachCallback;
 import org.junit.jupiter.api.extension.ExtensionContext;
 
 /**
- * Extension for setting up the {@link TestLoggerFactory} properly
+ * Extension for setting up the {@link TestLoggerFactory} properly. After each
+ * test the captured records are handed to
+ * {@link TestLoggerFactory#exportRecords(String, String, boolean)}, that exports
+ * them if configured.
  *
  * @author Oliver Wolff
  *
  */
-public class TestLoggerController implements BeforeAllCallback, AfterAllCallback, BeforeEachCallback {
+public class TestLoggerController
+        implements BeforeAllCallback, AfterAllCallback, BeforeEachCallback, AfterEachCallback {
 
     @Override
     public void beforeEach(ExtensionContext context) {
@@ -53,6 +59,13 @@ public class TestLoggerController implements BeforeAllCallback, AfterAllCallback
         }
     }
 
+    @Override
+    public void afterEach(ExtensionContext context) {
+        var name = context.getRequiredTestClass().getName() + "."
+                + context.getTestMethod().map(Method::getName).orElse(context.getDisplayName());
+        TestLoggerFactory.exportRecords(context.getUniqueId(), name, context.getExecutionException().isPresent());
+    }
+
     @Override
     public void afterAll(ExtensionContext context) {
         TestLoggerFactory.uninstall();
@@ -0,0 +1,75 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+
+import org.junit.jupiter.api.Test;
+
+class CallSiteTableTest {
+
+    private final CallSiteTable table = new CallSiteTable();
+
+    @Test
+    void shouldRecordCaller() {
+        var logRecord = new LogRecord(Level.INFO, "message");
+        var id = table.record(logRecord);
+        assertEquals(0, id);
+        assertEquals(CallSiteTableTest.class.getName(), logRecord.getSourceClassName());
+        assertEquals("shouldRecordCaller", logRecord.getSourceMethodName());
+    }
+
+    @Test
+    void shouldDeduplicateCallSites() {
+        var ids = new int[3];
+        for (var i = 0; i < ids.length; i++) {
+            ids[i] = table.record(new LogRecord(Level.INFO, "message"));
+        }
+        var other = table.record(new LogRecord(Level.INFO, "message"));
+        assertEquals(ids[0], ids[2]);
+        assertNotEquals(ids[0], other);
+        assertEquals(2, table.size());
+
+        var volume = new ArrayList<>(table.volume().entrySet());
+        assertEquals(3L, volume.get(0).getValue());
+        assertEquals(1L, volume.get(1).getValue());
+        assertTrue(volume.get(0).getKey()
+                .startsWith(CallSiteTableTest.class.getName() + "#shouldDeduplicateCallSites:"));
+
+        table.clear();
+        assertEquals(0, table.size());
+        assertTrue(table.volume().isEmpty());
+    }
+
+    @Test
+    void shouldMatchCallSites() {
+        table.record(new LogRecord(Level.INFO, "message"));
+        table.record(new LogRecord(Level.INFO, "message"));
+        var className = CallSiteTableTest.class.getName();
+        assertArrayEquals(new boolean[] { true, true }, table.matching(className, null));
+        assertArrayEquals(new boolean[] { true, true }, table.matching(className, "shouldMatchCallSites"));
+        assertArrayEquals(new boolean[] { false, false }, table.matching(className, "other"));
+        assertArrayEquals(new boolean[] { false, false }, table.matching(String.class.getName(), null));
+    }
+}
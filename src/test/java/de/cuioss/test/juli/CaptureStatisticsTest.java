@@ -0,0 +1,129 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+import static de.cuioss.test.juli.TestLogHandlerTest.MESSAGE;
+import static de.cuioss.test.juli.TestLogHandlerTest.create;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import javax.management.JMX;
+import javax.management.ObjectName;
+
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CaptureStatisticsTest {
+
+    private TestLogHandler handler;
+
+    private CaptureStatistics underTest;
+
+    @BeforeEach
+    void before() {
+        handler = new TestLogHandler();
+        underTest = handler.getStatistics();
+    }
+
+    @Test
+    void shouldCountIncrementally() {
+        handler.publish(create(TestLogLevel.INFO, MESSAGE, null));
+        handler.publish(create(TestLogLevel.INFO, MESSAGE, new IllegalStateException()));
+        handler.publish(create(TestLogLevel.ERROR, MESSAGE, null));
+        handler.publish(new LogRecord(Level.FINEST, MESSAGE));
+
+        assertEquals(4, underTest.getRecordCount());
+        assertEquals(4, underTest.getPublishedTotal());
+        assertEquals(2L, underTest.getRecordCountPerLevel().get("INFO"));
+        assertEquals(1L, underTest.getRecordCountPerLevel().get("ERROR"));
+        assertEquals(1L, underTest.getRecordCountPerLevel().get("FINEST"));
+        assertEquals(1, underTest.getIndexSizes().get("logger"));
+        assertTrue(underTest.getEstimatedRetainedBytes() > 0);
+        assertTrue(underTest.getPublishRatePerSecond() >= 0);
+    }
+
+    @Test
+    void shouldMeasurePublishRateOverFixedWindows() {
+        var statistics = new CaptureStatistics();
+        var start = System.nanoTime();
+        for (var i = 0; i < 10; i++) {
+            statistics.updateRate(start + i * 10_000_000L);
+        }
+        assertEquals(0.0, statistics.getPublishRatePerSecond(start + 500_000_000L));
+        var windowEnd = start + CaptureStatistics.RATE_WINDOW_NANOS;
+        statistics.updateRate(windowEnd);
+        var rate = statistics.getPublishRatePerSecond(windowEnd + 1);
+        assertEquals(10.0, rate, 0.1);
+        // Reading has no side effects
+        assertEquals(rate, statistics.getPublishRatePerSecond(windowEnd + 2));
+        assertEquals(0.0, statistics.getPublishRatePerSecond(windowEnd + 3 * CaptureStatistics.RATE_WINDOW_NANOS));
+    }
+
+    @Test
+    void shouldEstimateParameterBytes() {
+        var parameterized = create(TestLogLevel.INFO, MESSAGE, null);
+        parameterized.setParameters(new Object[] { new byte[100_000], "value" });
+        handler.publish(parameterized);
+        assertTrue(underTest.getParameterBytes() > 100_000);
+        assertTrue(underTest.getEstimatedRetainedBytes() > underTest.getParameterBytes());
+
+        handler.clearRecords();
+        assertEquals(0, underTest.getParameterBytes());
+        handler.setParameterRetention(ParameterRetention.SNAPSHOT);
+        parameterized = create(TestLogLevel.INFO, MESSAGE, null);
+        parameterized.setParameters(new Object[] { new byte[100_000], "value" });
+        handler.publish(parameterized);
+        assertTrue(underTest.getParameterBytes() < 1_000);
+    }
+
+    @Test
+    void shouldCountEvictions() {
+        handler.publish(create(TestLogLevel.INFO, MESSAGE, null));
+        handler.publish(create(TestLogLevel.WARN, MESSAGE, null));
+        handler.clearRecords();
+
+        assertEquals(0, underTest.getRecordCount());
+        assertEquals(0, underTest.getEstimatedRetainedBytes());
+        assertEquals(2, underTest.getEvictions());
+        assertEquals(2, underTest.getPublishedTotal());
+        assertEquals(0, underTest.getIndexSizes().get("logger"));
+    }
+
+    @Test
+    void shouldRegisterOnInstall() throws Exception {
+        var server = ManagementFactory.getPlatformMBeanServer();
+        var name = new ObjectName(CaptureStatisticsMXBean.OBJECT_NAME);
+        assertFalse(server.isRegistered(name));
+
+        TestLoggerFactory.install();
+        try {
+            assertTrue(server.isRegistered(name));
+            TestLoggerFactory.getTestHandler().publish(create(TestLogLevel.WARN, MESSAGE, null));
+            var proxy = JMX.newMXBeanProxy(server, name, CaptureStatisticsMXBean.class);
+            assertEquals(1, proxy.getRecordCount());
+            assertEquals(1L, proxy.getRecordCountPerLevel().get("WARN"));
+        } finally {
+            TestLoggerFactory.uninstall();
+        }
+        assertFalse(server.isRegistered(name));
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+import static de.cuioss.test.juli.TestLogHandlerTest.MESSAGE;
+import static de.cuioss.test.juli.TestLogHandlerTest.create;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FlightRecorderEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldRecordPublishAndQueryEvents() throws IOException {
+        var underTest = new TestLogHandler();
+        var events = record(() -> {
+            underTest.publish(create(TestLogLevel.INFO, MESSAGE, null));
+            underTest.publish(create(TestLogLevel.DEBUG, MESSAGE, null));
+            underTest.resolveLogMessages(TestLogLevel.INFO, MESSAGE);
+        });
+
+        var published = filter(events, LogPublishEvent.NAME);
+        assertEquals(2, published.size());
+        assertEquals("INFO", published.get(0).getString("level"));
+        assertEquals(TestLogHandlerTest.class.getName(), published.get(0).getString("logger"));
+
+        var queries = filter(events, LogQueryEvent.NAME);
+        assertEquals(1, queries.size());
+        var query = queries.get(0);
+        assertEquals("resolveLogMessages", query.getString("query"));
+        assertEquals("INFO", query.getString("level"));
+        assertEquals(2, query.getInt("recordsScanned"));
+        assertEquals(1, query.getInt("resultSize"));
+    }
+
+    @Test
+    void shouldRecordAssertionFailureRendering() throws IOException {
+        TestLoggerFactory.install();
+        try {
+            var events = record(() -> {
+                TestLoggerFactory.getTestHandler().publish(create(TestLogLevel.INFO, MESSAGE, null));
+                // Passing assertions do not render a message
+                LogAsserts.assertLogMessagePresent(TestLogLevel.INFO, MESSAGE);
+                assertThrows(AssertionError.class,
+                        () -> LogAsserts.assertSingleLogMessagePresent(TestLogLevel.WARN, MESSAGE));
+            });
+            var rendered = filter(events, LogAssertionEvent.NAME);
+            assertEquals(1, rendered.size());
+            assertEquals("WARN", rendered.get(0).getString("level"));
+            assertEquals(0, rendered.get(0).getInt("resultSize"));
+            assertEquals(1, rendered.get(0).getInt("recordsRendered"));
+            assertTrue(rendered.get(0).getInt("messageLength") > 0);
+        } finally {
+            TestLoggerFactory.uninstall();
+        }
+    }
+
+    private List<RecordedEvent> record(Runnable action) throws IOException {
+        try (var recording = new Recording()) {
+            recording.enable(LogPublishEvent.NAME);
+            recording.enable(LogQueryEvent.NAME);
+            recording.enable(LogAssertionEvent.NAME);
+            recording.start();
+            action.run();
+            recording.stop();
+            var file = tempDir.resolve("recording.jfr");
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        }
+    }
+
+    private static List<RecordedEvent> filter(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> name.equals(e.getEventType().getName())).toList();
+    }
+}
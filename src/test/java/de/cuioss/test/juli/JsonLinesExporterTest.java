@@ -0,0 +1,181 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JsonLinesExporterTest {
+
+    private static final String TEST_ID = "[engine:junit-jupiter]/[method:test()]";
+
+    private static final String TEST_NAME = "de.cuioss.SomeTest.test";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldWriteOneFilePerTest() throws IOException {
+        var logRecord = new LogRecord(Level.WARNING, "Hello \"{0}\"\n\t{1}");
+        logRecord.setLoggerName("some.logger");
+        logRecord.setParameters(new Object[] { 42, null });
+        logRecord.setThrown(new IllegalStateException("boom"));
+        logRecord.setInstant(Instant.ofEpochSecond(1, 5));
+        logRecord.setLongThreadID(7L);
+
+        var onHeap = new RecordStore();
+        onHeap.add(logRecord);
+        var captured = new CapturedRecords(onHeap, null, Map.of(7L, "worker-1"));
+        var underTest = new JsonLinesExporter(tempDir, false, 10);
+        assertEquals(1, underTest.export(TEST_ID, TEST_NAME, captured));
+        underTest.export(TEST_ID, "other", captured(new LogRecord(Level.INFO, "other")));
+        underTest.close();
+
+        var lines = Files.readAllLines(tempDir.resolve(TEST_NAME + JsonLinesExporter.FILE_SUFFIX));
+        assertEquals(1, lines.size());
+        assertEquals("{\"test\":\"[engine:junit-jupiter]/[method:test()]\",\"sequence\":"
+                + logRecord.getSequenceNumber()
+                + ",\"nanotime\":1000000005,\"thread\":7,\"threadName\":\"worker-1\",\"level\":\"WARNING\","
+                + "\"logger\":\"some.logger\","
+                + "\"message\":\"Hello \\\"{0}\\\"\\n\\t{1}\",\"parameters\":[\"42\",null],"
+                + "\"thrown\":{\"class\":\"java.lang.IllegalStateException\",\"message\":\"boom\"}}", lines.get(0));
+        assertTrue(Files.exists(tempDir.resolve("other" + JsonLinesExporter.FILE_SUFFIX)));
+        assertEquals(0, underTest.getDroppedRecords());
+        assertEquals(0, underTest.getFailedWrites());
+    }
+
+    @Test
+    void shouldWriteRollingFile() throws IOException {
+        var underTest = new JsonLinesExporter(tempDir, true, 10);
+        underTest.export("first", TEST_NAME, captured(new LogRecord(Level.INFO, "1"), new LogRecord(Level.INFO, "2")));
+        underTest.export("second", TEST_NAME, captured(new LogRecord(Level.FINE, "3")));
+        underTest.close();
+
+        var lines = Files.readAllLines(tempDir.resolve("test-logs-00000" + JsonLinesExporter.FILE_SUFFIX));
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).startsWith("{\"test\":\"first\""));
+        assertTrue(lines.get(2).startsWith("{\"test\":\"second\""));
+        assertFalse(Files.exists(tempDir.resolve(TEST_NAME + JsonLinesExporter.FILE_SUFFIX)));
+
+        // Subsequent exporter appends
+        underTest = new JsonLinesExporter(tempDir, true, 10);
+        underTest.export("third", TEST_NAME, captured(new LogRecord(Level.INFO, "4")));
+        underTest.close();
+        assertEquals(4, Files.readAllLines(tempDir.resolve("test-logs-00000" + JsonLinesExporter.FILE_SUFFIX)).size());
+    }
+
+    @Test
+    void shouldTruncateFilesOfPreviousRun() throws IOException {
+        var perTest = tempDir.resolve(TEST_NAME + JsonLinesExporter.FILE_SUFFIX);
+        var rolling = tempDir.resolve("test-logs-00000" + JsonLinesExporter.FILE_SUFFIX);
+        Files.writeString(perTest, "previous run\n");
+        Files.writeString(rolling, "previous run\n");
+
+        var underTest = new JsonLinesExporter(tempDir, false, 10);
+        underTest.export("first", TEST_NAME, captured(new LogRecord(Level.INFO, "1")));
+        underTest.export("second", TEST_NAME, captured(new LogRecord(Level.INFO, "2")));
+        underTest.close();
+        var lines = Files.readAllLines(perTest);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).startsWith("{\"test\":\"first\""));
+
+        underTest = new JsonLinesExporter(tempDir, true, 10);
+        underTest.export("first", TEST_NAME, captured(new LogRecord(Level.INFO, "1")));
+        underTest.close();
+        assertEquals(1, Files.readAllLines(rolling).size());
+    }
+
+    @Test
+    void shouldDropRecordsExceedingCapacity() throws IOException {
+        var records = new RecordStore();
+        for (var i = 0; i < 5; i++) {
+            records.add(new LogRecord(Level.INFO, "message " + i));
+        }
+        var underTest = new JsonLinesExporter(tempDir, false, 3);
+        assertEquals(3, underTest.export(TEST_ID, TEST_NAME, new CapturedRecords(records, null, Map.of())));
+        underTest.close();
+
+        var lines = Files.readAllLines(tempDir.resolve(TEST_NAME + JsonLinesExporter.FILE_SUFFIX),
+                StandardCharsets.UTF_8);
+        assertEquals(4, lines.size());
+        assertTrue(lines.get(2).contains("message 2"));
+        assertTrue(lines.get(3).endsWith("\"droppedRecords\":2}"));
+        assertEquals(2, underTest.getDroppedRecords());
+    }
+
+    @Test
+    void shouldCountFailedWrites() throws IOException {
+        var file = tempDir.resolve("file");
+        Files.writeString(file, "no directory");
+        var underTest = new JsonLinesExporter(file, false, 3);
+        underTest.export(TEST_ID, TEST_NAME, captured(new LogRecord(Level.INFO, "message")));
+        underTest.close();
+        assertEquals(1, underTest.getFailedWrites());
+        // Close is reentrant
+        underTest.close();
+    }
+
+    @Test
+    void shouldDecodeSpilledRecordsWhenWriting() throws IOException {
+        var onHeap = new RecordStore();
+        onHeap.add(new LogRecord(Level.INFO, "on heap"));
+        var spillFile = new SpillFile(tempDir.resolve("spill"), SpillFile.DEFAULT_SEGMENT_SIZE);
+        spillFile.append(new LogRecord(Level.INFO, "spilled"), 1);
+        var captured = new CapturedRecords(onHeap, spillFile.snapshot(), Map.of());
+        spillFile.clear();
+
+        var underTest = new JsonLinesExporter(tempDir, false, 10);
+        assertEquals(2, underTest.export(TEST_ID, TEST_NAME, captured));
+        underTest.close();
+        spillFile.close();
+
+        var lines = Files.readAllLines(tempDir.resolve(TEST_NAME + JsonLinesExporter.FILE_SUFFIX));
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains("\"message\":\"on heap\""));
+        assertTrue(lines.get(1).contains("\"message\":\"spilled\""));
+        // The segments have been released by the writer
+        try (var files = Files.list(tempDir.resolve("spill"))) {
+            assertFalse(files.findAny().isPresent());
+        }
+    }
+
+    @Test
+    void shouldDeriveFileName() {
+        assertEquals("a.B_c_d_1_.jsonl", JsonLinesExporter.fileName("a.B c/d[1]"));
+    }
+
+    private static CapturedRecords captured(LogRecord... records) {
+        var onHeap = new RecordStore();
+        for (LogRecord logRecord : records) {
+            onHeap.add(logRecord);
+        }
+        return new CapturedRecords(onHeap, null, Map.of());
+    }
+}
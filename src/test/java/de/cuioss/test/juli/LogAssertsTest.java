@@ -26,8 +26,15 @@ import static de.cuioss.test.juli.TestLogHandlerTest.create;
 import static de.cuioss.test.juli.TestLogLevel.DEBUG;
 import static de.cuioss.test.juli.TestLogLevel.INFO;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletionException;
 
+
+import de.cuioss.tools.logging.LogRecordModel;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -35,6 +42,14 @@ import org.junit.jupiter.api.Test;
 
 class LogAssertsTest {
 
+    private static final String TEMPLATE = "User {0} logged in {1} times";
+
+    private static final LogRecordModel STARTED = LogRecordModel.builder().prefix("PORTAL").identifier(12)
+            .template("Started %s").build();
+
+    private static final LogRecordModel STOPPED = LogRecordModel.builder().prefix("PORTAL").identifier(13)
+            .template("Stopped %s").build();
+
     private final IllegalStateException runtimeException = new IllegalStateException("Test exception for logging");
     private final IllegalArgumentException illegalArgumentException = new IllegalArgumentException();
 
@@ -134,4 +149,176 @@ class LogAssertsTest {
     void shouldAssertSingleLogMsgContainingThrowableClass() {
         LogAsserts.assertSingleLogMessagePresentContaining(DEBUG, MESSAGE_PART, runtimeException.getClass());
     }
+
+    @Test
+    void shouldAssertFormattedMessage() {
+        publishParameterized();
+        LogAsserts.assertLogMessagePresentFormatted(INFO, "User alice logged in 3 times");
+        LogAsserts.assertSingleLogMessagePresentFormatted(INFO, "User alice logged in 3 times");
+        LogAsserts.assertLogMessagePresentFormattedContaining(INFO, "alice");
+        LogAsserts.assertNoLogMessagePresentFormatted(INFO, "bob");
+
+        assertThrows(AssertionError.class, () -> LogAsserts.assertLogMessagePresentFormatted(INFO, TEMPLATE));
+        assertThrows(AssertionError.class, () -> LogAsserts.assertNoLogMessagePresentFormatted(INFO, "alice"));
+    }
+
+    @Test
+    void shouldAssertParameters() {
+        publishParameterized();
+        LogAsserts.assertLogMessagePresentWithParameter(INFO, TEMPLATE, 0, "alice");
+        LogAsserts.assertLogMessagePresentWithParameter(INFO, TEMPLATE, 1, 3);
+        LogAsserts.assertLogMessagePresentWithParameters(INFO, TEMPLATE, "alice", 3);
+
+        assertThrows(AssertionError.class,
+                () -> LogAsserts.assertLogMessagePresentWithParameter(INFO, TEMPLATE, 1, "alice"));
+        assertThrows(AssertionError.class,
+                () -> LogAsserts.assertLogMessagePresentWithParameter(INFO, TEMPLATE, 2, "alice"));
+        assertThrows(AssertionError.class,
+                () -> LogAsserts.assertLogMessagePresentWithParameters(INFO, TEMPLATE, "alice"));
+    }
+
+    @Test
+    void shouldAssertCauseChain() {
+        TestLoggerFactory.getTestHandler()
+                .publish(create(INFO, MESSAGE, new CompletionException(illegalArgumentException)));
+        LogAsserts.assertLogMessagePresentWithThrowable(INFO, RuntimeException.class);
+        LogAsserts.assertLogMessagePresentCausedBy(INFO, IllegalArgumentException.class);
+        LogAsserts.assertLogMessagePresentCausedBy(INFO, MESSAGE, CompletionException.class);
+        LogAsserts.assertNoLogMessagePresentCausedBy(INFO, IOException.class);
+
+        assertThrows(AssertionError.class,
+                () -> LogAsserts.assertLogMessagePresentWithThrowable(INFO, IOException.class));
+        assertThrows(AssertionError.class,
+                () -> LogAsserts.assertLogMessagePresentCausedBy(DEBUG, IllegalArgumentException.class));
+        assertThrows(AssertionError.class,
+                () -> LogAsserts.assertLogMessagePresentCausedBy(INFO, MESSAGE_PART, IllegalStateException.class));
+        assertThrows(AssertionError.class,
+                () -> LogAsserts.assertNoLogMessagePresentCausedBy(INFO, IllegalArgumentException.class));
+    }
+
+    @Test
+    void shouldAssertMatching() {
+        LogAsserts.assertLogMessageMatching(INFO, ".*" + MESSAGE_PART + ".*");
+        LogAsserts.assertSingleLogMessageMatching(DEBUG, ".*" + MESSAGE_PART + ".*");
+        LogAsserts.assertNoLogMessageMatching(INFO, MESSAGE_PART);
+
+        assertThrows(AssertionError.class, () -> LogAsserts.assertLogMessageMatching(INFO, MESSAGE_PART));
+        assertThrows(AssertionError.class, () -> LogAsserts.assertSingleLogMessageMatching(INFO, ".*"));
+        assertThrows(AssertionError.class, () -> LogAsserts.assertNoLogMessageMatching(INFO, ".*"));
+    }
+
+    @Test
+    void shouldAssertIdentifier() {
+        TestLoggerFactory.getTestHandler().publish(create(INFO, STARTED.format("portal"), null));
+        assertLogMessagePresent(INFO, STARTED);
+        assertSingleLogMessagePresent(INFO, STARTED);
+        assertNoLogMessagePresent(INFO, STOPPED);
+        assertNoLogMessagePresent(DEBUG, STARTED);
+        LogAsserts.assertLogMessagePresentWithIdentifier(INFO, "PORTAL-12");
+        LogAsserts.assertNoLogMessagePresentWithIdentifier(INFO, "PORTAL-1");
+
+        assertThrows(AssertionError.class, () -> assertLogMessagePresent(INFO, STOPPED));
+        assertThrows(AssertionError.class, () -> assertNoLogMessagePresent(INFO, STARTED));
+        TestLoggerFactory.getTestHandler().publish(create(INFO, STARTED.format("other"), null));
+        assertThrows(AssertionError.class, () -> assertSingleLogMessagePresent(INFO, STARTED));
+    }
+
+    @Test
+    void shouldAssertCallSite() {
+        var testHandler = TestLoggerFactory.getTestHandler();
+        testHandler.setCallSiteRecording(true);
+        try {
+            testHandler.publish(create(INFO, MESSAGE, null));
+        } finally {
+            testHandler.setCallSiteRecording(false);
+        }
+        LogAsserts.assertLogMessagePresentFromCallSite(INFO, LogAssertsTest.class, "shouldAssertCallSite");
+        LogAsserts.assertNoLogMessagePresentFromCallSite(INFO, LogAssertsTest.class, "shouldAssertMatching");
+
+        assertThrows(AssertionError.class,
+                () -> LogAsserts.assertLogMessagePresentFromCallSite(DEBUG, LogAssertsTest.class, null));
+        assertThrows(AssertionError.class,
+                () -> LogAsserts.assertNoLogMessagePresentFromCallSite(INFO, LogAssertsTest.class, null));
+    }
+
+    @Test
+    void shouldAssertThread() {
+        TestLoggerFactory.getTestHandler().publish(create(INFO, MESSAGE, null));
+        var threadName = Thread.currentThread().getName();
+        LogAsserts.assertLogMessagePresentFromThread(INFO, threadName);
+        LogAsserts.assertNoLogMessagePresentFromThread(TestLogLevel.ERROR, threadName);
+
+        assertThrows(AssertionError.class, () -> LogAsserts.assertLogMessagePresentFromThread(INFO, "scheduler"));
+        assertThrows(AssertionError.class, () -> LogAsserts.assertNoLogMessagePresentFromThread(INFO, threadName));
+    }
+
+    @Test
+    void shouldAssertCheckpoints() {
+        var testHandler = TestLoggerFactory.getTestHandler();
+        testHandler.checkpoint("start");
+        testHandler.publish(create(INFO, MESSAGE, null));
+        testHandler.checkpoint("end");
+        LogAsserts.assertSingleLogMessagePresentSince(INFO, "start");
+        LogAsserts.assertNoLogMessagePresentSince(DEBUG, "start");
+        LogAsserts.assertSingleLogMessagePresentBetween(INFO, "start", "end");
+        LogAsserts.assertNoLogMessagePresentBetween(INFO, "end", "end");
+
+        assertThrows(AssertionError.class, () -> LogAsserts.assertNoLogMessagePresentSince(INFO, "start"));
+        assertThrows(AssertionError.class, () -> LogAsserts.assertSingleLogMessagePresentSince(INFO, "end"));
+        assertThrows(AssertionError.class, () -> LogAsserts.assertNoLogMessagePresentBetween(INFO, "start", "end"));
+        assertThrows(AssertionError.class,
+                () -> LogAsserts.assertSingleLogMessagePresentBetween(DEBUG, "start", "end"));
+    }
+
+    @Test
+    void shouldAwaitLogMessage() throws InterruptedException {
+        var testHandler = TestLoggerFactory.getTestHandler();
+        var publisher = new Thread(() -> {
+            TestLogHandlerTest.sleep();
+            testHandler.publish(create(INFO, MESSAGE, null));
+        });
+        publisher.start();
+        LogAsserts.awaitLogMessagePresent(INFO, MESSAGE, Duration.ofSeconds(10));
+        publisher.join();
+
+        assertThrows(AssertionError.class,
+                () -> LogAsserts.awaitLogMessagePresentContaining(INFO, MESSAGE_PART, Duration.ofMillis(20)));
+    }
+
+    @Test
+    void shouldAssertLogSequence() {
+        var testHandler = TestLoggerFactory.getTestHandler();
+        testHandler.publish(create(INFO, "begin", null));
+        testHandler.publish(create(DEBUG, MESSAGE, null));
+        testHandler.publish(create(INFO, "commit", null));
+        var begin = LogRecordQuery.message(INFO, "begin");
+        var commit = LogRecordQuery.message(INFO, "commit");
+        LogAsserts.assertLogSequence(begin, commit);
+        LogAsserts.assertLogSequenceStrict(LogRecordQuery.level(INFO), LogRecordQuery.level(DEBUG),
+                LogRecordQuery.level(INFO));
+
+        var error = assertThrows(AssertionError.class, () -> LogAsserts.assertLogSequenceStrict(begin, commit));
+        assertTrue(error.getMessage().contains("Matched 1 of 2 steps"), error.getMessage());
+        assertThrows(AssertionError.class, () -> LogAsserts.assertLogSequence(commit, begin));
+        assertThrows(AssertionError.class, LogAsserts::assertLogSequence);
+    }
+
+    @Test
+    void shouldAssertDuring() {
+        var from = Instant.now();
+        TestLoggerFactory.getTestHandler().publish(create(INFO, MESSAGE, null));
+        var to = Instant.now();
+        LogAsserts.assertLogMessagePresentDuring(INFO, MESSAGE_PART, from, to);
+        LogAsserts.assertNoLogMessagePresentDuring(INFO, to.plusSeconds(1), to.plusSeconds(2));
+
+        assertThrows(AssertionError.class,
+                () -> LogAsserts.assertLogMessagePresentDuring(INFO, MESSAGE_PART, to.plusSeconds(1), Instant.MAX));
+        assertThrows(AssertionError.class, () -> LogAsserts.assertNoLogMessagePresentDuring(INFO, from, to));
+    }
+
+    private static void publishParameterized() {
+        var logRecord = create(INFO, TEMPLATE, null);
+        logRecord.setParameters(new Object[] { "alice", 3 });
+        TestLoggerFactory.getTestHandler().publish(logRecord);
+    }
 }
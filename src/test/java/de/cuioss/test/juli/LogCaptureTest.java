@@ -0,0 +1,188 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+import static de.cuioss.test.juli.TestLogHandlerTest.MESSAGE;
+import static de.cuioss.test.juli.TestLogHandlerTest.MESSAGE_2;
+import static de.cuioss.test.juli.TestLogHandlerTest.create;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LogCaptureTest {
+
+    @TempDir
+    Path tempDir;
+
+    private TestLogHandler handler;
+
+    @BeforeEach
+    void before() {
+        handler = new TestLogHandler();
+    }
+
+    @Test
+    void shouldRestrictToScope() {
+        handler.publish(create(TestLogLevel.INFO, MESSAGE, null));
+        LogCapture scope;
+        try (var opened = handler.openCapture()) {
+            scope = opened;
+            handler.publish(create(TestLogLevel.INFO, MESSAGE_2, null));
+            assertTrue(opened.isOpen());
+            assertEquals(1, opened.getRecords().size());
+        }
+        handler.publish(create(TestLogLevel.INFO, MESSAGE_2, null));
+
+        assertFalse(scope.isOpen());
+        assertEquals(1, scope.getRecords().size());
+        assertEquals(MESSAGE_2, scope.getRecords().get(0).getMessage());
+        assertEquals(0, scope.resolveLogMessages(TestLogLevel.INFO, MESSAGE).size());
+        assertEquals(1, scope.resolveLogMessagesContaining(TestLogLevel.INFO, MESSAGE_2).size());
+        assertEquals(0, scope.resolveLogMessages(TestLogLevel.WARN).size());
+        assertEquals(3, handler.resolveLogMessages(TestLogLevel.INFO).size());
+    }
+
+    @Test
+    void shouldSupportNestedAndOverlappingScopes() {
+        var outer = handler.openCapture();
+        handler.publish(create(TestLogLevel.INFO, MESSAGE, null));
+        var inner = handler.openCapture();
+        handler.publish(create(TestLogLevel.INFO, MESSAGE, null));
+        outer.close();
+        handler.publish(create(TestLogLevel.INFO, MESSAGE, null));
+        inner.close();
+
+        assertEquals(2, outer.resolveLogMessages(TestLogLevel.INFO).size());
+        assertEquals(2, inner.resolveLogMessages(TestLogLevel.INFO).size());
+        assertEquals(1, outer.query(testHandler -> inner.getRecords()).size());
+        outer.close();
+        assertEquals(2, outer.getRecords().size());
+    }
+
+    @Test
+    void shouldSurviveClear() {
+        handler.publish(create(TestLogLevel.INFO, MESSAGE, null));
+        try (var scope = handler.openCapture()) {
+            handler.clearRecords();
+            handler.publish(create(TestLogLevel.INFO, MESSAGE_2, null));
+            assertEquals(1, scope.getRecords().size());
+        }
+    }
+
+    @Test
+    void shouldResolveBetweenCheckpoints() {
+        handler.publish(create(TestLogLevel.ERROR, MESSAGE, null));
+        handler.checkpoint("step 1");
+        handler.publish(create(TestLogLevel.WARN, MESSAGE, null));
+        handler.checkpoint("step 2");
+        handler.publish(create(TestLogLevel.WARN, MESSAGE_2, null));
+        handler.publish(create(TestLogLevel.WARN, MESSAGE_2, null));
+
+        assertEquals(0, handler.since("step 1").resolveLogMessages(TestLogLevel.ERROR).size());
+        assertEquals(3, handler.since("step 1").resolveLogMessages(TestLogLevel.WARN).size());
+        var range = handler.between("step 1", "step 2");
+        assertEquals(1, range.resolveLogMessages(TestLogLevel.WARN).size());
+        assertEquals(MESSAGE, range.getRecords().get(0).getMessage());
+        var since = handler.since("step 2");
+        handler.publish(create(TestLogLevel.ERROR, MESSAGE, null));
+        assertEquals(1, since.resolveLogMessages(TestLogLevel.ERROR).size());
+        handler.checkpoint("step 1");
+        assertEquals(0, handler.since("step 1").getRecords().size());
+        assertThrows(IllegalArgumentException.class, () -> handler.between("step 1", "step 2"));
+        assertEquals(0, handler.between("step 1", "step 1").getRecords().size());
+        assertThrows(AssertionError.class, () -> handler.since("unknown"));
+
+        // Checkpoints do not outlive the test
+        var obtained = handler.between("step 2", "step 1");
+        handler.clearRecords();
+        assertThrows(AssertionError.class, () -> handler.since("step 1"));
+        assertEquals(0, obtained.getRecords().size());
+        assertThrows(AssertionError.class, () -> handler.checkpoint(null));
+    }
+
+    @Test
+    void shouldResolveDuring() {
+        var base = Instant.parse("2025-01-01T10:00:00Z");
+        for (var second = 0; second < 5; second++) {
+            var logRecord = create(TestLogLevel.INFO, MESSAGE, null);
+            logRecord.setInstant(base.plusSeconds(second));
+            handler.publish(logRecord);
+        }
+        var late = create(TestLogLevel.WARN, MESSAGE_2, null);
+        late.setInstant(base.plusSeconds(1));
+        handler.checkpoint("late");
+        handler.publish(late);
+
+        var range = handler.during(base.plusSeconds(1), base.plusSeconds(2));
+        assertEquals(3, range.getRecords().size());
+        assertEquals(2, handler.resolveLogMessagesDuring(TestLogLevel.INFO, base.plusSeconds(1), base.plusSeconds(2))
+                .size());
+        assertEquals(1, handler.since("late").during(base, base.plusSeconds(1)).getRecords().size());
+        assertEquals(0, handler.during(base.plusSeconds(5), Instant.MAX).getRecords().size());
+    }
+
+    @Test
+    void shouldRestrictSpilledRecords() {
+        handler.spillToDisk(1, tempDir);
+        handler.publish(create(TestLogLevel.INFO, MESSAGE, null));
+        handler.publish(create(TestLogLevel.INFO, MESSAGE, null));
+        try (var scope = handler.openCapture()) {
+            handler.publish(create(TestLogLevel.INFO, MESSAGE_2, null));
+            handler.publish(create(TestLogLevel.INFO, MESSAGE, null));
+            assertEquals(2, scope.getRecords().size());
+            assertEquals(1, scope.resolveLogMessages(TestLogLevel.INFO, MESSAGE).size());
+        } finally {
+            handler.close();
+        }
+    }
+
+    @Test
+    void shouldAwaitWithinScope() throws InterruptedException {
+        handler.publish(create(TestLogLevel.INFO, MESSAGE, null));
+        try (var scope = handler.openCapture()) {
+            handler.publish(create(TestLogLevel.INFO, MESSAGE_2, null));
+            var captured = scope.awaitLogMessageContaining(TestLogLevel.INFO, MESSAGE, Duration.ZERO);
+            assertEquals(MESSAGE_2, captured.orElseThrow().getMessage());
+
+            var publisher = new Thread(() -> {
+                TestLogHandlerTest.sleep();
+                handler.publish(create(TestLogLevel.WARN, MESSAGE, null));
+            });
+            publisher.start();
+            var found = scope.awaitLogMessageContaining(TestLogLevel.WARN, MESSAGE, Duration.ofSeconds(10));
+            publisher.join();
+            assertTrue(found.isPresent());
+        }
+    }
+
+    @Test
+    void shouldNotAwaitClosedScope() {
+        var scope = handler.openCapture();
+        scope.close();
+        handler.publish(create(TestLogLevel.INFO, MESSAGE, null));
+        assertTrue(scope.awaitLogMessage(logRecord -> true, Duration.ofSeconds(10)).isEmpty());
+    }
+}
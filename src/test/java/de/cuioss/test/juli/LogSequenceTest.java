@@ -0,0 +1,102 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+import static de.cuioss.test.juli.LogRecordQuery.containing;
+import static de.cuioss.test.juli.LogRecordQuery.message;
+import static de.cuioss.test.juli.TestLogHandlerTest.create;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.LogRecord;
+
+
+import org.junit.jupiter.api.Test;
+
+class LogSequenceTest {
+
+    private static final LogRecordQuery BEGIN = message(TestLogLevel.INFO, "begin");
+    private static final LogRecordQuery RETRY = containing(TestLogLevel.WARN, "retry");
+    private static final LogRecordQuery COMMIT = message(TestLogLevel.INFO, "commit");
+
+    @Test
+    void shouldMatchGapped() {
+        var records = records("begin", "other", "retry 1", "begin", "retry 2", "commit");
+        var sequence = LogSequence.match(records, false, List.of(BEGIN, RETRY, COMMIT));
+        assertTrue(sequence.isComplete());
+        assertEquals(3, sequence.getMatched());
+
+        sequence = LogSequence.match(records, false, List.of(COMMIT, BEGIN));
+        assertFalse(sequence.isComplete());
+        assertEquals(1, sequence.getMatched());
+        assertTrue(sequence.toString().contains("Broke at step 2=INFO message is exactly=begin"),
+                sequence.toString());
+        assertTrue(sequence.toString().contains("no matching record at or after #6"), sequence.toString());
+    }
+
+    @Test
+    void shouldMatchStrict() {
+        var records = records("begin", "other", "begin", "begin", "retry 1", "commit");
+        assertFalse(LogSequence.match(records, true, List.of(BEGIN, RETRY, RETRY)).isComplete());
+        assertTrue(LogSequence.match(records, true, List.of(BEGIN, RETRY, COMMIT)).isComplete());
+        assertTrue(LogSequence.match(records, true, List.of(BEGIN, BEGIN, RETRY)).isComplete());
+        assertTrue(LogSequence.match(records, true, List.of(COMMIT)).isComplete());
+    }
+
+    @Test
+    void shouldReportLongestStrictPrefix() {
+        var records = records("begin", "other", "begin", "retry 1", "other");
+        var sequence = LogSequence.match(records, true, List.of(BEGIN, RETRY, COMMIT));
+        assertFalse(sequence.isComplete());
+        assertEquals(2, sequence.getMatched());
+        var report = sequence.toString();
+        assertTrue(report.contains("Expected log sequence (strict)"), report);
+        assertTrue(report.contains("#2 INFO message is exactly=begin"), report);
+        assertTrue(report.contains("#3 WARN message containing=retry"), report);
+        assertTrue(report.contains("#4 INFO: " + TestLogHandlerTest.class.getName() + "-other does not match"),
+                report);
+
+        sequence = LogSequence.match(records("begin"), true, List.of(BEGIN, RETRY));
+        assertTrue(sequence.toString().contains("no further record"), sequence.toString());
+        sequence = LogSequence.match(records("other"), true, List.of(BEGIN));
+        assertEquals(0, sequence.getMatched());
+        assertTrue(sequence.toString().contains("no matching record"), sequence.toString());
+    }
+
+    @Test
+    void shouldDescribeQueries() {
+        assertEquals("WARN", LogRecordQuery.level(TestLogLevel.WARN).toString());
+        assertTrue(LogRecordQuery.level(TestLogLevel.WARN).test(create(TestLogLevel.WARN, "any", null)));
+        var custom = LogRecordQuery.matching("no message", r -> null == r.getMessage());
+        assertEquals("no message", custom.toString());
+        assertTrue(custom.test(create(TestLogLevel.INFO, null, null)));
+        assertFalse(RETRY.test(create(TestLogLevel.WARN, null, null)));
+        assertThrows(AssertionError.class, () -> LogRecordQuery.matching(null, r -> true));
+        assertThrows(AssertionError.class, () -> message(TestLogLevel.INFO, null));
+    }
+
+    private static List<LogRecord> records(String... messages) {
+        List<LogRecord> records = new ArrayList<>();
+        for (String message : messages) {
+            records.add(create(message.startsWith("retry") ? TestLogLevel.WARN : TestLogLevel.INFO, message, null));
+        }
+        return records;
+    }
+}
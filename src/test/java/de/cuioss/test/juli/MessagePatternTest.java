@@ -0,0 +1,77 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.regex.PatternSyntaxException;
+
+
+import org.junit.jupiter.api.Test;
+
+class MessagePatternTest {
+
+    @Test
+    void shouldDeriveLiteral() {
+        assertLiteral(" logged in", false, "User \\w+ logged in");
+        assertLiteral("User ", true, "^User \\w+ in");
+        assertLiteral(" logged in after ", false, "\\w+ logged in after \\d+ ms");
+        assertLiteral("Value 1.5", true, "Value 1\\.5.*");
+        assertLiteral(" connection", false, ".*(retry)? connection.*");
+        assertLiteral("Start", true, "Start(ed)?.*");
+        assertLiteral("ab", true, "ab+c.*");
+        assertLiteral(" element", false, "[a-z]+ elements?");
+        assertLiteral(null, false, "a|b");
+        assertLiteral(null, false, "(?i)user.*");
+        assertLiteral(null, false, "\\Quser\\E.*");
+        assertLiteral(null, false, "\\x41.*");
+        assertLiteral(null, false, ".*");
+        assertLiteral(" user", false, "\\p{Lu}+ user");
+        assertLiteral("foo", false, "\\pLfoo");
+    }
+
+    @Test
+    void shouldMatchCompleteMessage() {
+        var underTest = MessagePattern.compile("User \\w+ logged in");
+        assertTrue(underTest.matches("User alice logged in"));
+        assertFalse(underTest.matches("User alice logged in twice"));
+        assertFalse(underTest.matches("Admin alice logged in"));
+        assertFalse(underTest.matches(null));
+        assertTrue(MessagePattern.compile("(?i)user.*").matches("USER alice"));
+        assertTrue(MessagePattern.compile("\\pLfoo").matches("xfoo"));
+        assertFalse(MessagePattern.compile("\\PLfoo").matches("xfoo"));
+    }
+
+    @Test
+    void shouldCachePatterns() {
+        assertSame(MessagePattern.compile("cached.*"), MessagePattern.compile("cached.*"));
+        for (var i = 0; i < MessagePattern.CACHE_SIZE + 10; i++) {
+            MessagePattern.compile("pattern " + i);
+        }
+        assertEquals(MessagePattern.CACHE_SIZE, MessagePattern.cacheSize());
+        assertThrows(PatternSyntaxException.class, () -> MessagePattern.compile("("));
+    }
+
+    private static void assertLiteral(String literal, boolean prefix, String regex) {
+        var underTest = MessagePattern.compile(regex);
+        assertEquals(literal, underTest.getLiteral(), regex);
+        assertEquals(prefix, underTest.isPrefix(), regex);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+
+
+import org.junit.jupiter.api.Test;
+
+class ParameterRetentionTest {
+
+    @Test
+    void shouldKeepOrDrop() {
+        var parameters = new Object[] { "value", List.of(1) };
+        assertSame(parameters, ParameterRetention.KEEP.retain(parameters));
+        assertNull(ParameterRetention.DROP.retain(parameters));
+        assertNull(ParameterRetention.SNAPSHOT.retain(null));
+    }
+
+    @Test
+    void shouldSnapshot() {
+        var large = "x".repeat(ParameterRetention.SNAPSHOT_LENGTH * 2);
+        var retained = ParameterRetention.SNAPSHOT
+                .retain(new Object[] { 42, TestLogLevel.INFO, List.of(1, 2), large, null, new Failing() });
+        assertEquals(42, retained[0]);
+        assertSame(TestLogLevel.INFO, retained[1]);
+        assertEquals("[1, 2]", retained[2]);
+        assertEquals(ParameterRetention.SNAPSHOT_LENGTH, ((String) retained[3]).length());
+        assertNull(retained[4]);
+        assertEquals("<" + Failing.class.getName() + ">", retained[5]);
+    }
+
+    @Test
+    void shouldHoldWeakly() {
+        var list = List.of(1, 2);
+        var retained = ParameterRetention.WEAK.retain(new Object[] { 42, "value", list });
+        assertEquals(42, retained[0]);
+        assertEquals("value", retained[1]);
+        var weak = assertInstanceOf(WeakParameter.class, retained[2]);
+        assertSame(list, weak.get());
+        assertEquals("[1, 2]", weak.toString());
+    }
+
+    private static final class Failing {
+
+        @Override
+        public String toString() {
+            throw new IllegalStateException();
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class RecordPublisherTest {
+
+    private final RecordPublisher underTest = new RecordPublisher();
+
+    @AfterEach
+    void after() {
+        underTest.close();
+    }
+
+    @Test
+    void shouldPassRequestedRecords() throws InterruptedException {
+        var subscriber = new RecordingSubscriber(0);
+        underTest.subscribe(subscriber, 8, OverflowPolicy.DROP_OLDEST);
+        subscriber.awaitSubscription();
+        for (var i = 0; i < 3; i++) {
+            assertEquals(0, underTest.offer(record("message " + i)));
+        }
+        subscriber.request(2, 2);
+        assertEquals(List.of("message 0", "message 1"), subscriber.messages());
+        subscriber.request(5, 3);
+        assertEquals("message 2", subscriber.messages().get(2));
+
+        underTest.close();
+        assertTrue(subscriber.completed.await(10, TimeUnit.SECONDS));
+        assertFalse(underTest.hasSubscribers());
+    }
+
+    @Test
+    void shouldDropLatest() throws InterruptedException {
+        var subscriber = subscribe(OverflowPolicy.DROP_LATEST);
+        assertEquals(0, underTest.offer(record("first")));
+        assertEquals(0, underTest.offer(record("second")));
+        assertEquals(1, underTest.offer(record("third")));
+        subscriber.request(3, 2);
+        assertEquals(List.of("first", "second"), subscriber.messages());
+    }
+
+    @Test
+    void shouldDropOldest() throws InterruptedException {
+        var subscriber = subscribe(OverflowPolicy.DROP_OLDEST);
+        underTest.offer(record("first"));
+        underTest.offer(record("second"));
+        assertEquals(1, underTest.offer(record("third")));
+        subscriber.request(3, 2);
+        assertEquals(List.of("second", "third"), subscriber.messages());
+    }
+
+    @Test
+    void shouldCancelOnOverflow() throws InterruptedException {
+        var subscriber = subscribe(OverflowPolicy.CANCEL);
+        underTest.offer(record("first"));
+        underTest.offer(record("second"));
+        assertEquals(3, underTest.offer(record("third")));
+        assertTrue(subscriber.completed.await(10, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, subscriber.error);
+        assertFalse(underTest.hasSubscribers());
+        assertEquals(0, underTest.offer(record("fourth")));
+    }
+
+    @Test
+    void shouldSignalInvalidRequest() throws InterruptedException {
+        var subscriber = subscribe(OverflowPolicy.DROP_OLDEST);
+        subscriber.subscription.request(0);
+        assertTrue(subscriber.completed.await(10, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, subscriber.error);
+    }
+
+    @Test
+    void shouldStopOnCancel() throws InterruptedException {
+        var subscriber = subscribe(OverflowPolicy.DROP_OLDEST);
+        subscriber.subscription.cancel();
+        assertFalse(underTest.hasSubscribers());
+        assertEquals(0, underTest.offer(record("first")));
+        assertThrows(NullPointerException.class, () -> underTest.subscribe(null, 1, OverflowPolicy.CANCEL));
+    }
+
+    @Test
+    void shouldPassBufferedRecordsRequestedAfterClose() throws InterruptedException {
+        var subscriber = new RecordingSubscriber(1);
+        underTest.subscribe(subscriber, 8, OverflowPolicy.DROP_OLDEST);
+        subscriber.awaitSubscription();
+        for (var i = 0; i < 3; i++) {
+            underTest.offer(record("message " + i));
+        }
+        underTest.close();
+        assertFalse(subscriber.completed.await(100, TimeUnit.MILLISECONDS));
+        subscriber.request(5, 3);
+        assertEquals(List.of("message 0", "message 1", "message 2"), subscriber.messages());
+        assertTrue(subscriber.completed.await(10, TimeUnit.SECONDS));
+        assertNull(subscriber.error);
+        assertFalse(underTest.hasSubscribers());
+    }
+
+    @Test
+    void shouldCompleteSubscriptionAfterClose() throws InterruptedException {
+        underTest.close();
+        var subscriber = new RecordingSubscriber(0);
+        underTest.subscribe(subscriber, 1, OverflowPolicy.DROP_OLDEST);
+        assertTrue(subscriber.completed.await(10, TimeUnit.SECONDS));
+        assertNull(subscriber.error);
+    }
+
+    private RecordingSubscriber subscribe(OverflowPolicy policy) throws InterruptedException {
+        var subscriber = new RecordingSubscriber(0);
+        underTest.subscribe(subscriber, 2, policy);
+        subscriber.awaitSubscription();
+        return subscriber;
+    }
+
+    private static LogRecord record(String message) {
+        return new LogRecord(Level.INFO, message);
+    }
+
+    static final class RecordingSubscriber implements Flow.Subscriber<LogRecord> {
+
+        final List<LogRecord> received = new CopyOnWriteArrayList<>();
+
+        final CountDownLatch subscribed = new CountDownLatch(1);
+
+        final CountDownLatch completed = new CountDownLatch(1);
+
+        private final long initialRequest;
+
+        volatile Flow.Subscription subscription;
+
+        volatile Throwable error;
+
+        private CountDownLatch expected = new CountDownLatch(0);
+
+        RecordingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscribed.countDown();
+            if (initialRequest > 0) {
+                subscription.request(initialRequest);
+            }
+        }
+
+        @Override
+        public synchronized void onNext(LogRecord item) {
+            received.add(item);
+            expected.countDown();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            completed.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed.countDown();
+        }
+
+        void awaitSubscription() throws InterruptedException {
+            assertTrue(subscribed.await(10, TimeUnit.SECONDS));
+        }
+
+        /**
+         * Requests the given number of records and waits until the given total
+         * number has been received.
+         */
+        void request(long n, int total) throws InterruptedException {
+            synchronized (this) {
+                expected = new CountDownLatch(Math.max(0, total - received.size()));
+            }
+            subscription.request(n);
+            assertTrue(expected.await(10, TimeUnit.SECONDS));
+        }
+
+        List<String> messages() {
+            return received.stream().map(LogRecord::getMessage).toList();
+        }
+    }
+}
@@ -0,0 +1,361 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RecordStoreTest {
+
+    private static final String LOGGER = "some.Logger";
+
+    private RecordStore underTest;
+
+    @BeforeEach
+    void before() {
+        underTest = new RecordStore();
+    }
+
+    @Test
+    void shouldStoreAcrossChunks() {
+        var count = RecordStore.CHUNK_SIZE * 2 + 1;
+        for (var i = 0; i < count; i++) {
+            underTest.add(create(i % 2 == 0 ? Level.INFO : Level.FINE, "message " + i % 10));
+        }
+        assertEquals(count, underTest.size());
+        var index = RecordStore.CHUNK_SIZE + 3;
+        assertEquals("message " + index % 10, underTest.get(index).getMessage());
+        assertEquals(RecordStore.CHUNK_SIZE + 1, scan(Level.INFO, null, null).size());
+        assertEquals(count / 10 + 1, scan(null, null, "message 0").size());
+        assertEquals(10, underTest.messageDictionarySize());
+        assertEquals(1, underTest.loggerDictionarySize());
+    }
+
+    @Test
+    void shouldInternMessages() {
+        var first = create(Level.INFO, new String("message"));
+        var second = create(Level.INFO, new String("message"));
+        assertFalse(underTest.add(first));
+        assertTrue(underTest.add(second));
+        assertSame(first.getMessage(), second.getMessage());
+        assertSame(first.getLoggerName(), second.getLoggerName());
+    }
+
+    @Test
+    void shouldMatchLevelByValue() {
+        underTest.add(create(Level.INFO, "message"));
+        underTest.add(create(new Level("CUSTOM_INFO", Level.INFO.intValue()) {
+
+            private static final long serialVersionUID = 1L;
+        }, "message"));
+        underTest.add(create(Level.WARNING, "message"));
+        assertEquals(2, scan(Level.INFO, null, null).size());
+        assertEquals(0, scan(Level.SEVERE, null, null).size());
+    }
+
+    @Test
+    void shouldMatchLoggerIgnoringCase() {
+        underTest.add(create(Level.INFO, "message"));
+        var other = create(Level.INFO, "message");
+        other.setLoggerName(LOGGER.toUpperCase());
+        underTest.add(other);
+        assertEquals(2, scan(null, LOGGER.toLowerCase(), null).size());
+        assertEquals(2, scan(Level.INFO, LOGGER, "message").size());
+        assertEquals(0, scan(null, "other", null).size());
+        assertEquals(2, underTest.loggerDictionarySize());
+    }
+
+    @Test
+    void shouldFilterByTime() {
+        for (var second = 0; second < 10; second++) {
+            var logRecord = create(Level.INFO, "message");
+            logRecord.setInstant(Instant.ofEpochSecond(second));
+            underTest.add(logRecord);
+        }
+        List<LogRecord> result = new ArrayList<>();
+        underTest.scan(null, null, null, null, null, 2_000_000_000L, 4_000_000_000L, logRecord -> true, result::add);
+        assertEquals(3, result.size());
+        assertEquals(Instant.ofEpochSecond(2), result.get(0).getInstant());
+    }
+
+    @Test
+    void shouldApplyFilterAfterColumns() {
+        underTest.add(create(Level.INFO, "first"));
+        underTest.add(create(Level.INFO, "second"));
+        List<LogRecord> result = new ArrayList<>();
+        underTest.scan(Level.INFO, null, null, null, null, Long.MIN_VALUE, Long.MAX_VALUE,
+                logRecord -> logRecord.getMessage().startsWith("s"), result::add);
+        assertEquals(1, result.size());
+    }
+
+    @Test
+    void shouldMatchFormattedMessage() {
+        var logRecord = create(Level.INFO, "Hello {0}");
+        logRecord.setParameters(new Object[] { "World" });
+        underTest.add(logRecord);
+        underTest.add(create(Level.INFO, "Hello World"));
+        underTest.add(create(Level.INFO, null));
+        List<LogRecord> result = new ArrayList<>();
+        underTest.scan(null, null, null, "Hello World"::equals, null, Long.MIN_VALUE, Long.MAX_VALUE, r -> true,
+                result::add);
+        assertEquals(2, result.size());
+        assertEquals("Hello World", RecordStore.format(logRecord));
+        assertEquals("Hello {0}", logRecord.getMessage());
+    }
+
+    @Test
+    void shouldStartNextEpoch() {
+        underTest.add(create(Level.INFO, "message"));
+        var previous = underTest;
+        var snapshot = previous.snapshot();
+        underTest = previous.nextEpoch();
+        assertEquals(0, underTest.size());
+        assertEquals(0, underTest.messageDictionarySize());
+        assertEquals(previous.nextSequence(), underTest.nextSequence());
+        assertTrue(scan(null, null, null).isEmpty());
+        underTest.add(create(Level.FINE, "other"));
+        assertEquals(1, scan(Level.FINE, LOGGER, "other").size());
+        assertEquals(1, snapshot.size());
+        assertEquals("message", snapshot.get(0).getMessage());
+    }
+
+    @Test
+    void shouldKeepSnapshotAtHighWaterMark() {
+        for (var i = 0; i < RecordStore.CHUNK_SIZE * 4; i++) {
+            underTest.add(create(Level.INFO, "message " + i % 10));
+        }
+        underTest.add(create(Level.INFO, "retry"));
+        var snapshot = underTest.snapshot();
+        underTest.collapse(create(Level.INFO, "retry"), CallSiteTable.NO_CALL_SITE, ThreadTable.NO_THREAD);
+        for (var i = 0; i < RecordStore.CHUNK_SIZE * 4; i++) {
+            underTest.add(create(Level.INFO, "later"));
+        }
+
+        List<LogRecord> result = new ArrayList<>();
+        snapshot.scan(Level.INFO, null, "retry", null, null, Long.MIN_VALUE, Long.MAX_VALUE, r -> true, result::add);
+        assertEquals(1, result.size());
+        assertEquals(2, scan(Level.INFO, null, "retry").size());
+        result.clear();
+        snapshot.scan(null, null, "later", null, null, Long.MIN_VALUE, Long.MAX_VALUE, r -> true, result::add);
+        assertTrue(result.isEmpty());
+        assertEquals(RecordStore.CHUNK_SIZE * 4 + 1, snapshot.size());
+        List<Integer> counts = new ArrayList<>();
+        snapshot.forEachEntry((logRecord, count) -> counts.add(count));
+        assertEquals(1, counts.get(counts.size() - 1));
+
+        snapshot.restrict(snapshot.nextSequence() - 1, Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE);
+        result.clear();
+        snapshot.scanMessages(null, message -> true, r -> true, result::add);
+        assertEquals(List.of("retry"), result.stream().map(LogRecord::getMessage).toList());
+        assertEquals(RecordStore.CHUNK_SIZE * 8 + 2, scan(null, null, null).size());
+    }
+
+    @Test
+    void shouldParseIdentifier() {
+        assertEquals("PORTAL-123", IdentifierIndex.parse("PORTAL-123: Some message"));
+        assertEquals("CUI_2-1", IdentifierIndex.parse("CUI_2-1 Some message"));
+        assertEquals("A-1", IdentifierIndex.parse("A-1"));
+        assertNull(IdentifierIndex.parse(null));
+        assertNull(IdentifierIndex.parse(""));
+        assertNull(IdentifierIndex.parse("portal-123: lower case"));
+        assertNull(IdentifierIndex.parse("PORTAL-: no number"));
+        assertNull(IdentifierIndex.parse("PORTAL-12a: trailing"));
+        assertNull(IdentifierIndex.parse("PORTAL"));
+        assertNull(IdentifierIndex.parse("1-2: leading digit"));
+    }
+
+    @Test
+    void shouldResolveByIdentifier() {
+        for (var i = 0; i < 100; i++) {
+            underTest.add(create(i % 2 == 0 ? Level.INFO : Level.FINE, "PORTAL-" + i % 5 + ": message " + i));
+        }
+        assertEquals(5, underTest.identifierIndexSize());
+        List<LogRecord> result = new ArrayList<>();
+        underTest.scanEntries(underTest.identifierEntries("PORTAL-3"), null, logRecord -> true, result::add);
+        assertEquals(20, result.size());
+        assertEquals("PORTAL-3: message 3", result.get(0).getMessage());
+        assertEquals("PORTAL-3: message 98", result.get(19).getMessage());
+        result.clear();
+        underTest.scanEntries(underTest.identifierEntries("PORTAL-3"), Level.INFO, logRecord -> true, result::add);
+        assertEquals(10, result.size());
+        assertEquals(0, underTest.identifierEntries("PORTAL-5").length);
+
+        underTest = underTest.nextEpoch();
+        assertEquals(0, underTest.identifierIndexSize());
+        assertEquals(0, underTest.identifierEntries("PORTAL-3").length);
+    }
+
+    @Test
+    void shouldEvaluateMessagePredicateOncePerMessage() {
+        for (var i = 0; i < 100; i++) {
+            underTest.add(create(i % 2 == 0 ? Level.INFO : Level.FINE, "message " + i % 5));
+        }
+        underTest.add(create(Level.INFO, null));
+        var evaluations = new int[1];
+        List<LogRecord> result = new ArrayList<>();
+        underTest.scanMessages(null, message -> {
+            evaluations[0]++;
+            return null != message && message.endsWith("3");
+        }, logRecord -> true, result::add);
+        assertEquals(20, result.size());
+        assertEquals(6, evaluations[0]);
+        result.clear();
+        underTest.scanMessages(Level.INFO, "message 3"::equals, logRecord -> true, result::add);
+        assertEquals(10, result.size());
+    }
+
+    @Test
+    void shouldScanCauseChains() {
+        var first = create(Level.INFO, "failed");
+        first.setThrown(new IllegalStateException(new IllegalArgumentException()));
+        var second = create(Level.INFO, "failed");
+        second.setThrown(new IllegalStateException(new IllegalArgumentException("other")));
+        underTest.add(first);
+        underTest.add(second);
+        underTest.add(create(Level.INFO, "failed"));
+        assertEquals(1, underTest.causeChainTableSize());
+
+        List<LogRecord> result = new ArrayList<>();
+        underTest.scan(null, null, null, null,
+                chain -> ThrownTypes.matches(chain, IllegalArgumentException.class, false, true), Long.MIN_VALUE,
+                Long.MAX_VALUE, logRecord -> true, result::add);
+        assertEquals(2, result.size());
+        result.clear();
+        underTest.scan(null, null, null, null, chain -> false, Long.MIN_VALUE, Long.MAX_VALUE, logRecord -> true,
+                result::add);
+        assertTrue(result.isEmpty());
+
+        underTest = underTest.nextEpoch();
+        assertEquals(0, underTest.causeChainTableSize());
+    }
+
+    @Test
+    void shouldCollapseRepeats() {
+        underTest.add(create(Level.INFO, "first"));
+        for (var second = 0; second < 5; second++) {
+            var logRecord = create(Level.INFO, "retry");
+            logRecord.setInstant(Instant.ofEpochSecond(second));
+            if (!underTest.collapse(logRecord, CallSiteTable.NO_CALL_SITE, ThreadTable.NO_THREAD)) {
+                underTest.add(logRecord);
+            }
+        }
+        assertFalse(underTest.collapse(create(Level.WARNING, "retry"), CallSiteTable.NO_CALL_SITE,
+                ThreadTable.NO_THREAD));
+        var thrown = create(Level.INFO, "retry");
+        thrown.setThrown(new IllegalStateException());
+        assertFalse(underTest.collapse(thrown, CallSiteTable.NO_CALL_SITE, ThreadTable.NO_THREAD));
+        underTest.add(create(Level.INFO, "last"));
+
+        assertEquals(3, underTest.entries());
+        assertEquals(7, underTest.size());
+        assertEquals("retry", underTest.get(5).getMessage());
+        assertEquals("last", underTest.get(6).getMessage());
+        assertEquals(5, scan(Level.INFO, null, "retry").size());
+        List<LogRecord> result = new ArrayList<>();
+        underTest.scan(null, null, null, null, null, 3_000_000_000L, Long.MAX_VALUE, logRecord -> "retry"
+                .equals(logRecord.getMessage()), result::add);
+        assertEquals(5, result.size());
+        List<Integer> counts = new ArrayList<>();
+        underTest.forEachEntry((logRecord, count) -> counts.add(count));
+        assertEquals(List.of(1, 5, 1), counts);
+    }
+
+    @Test
+    void shouldRestrictToWindow() {
+        for (var i = 0; i < RecordStore.CHUNK_SIZE + 10; i++) {
+            underTest.add(create(Level.INFO, "message " + i % 10));
+        }
+        underTest = underTest.nextEpoch();
+        var start = underTest.nextSequence();
+        underTest.add(create(Level.INFO, "before"));
+        underTest.reserveSequence();
+        for (var i = 0; i < 3; i++) {
+            var repeated = create(Level.INFO, "repeated");
+            if (!underTest.collapse(repeated, CallSiteTable.NO_CALL_SITE, ThreadTable.NO_THREAD)) {
+                underTest.add(repeated);
+            }
+        }
+        underTest.add(create(Level.INFO, "after"));
+
+        underTest.restrict(start + 3, start + 6, Long.MIN_VALUE, Long.MAX_VALUE);
+        assertTrue(underTest.inWindow(start + 5, create(Level.INFO, "any")));
+        assertFalse(underTest.inWindow(start + 6, create(Level.INFO, "any")));
+        var result = scan(null, null, null);
+        assertEquals(3, result.size());
+        assertEquals("repeated", result.get(0).getMessage());
+        assertEquals("after", result.get(2).getMessage());
+        underTest.restrict(start, start + 1, Long.MIN_VALUE, Long.MAX_VALUE);
+        assertEquals(List.of("before"), scan(null, null, null).stream().map(LogRecord::getMessage).toList());
+        underTest.restrict(Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE);
+        assertEquals(5, scan(null, null, null).size());
+    }
+
+    @Test
+    void shouldLocateTimeRangeAcrossChunks() {
+        var count = RecordStore.CHUNK_SIZE * 4;
+        for (var i = 0; i < count; i++) {
+            var logRecord = create(Level.INFO, "message");
+            logRecord.setInstant(Instant.ofEpochMilli(i));
+            underTest.add(logRecord);
+        }
+        var late = create(Level.INFO, "late");
+        late.setInstant(Instant.ofEpochMilli(10));
+        underTest.add(late);
+
+        List<LogRecord> result = new ArrayList<>();
+        underTest.scan(null, null, null, null, null, 5_000_000L, 14_000_000L, logRecord -> true, result::add);
+        assertEquals(11, result.size());
+        assertEquals("late", result.get(10).getMessage());
+        result.clear();
+        underTest.restrict(Long.MIN_VALUE, Long.MAX_VALUE, RecordStore.epochNanos(Instant.ofEpochMilli(count - 2)),
+                Long.MAX_VALUE);
+        underTest.scanMessages(null, message -> true, logRecord -> true, result::add);
+        assertEquals(2, result.size());
+        assertEquals(Long.MAX_VALUE, RecordStore.epochNanos(Instant.MAX));
+        assertEquals(Long.MIN_VALUE, RecordStore.epochNanos(Instant.MIN));
+    }
+
+    @Test
+    void shouldFoldCase() {
+        assertEquals(RecordStore.foldCase("Some.LOGGER"), RecordStore.foldCase("some.logger"));
+    }
+
+    private List<LogRecord> scan(Level level, String logger, String message) {
+        List<LogRecord> result = new ArrayList<>();
+        underTest.scan(level, logger, message, null, null, Long.MIN_VALUE, Long.MAX_VALUE, logRecord -> true,
+                result::add);
+        return result;
+    }
+
+    private static LogRecord create(Level level, String message) {
+        var logRecord = new LogRecord(level, message);
+        logRecord.setLoggerName(LOGGER);
+        return logRecord;
+    }
+}
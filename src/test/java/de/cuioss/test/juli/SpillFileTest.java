@@ -0,0 +1,202 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SpillFileTest {
+
+    private static final String MESSAGE = "message";
+
+    @TempDir
+    Path tempDir;
+
+    private SpillFile underTest;
+
+    @BeforeEach
+    void before() throws IOException {
+        underTest = new SpillFile(tempDir, SpillFile.DEFAULT_SEGMENT_SIZE);
+    }
+
+    @AfterEach
+    void after() throws IOException {
+        underTest.close();
+    }
+
+    @Test
+    void shouldRoundTripRecord() throws IOException {
+        var logRecord = new LogRecord(Level.WARNING, "message {0} {1}");
+        logRecord.setLoggerName(SpillFileTest.class.getName());
+        logRecord.setParameters(new Object[] { 42, null });
+        logRecord.setThrown(new IllegalStateException("boom", new IllegalArgumentException()));
+        logRecord.setSourceClassName("SourceClass");
+        logRecord.setSourceMethodName("sourceMethod");
+        logRecord.setInstant(Instant.parse("2025-01-01T10:15:30.123456789Z"));
+        logRecord.setLongThreadID(4711L);
+
+        assertTrue(underTest.append(logRecord, 0) > 0);
+        var spilled = readAll();
+
+        assertEquals(1, spilled.size());
+        var read = spilled.get(0);
+        assertEquals(Level.WARNING, read.getLevel());
+        assertEquals(SpillFileTest.class.getName(), read.getLoggerName());
+        assertEquals("message {0} {1}", read.getMessage());
+        assertArrayEquals(new Object[] { "42", null }, read.getParameters());
+        assertEquals("SourceClass", read.getSourceClassName());
+        assertEquals("sourceMethod", read.getSourceMethodName());
+        assertEquals(logRecord.getInstant(), read.getInstant());
+        assertEquals(logRecord.getSequenceNumber(), read.getSequenceNumber());
+        assertEquals(4711L, read.getLongThreadID());
+        var thrown = assertInstanceOf(ThrowableSummary.class, read.getThrown());
+        assertEquals(IllegalStateException.class.getName(), thrown.getThrownClassName());
+        assertEquals("boom", thrown.getMessage());
+        assertTrue(thrown.isOfType(IllegalStateException.class));
+        assertArrayEquals(new Class<?>[] { IllegalStateException.class, IllegalArgumentException.class },
+                thrown.getCauseChain());
+    }
+
+    @Test
+    void shouldHandleNullValues() throws IOException {
+        underTest.append(new LogRecord(Level.INFO, null), 0);
+        var read = readAll().get(0);
+        assertEquals(Level.INFO, read.getLevel());
+        assertNull(read.getMessage());
+        assertNull(read.getLoggerName());
+        assertNull(read.getParameters());
+        assertNull(read.getThrown());
+    }
+
+    @Test
+    void shouldResolveCustomLevel() throws IOException {
+        var custom = new Level("CUSTOM", 850) {
+
+            private static final long serialVersionUID = 1L;
+        };
+        underTest.append(new LogRecord(custom, "custom"), 0);
+        assertEquals(850, readAll().get(0).getLevel().intValue());
+    }
+
+    @Test
+    void shouldDeduplicateRepeatedStrings() throws IOException {
+        var first = underTest.append(new LogRecord(Level.INFO, "repeated message"), 0);
+        var second = underTest.append(new LogRecord(Level.INFO, "repeated message"), 1);
+        assertTrue(second < first);
+        assertEquals(2, underTest.getSize());
+        assertEquals(2, readAll().size());
+    }
+
+    @Test
+    void shouldRollSegments() throws IOException {
+        underTest.close();
+        underTest = new SpillFile(tempDir, 128);
+        for (var i = 0; i < 100; i++) {
+            underTest.append(new LogRecord(Level.FINE, "message " + i), 2L * i);
+        }
+        var spilled = readAll();
+        assertEquals(100, spilled.size());
+        for (var i = 0; i < 100; i++) {
+            assertEquals("message " + i, spilled.get(i).getMessage());
+        }
+        List<Long> sequences = new ArrayList<>();
+        underTest.forEachSequenced((logRecord, sequence) -> sequences.add(sequence));
+        assertEquals(198L, sequences.get(99));
+        assertTrue(countFiles() > 1);
+    }
+
+    @Test
+    void shouldDeleteFilesOnClearAndClose() throws IOException {
+        underTest.append(new LogRecord(Level.INFO, MESSAGE), 0);
+        underTest.flush();
+        assertTrue(countFiles() > 0);
+
+        underTest.clear();
+        assertEquals(0, underTest.getSize());
+        assertEquals(0, underTest.getBytes());
+        assertEquals(0, countFiles());
+        assertTrue(readAll().isEmpty());
+
+        underTest.append(new LogRecord(Level.INFO, MESSAGE), 0);
+        assertEquals(MESSAGE, readAll().get(0).getMessage());
+
+        underTest.close();
+        try (var files = Files.list(tempDir)) {
+            assertFalse(files.findAny().isPresent());
+        }
+    }
+
+    @Test
+    void shouldRetainSegmentsOfSnapshot() throws IOException {
+        underTest.append(new LogRecord(Level.INFO, "first"), 0);
+        var snapshot = underTest.snapshot();
+        underTest.append(new LogRecord(Level.INFO, "second"), 1);
+        underTest.clear();
+        underTest.append(new LogRecord(Level.INFO, "third"), 2);
+        assertEquals(1, snapshot.getSize());
+
+        List<LogRecord> decoded = new ArrayList<>();
+        snapshot.forEach(decoded::add);
+        assertEquals(List.of("first"), decoded.stream().map(LogRecord::getMessage).toList());
+        assertEquals(List.of("third"), readAll().stream().map(LogRecord::getMessage).toList());
+
+        underTest.close();
+        assertTrue(countFiles() > 0);
+        snapshot.close();
+        try (var files = Files.list(tempDir)) {
+            assertFalse(files.findAny().isPresent());
+        }
+    }
+
+    @Test
+    void shouldEncodeZigZag() {
+        for (long value : new long[] { 0, 1, -1, Long.MAX_VALUE, Long.MIN_VALUE }) {
+            assertEquals(value, SpillFile.unZigZag(SpillFile.zigZag(value)));
+        }
+        assertEquals(1, SpillFile.zigZag(-1));
+    }
+
+    private List<LogRecord> readAll() {
+        List<LogRecord> result = new ArrayList<>();
+        underTest.forEach(result::add);
+        return result;
+    }
+
+    private long countFiles() throws IOException {
+        try (var files = Files.walk(tempDir)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+}
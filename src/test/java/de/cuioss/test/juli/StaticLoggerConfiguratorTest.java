@@ -15,11 +15,24 @@
  */
 package de.cuioss.test.juli;
 
+import static de.cuioss.test.juli.ConfigurationKeys.CONFIGURATION_KEY_COLLAPSE_REPEATED;
+import static de.cuioss.test.juli.ConfigurationKeys.CONFIGURATION_KEY_EXPORT_BUFFER;
+import static de.cuioss.test.juli.ConfigurationKeys.CONFIGURATION_KEY_EXPORT_DIRECTORY;
+import static de.cuioss.test.juli.ConfigurationKeys.CONFIGURATION_KEY_EXPORT_FAILED_ONLY;
+import static de.cuioss.test.juli.ConfigurationKeys.CONFIGURATION_KEY_EXPORT_MODE;
+import static de.cuioss.test.juli.ConfigurationKeys.CONFIGURATION_KEY_PARAMETER_RETENTION;
+import static de.cuioss.test.juli.ConfigurationKeys.CONFIGURATION_KEY_RECORD_CALL_SITES;
+import static de.cuioss.test.juli.ConfigurationKeys.CONFIGURATION_KEY_SUBSCRIBER_BUFFER;
+import static de.cuioss.test.juli.ConfigurationKeys.CONFIGURATION_KEY_SUBSCRIBER_OVERFLOW;
+import static de.cuioss.test.juli.ConfigurationKeys.CONFIGURATION_KEY_THROWABLE_RETENTION;
 import static de.cuioss.test.juli.ConfigurationKeys.LOGGER_PREFIX;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.nio.file.Path;
+import java.util.Optional;
+
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -50,4 +63,100 @@ class StaticLoggerConfiguratorTest {
         System.setProperty(LOGGER_PREFIX + testLogger, BOOLEAN_SYTEM_PROPERTY_NAME);
         assertEquals(1, underTest.getConfiguredLogger().size());
     }
+
+    @Test
+    void shouldReadParameterRetention() {
+        assertTrue(underTest.getParameterRetention().isEmpty());
+        try {
+            System.setProperty(CONFIGURATION_KEY_PARAMETER_RETENTION, " snapshot");
+            assertEquals(ParameterRetention.SNAPSHOT, underTest.getParameterRetention().get());
+            System.setProperty(CONFIGURATION_KEY_PARAMETER_RETENTION, "invalid");
+            assertTrue(underTest.getParameterRetention().isEmpty());
+        } finally {
+            System.clearProperty(CONFIGURATION_KEY_PARAMETER_RETENTION);
+        }
+    }
+
+    @Test
+    void shouldReadRecordCallSites() {
+        assertFalse(underTest.isRecordCallSites());
+        try {
+            System.setProperty(CONFIGURATION_KEY_RECORD_CALL_SITES, "true");
+            assertTrue(underTest.isRecordCallSites());
+        } finally {
+            System.clearProperty(CONFIGURATION_KEY_RECORD_CALL_SITES);
+        }
+    }
+
+    @Test
+    void shouldReadCollapseRepeated() {
+        assertFalse(underTest.isCollapseRepeated());
+        try {
+            System.setProperty(CONFIGURATION_KEY_COLLAPSE_REPEATED, "true");
+            assertTrue(underTest.isCollapseRepeated());
+        } finally {
+            System.clearProperty(CONFIGURATION_KEY_COLLAPSE_REPEATED);
+        }
+    }
+
+    @Test
+    void shouldReadSubscriberConfiguration() {
+        assertTrue(underTest.getSubscriberBuffer().isEmpty());
+        assertTrue(underTest.getSubscriberOverflow().isEmpty());
+        try {
+            System.setProperty(CONFIGURATION_KEY_SUBSCRIBER_BUFFER, "16");
+            System.setProperty(CONFIGURATION_KEY_SUBSCRIBER_OVERFLOW, " cancel");
+            assertEquals(Optional.of(16), underTest.getSubscriberBuffer());
+            assertEquals(Optional.of(OverflowPolicy.CANCEL), underTest.getSubscriberOverflow());
+            System.setProperty(CONFIGURATION_KEY_SUBSCRIBER_BUFFER, "0");
+            System.setProperty(CONFIGURATION_KEY_SUBSCRIBER_OVERFLOW, "invalid");
+            assertTrue(underTest.getSubscriberBuffer().isEmpty());
+            assertTrue(underTest.getSubscriberOverflow().isEmpty());
+        } finally {
+            System.clearProperty(CONFIGURATION_KEY_SUBSCRIBER_BUFFER);
+            System.clearProperty(CONFIGURATION_KEY_SUBSCRIBER_OVERFLOW);
+        }
+    }
+
+    @Test
+    void shouldReadThrowableRetention() {
+        assertTrue(underTest.getThrowableRetention().isEmpty());
+        try {
+            System.setProperty(CONFIGURATION_KEY_THROWABLE_RETENTION, "summary");
+            assertEquals(TestLogLevel.values().length, underTest.getThrowableRetention().size());
+            assertEquals(ThrowableRetention.SUMMARY, underTest.getThrowableRetention().get(TestLogLevel.ERROR));
+            System.setProperty(CONFIGURATION_KEY_THROWABLE_RETENTION, "SUMMARY, error=FULL,INFO=class_only,foo=FULL");
+            var retention = underTest.getThrowableRetention();
+            assertEquals(ThrowableRetention.FULL, retention.get(TestLogLevel.ERROR));
+            assertEquals(ThrowableRetention.SUMMARY, retention.get(TestLogLevel.WARN));
+            assertEquals(ThrowableRetention.CLASS_ONLY, retention.get(TestLogLevel.INFO));
+        } finally {
+            System.clearProperty(CONFIGURATION_KEY_THROWABLE_RETENTION);
+        }
+    }
+
+    @Test
+    void shouldReadExportConfiguration() {
+        assertFalse(underTest.getExportDirectory().isPresent());
+        assertFalse(underTest.isExportRolling());
+        assertFalse(underTest.isExportFailedOnly());
+        assertEquals(JsonLinesExporter.DEFAULT_CAPACITY, underTest.getExportBuffer());
+        try {
+            System.setProperty(CONFIGURATION_KEY_EXPORT_DIRECTORY, "target/test-logs");
+            System.setProperty(CONFIGURATION_KEY_EXPORT_MODE, "Rolling");
+            System.setProperty(CONFIGURATION_KEY_EXPORT_BUFFER, "10");
+            System.setProperty(CONFIGURATION_KEY_EXPORT_FAILED_ONLY, "true");
+            assertEquals(Path.of("target/test-logs"), underTest.getExportDirectory().get());
+            assertTrue(underTest.isExportRolling());
+            assertTrue(underTest.isExportFailedOnly());
+            assertEquals(10, underTest.getExportBuffer());
+            System.setProperty(CONFIGURATION_KEY_EXPORT_BUFFER, "invalid");
+            assertEquals(JsonLinesExporter.DEFAULT_CAPACITY, underTest.getExportBuffer());
+        } finally {
+            System.clearProperty(CONFIGURATION_KEY_EXPORT_DIRECTORY);
+            System.clearProperty(CONFIGURATION_KEY_EXPORT_MODE);
+            System.clearProperty(CONFIGURATION_KEY_EXPORT_BUFFER);
+            System.clearProperty(CONFIGURATION_KEY_EXPORT_FAILED_ONLY);
+        }
+    }
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+
+import org.junit.jupiter.api.Test;
+
+class StringDictionaryTest {
+
+    @Test
+    void shouldInternValues() {
+        var underTest = new StringDictionary();
+        var first = new String("value");
+        var id = underTest.intern(first);
+        assertEquals(0, id);
+        assertEquals(id, underTest.intern(new String("value")));
+        assertSame(first, underTest.get(id));
+        assertEquals(1, underTest.intern("other"));
+        assertEquals(2, underTest.size());
+        assertEquals(id, underTest.lookup("value"));
+        assertEquals(StringDictionary.NOT_INTERNED, underTest.lookup("missing"));
+        assertEquals(StringDictionary.NOT_INTERNED, underTest.lookup(null));
+        assertEquals(StringDictionary.NOT_INTERNED, underTest.intern(null));
+    }
+
+    @Test
+    void shouldRespectCapacity() {
+        var underTest = new StringDictionary(1);
+        assertEquals(0, underTest.intern("first"));
+        assertEquals(StringDictionary.NOT_INTERNED, underTest.intern("second"));
+        assertEquals(0, underTest.intern("first"));
+        assertEquals(1, underTest.size());
+    }
+
+    @Test
+    void shouldClear() {
+        var underTest = new StringDictionary();
+        underTest.intern("value");
+        underTest.clear();
+        assertEquals(0, underTest.size());
+        assertEquals(StringDictionary.NOT_INTERNED, underTest.lookup("value"));
+    }
+}
@@ -17,13 +17,34 @@ package de.cuioss.test.juli;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
 import java.util.logging.LogRecord;
+import java.util.logging.Logger;
 
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class TestLogHandlerTest {
 
@@ -31,6 +52,9 @@ class TestLogHandlerTest {
     static final String MESSAGE = "message";
     static final String MESSAGE_2 = "message2";
 
+    @TempDir
+    Path tempDir;
+
     private TestLogHandler underTest;
 
     @BeforeEach
@@ -143,6 +167,554 @@ class TestLogHandlerTest {
         assertEquals(1, result.size());
     }
 
+    @Test
+    void shouldShareInternedStrings() {
+        var first = create(TestLogLevel.INFO, new String(MESSAGE), null);
+        var second = create(TestLogLevel.INFO, new String(MESSAGE), null);
+        second.setLoggerName(new String(TestLogHandlerTest.class.getName()));
+        underTest.publish(first);
+        underTest.publish(second);
+        assertSame(first.getMessage(), second.getMessage());
+        assertSame(first.getLoggerName(), second.getLoggerName());
+        assertEquals(1, underTest.getStatistics().getIndexSizes().get("messageDictionary"));
+        assertEquals(1, underTest.getStatistics().getIndexSizes().get("loggerDictionary"));
+
+        underTest.clearRecords();
+        assertEquals(0, underTest.getStatistics().getIndexSizes().get("messageDictionary"));
+    }
+
+    @Test
+    void shouldResolveLoggerIgnoringCase() {
+        var upper = create(TestLogLevel.INFO, MESSAGE, null);
+        upper.setLoggerName("Some.Logger");
+        underTest.publish(upper);
+        var lower = create(TestLogLevel.INFO, MESSAGE, null);
+        lower.setLoggerName("some.logger");
+        underTest.publish(lower);
+        assertEquals(2, underTest.resolveLogMessagesForLogger("SOME.LOGGER").size());
+        assertEquals(2, underTest.resolveLogMessagesForLogger(TestLogLevel.INFO, "some.Logger").size());
+        assertEquals(0, underTest.resolveLogMessagesForLogger("some.logger.other").size());
+    }
+
+    @Test
+    void shouldResolveMessagesBeyondDictionaryCapacity() {
+        for (var i = 0; i < StringDictionary.DEFAULT_CAPACITY; i++) {
+            underTest.publish(create(TestLogLevel.DEBUG, MESSAGE + i, null));
+        }
+        underTest.publish(create(TestLogLevel.INFO, MESSAGE_2, null));
+        underTest.publish(create(TestLogLevel.INFO, MESSAGE + 1, null));
+        assertEquals(1, underTest.resolveLogMessages(TestLogLevel.INFO, MESSAGE_2).size());
+        assertEquals(1, underTest.resolveLogMessages(TestLogLevel.INFO, MESSAGE + 1).size());
+        assertEquals(1, underTest.resolveLogMessages(TestLogLevel.DEBUG, MESSAGE + 1).size());
+        assertEquals(0, underTest.resolveLogMessages(TestLogLevel.INFO, "missing").size());
+    }
+
+    @Test
+    void shouldResolveFormattedMessages() {
+        var logRecord = create(TestLogLevel.INFO, "Value {0} of {1}", null);
+        logRecord.setParameters(new Object[] { 1, "two" });
+        underTest.publish(logRecord);
+        underTest.publish(create(TestLogLevel.INFO, "Value 1 of two", null));
+        underTest.publish(create(TestLogLevel.INFO, null, null));
+
+        assertEquals(2, underTest.resolveLogMessagesFormatted(TestLogLevel.INFO, "Value 1 of two").size());
+        assertEquals(2, underTest.resolveLogMessagesFormattedContaining(TestLogLevel.INFO, "of two").size());
+        assertEquals(0, underTest.resolveLogMessagesFormatted(TestLogLevel.DEBUG, "Value 1 of two").size());
+        assertEquals(1, underTest.resolveLogMessages(TestLogLevel.INFO, "Value 1 of two").size());
+        // cached result
+        assertEquals(2, underTest.resolveLogMessagesFormatted(TestLogLevel.INFO, "Value 1 of two").size());
+    }
+
+    @Test
+    void shouldResolveByParameters() {
+        var logRecord = create(TestLogLevel.INFO, "Value {0} of {1}", null);
+        logRecord.setParameters(new Object[] { 1, null });
+        underTest.publish(logRecord);
+
+        assertEquals(1, underTest.resolveLogMessagesWithParameter(TestLogLevel.INFO, "Value {0} of {1}", 0, 1).size());
+        assertEquals(1,
+                underTest.resolveLogMessagesWithParameter(TestLogLevel.INFO, "Value {0} of {1}", 0, "1").size());
+        assertEquals(1,
+                underTest.resolveLogMessagesWithParameter(TestLogLevel.INFO, "Value {0} of {1}", 1, null).size());
+        assertEquals(0, underTest.resolveLogMessagesWithParameter(TestLogLevel.INFO, "Value {0} of {1}", 2, 1).size());
+        assertEquals(0, underTest.resolveLogMessagesWithParameter(TestLogLevel.INFO, "Value {0}", 0, 1).size());
+        assertEquals(1,
+                underTest.resolveLogMessagesWithParameters(TestLogLevel.INFO, "Value {0} of {1}", 1, null).size());
+        assertEquals(0, underTest.resolveLogMessagesWithParameters(TestLogLevel.INFO, "Value {0} of {1}", 1).size());
+        assertThrows(AssertionError.class,
+                () -> underTest.resolveLogMessagesWithParameter(TestLogLevel.INFO, "Value {0} of {1}", -1, 1));
+    }
+
+    @Test
+    void shouldResolveMatching() {
+        underTest.spillToDisk(1, tempDir);
+        underTest.publish(create(TestLogLevel.INFO, "User alice logged in", null));
+        underTest.publish(create(TestLogLevel.INFO, "User bob logged in", null));
+        underTest.publish(create(TestLogLevel.WARN, "User bob logged in", null));
+        underTest.publish(create(TestLogLevel.INFO, "User bob logged out", null));
+
+        assertEquals(2, underTest.resolveLogMessagesMatching(TestLogLevel.INFO, "User \\w+ logged in").size());
+        assertEquals(3, underTest.resolveLogMessagesMatching(TestLogLevel.INFO, "User .*").size());
+        assertEquals(1, underTest.resolveLogMessagesMatching(TestLogLevel.WARN, ".*bob.*").size());
+        assertEquals(0, underTest.resolveLogMessagesMatching(TestLogLevel.INFO, "logged in").size());
+        assertThrows(AssertionError.class, () -> underTest.resolveLogMessagesMatching(TestLogLevel.INFO, null));
+        underTest.close();
+    }
+
+    @Test
+    void shouldResolveByIdentifier() {
+        underTest.spillToDisk(1, tempDir);
+        underTest.publish(create(TestLogLevel.INFO, "PORTAL-12: Started", null));
+        underTest.publish(create(TestLogLevel.WARN, "PORTAL-12: Started", null));
+        underTest.publish(create(TestLogLevel.INFO, "PORTAL-120: Stopped", null));
+        underTest.publish(create(TestLogLevel.INFO, "PORTAL-12: Started again", null));
+
+        assertEquals(2, underTest.resolveLogMessagesWithIdentifier(TestLogLevel.INFO, "PORTAL-12").size());
+        assertEquals(1, underTest.resolveLogMessagesWithIdentifier(TestLogLevel.WARN, "PORTAL-12").size());
+        assertEquals(1, underTest.resolveLogMessagesWithIdentifier(TestLogLevel.INFO, "PORTAL-120").size());
+        assertEquals(0, underTest.resolveLogMessagesWithIdentifier(TestLogLevel.INFO, "PORTAL-1").size());
+        assertThrows(AssertionError.class, () -> underTest.resolveLogMessagesWithIdentifier(TestLogLevel.INFO, null));
+        underTest.close();
+    }
+
+    @Test
+    void shouldResolveByCauseChain() {
+        underTest.spillToDisk(1, tempDir);
+        underTest.publish(create(TestLogLevel.ERROR, MESSAGE,
+                new CompletionException(new LoggerTestException())));
+        underTest.publish(create(TestLogLevel.ERROR, MESSAGE, new LoggerTestException()));
+        underTest.publish(create(TestLogLevel.ERROR, MESSAGE_2,
+                new CompletionException(new LoggerTestException())));
+
+        assertEquals(3, underTest.resolveLogMessagesCausedBy(TestLogLevel.ERROR, LoggerTestException.class).size());
+        assertEquals(3, underTest.resolveLogMessagesCausedBy(TestLogLevel.ERROR, RuntimeException.class).size());
+        assertEquals(2,
+                underTest.resolveLogMessagesCausedBy(TestLogLevel.ERROR, MESSAGE, LoggerTestException.class).size());
+        assertEquals(0, underTest.resolveLogMessagesCausedBy(TestLogLevel.ERROR, IOException.class).size());
+        assertEquals(2,
+                underTest.resolveLogMessagesWithThrowable(TestLogLevel.ERROR, CompletionException.class).size());
+        assertEquals(1,
+                underTest.resolveLogMessagesWithThrowable(TestLogLevel.ERROR, LoggerTestException.class).size());
+        assertEquals(1,
+                underTest.resolveLogMessages(TestLogLevel.ERROR, MESSAGE, CompletionException.class).size());
+        assertEquals(0, underTest.resolveLogMessages(TestLogLevel.ERROR, MESSAGE, RuntimeException.class).size());
+        underTest.close();
+    }
+
+    @Test
+    void shouldApplyParameterRetention() {
+        var template = "Value {0}";
+        var value = new StringBuilder("large");
+        assertEquals(ParameterRetention.KEEP, underTest.getParameterRetention());
+        underTest.setParameterRetention(ParameterRetention.SNAPSHOT);
+        publishParameterized(template, value);
+        underTest.setParameterRetention(ParameterRetention.WEAK);
+        publishParameterized(template, value);
+        underTest.setParameterRetention(ParameterRetention.DROP);
+        publishParameterized(template, value);
+        assertEquals(ParameterRetention.DROP, underTest.getParameterRetention());
+
+        assertEquals("large", underTest.getRecords().get(0).getParameters()[0]);
+        assertNull(underTest.getRecords().get(2).getParameters());
+        assertEquals(2, underTest.resolveLogMessagesWithParameter(TestLogLevel.INFO, template, 0, value).size());
+        assertEquals(2, underTest.resolveLogMessagesFormatted(TestLogLevel.INFO, "Value large").size());
+        assertThrows(AssertionError.class, () -> underTest.setParameterRetention(null));
+
+        // The published record is shared with other handlers
+        var published = create(TestLogLevel.INFO, template, null);
+        published.setParameters(new Object[] { value });
+        underTest.publish(published);
+        assertSame(value, published.getParameters()[0]);
+        assertNull(underTest.getRecords().get(3).getParameters());
+    }
+
+    @Test
+    void shouldApplyThrowableRetention() {
+        assertEquals(ThrowableRetention.FULL, underTest.getThrowableRetention(TestLogLevel.ERROR));
+        underTest.setThrowableRetention(ThrowableRetention.CLASS_ONLY);
+        underTest.setThrowableRetention(TestLogLevel.ERROR, ThrowableRetention.SUMMARY);
+        assertEquals(ThrowableRetention.SUMMARY, underTest.getThrowableRetention(TestLogLevel.ERROR));
+        assertEquals(ThrowableRetention.CLASS_ONLY, underTest.getThrowableRetention(TestLogLevel.WARN));
+
+        var thrown = new CompletionException("wrapped", new LoggerTestException());
+        var published = create(TestLogLevel.ERROR, MESSAGE, thrown);
+        underTest.publish(published);
+        underTest.publish(create(TestLogLevel.WARN, MESSAGE, thrown));
+        // The published record is shared with other handlers
+        assertSame(thrown, published.getThrown());
+        var summary = underTest.getRecords().get(0).getThrown();
+        assertInstanceOf(ThrowableSummary.class, summary);
+        assertEquals("wrapped", summary.getMessage());
+        assertNull(underTest.getRecords().get(1).getThrown().getMessage());
+
+        assertEquals(1, underTest.resolveLogMessages(TestLogLevel.ERROR, MESSAGE, thrown).size());
+        assertEquals(1, underTest.resolveLogMessages(TestLogLevel.WARN, MESSAGE, thrown).size());
+        var other = new CompletionException("other", null);
+        assertEquals(0, underTest.resolveLogMessages(TestLogLevel.ERROR, MESSAGE, other).size());
+        assertEquals(1, underTest.resolveLogMessages(TestLogLevel.ERROR, MESSAGE, summary).size());
+        assertEquals(1, underTest.resolveLogMessages(TestLogLevel.WARN, MESSAGE, CompletionException.class).size());
+        assertEquals(1, underTest.resolveLogMessagesCausedBy(TestLogLevel.WARN, LoggerTestException.class).size());
+        assertThrows(AssertionError.class, () -> underTest.setThrowableRetention(TestLogLevel.ERROR, null));
+    }
+
+    @Test
+    void shouldRecordCallSites() {
+        underTest.publish(create(TestLogLevel.INFO, MESSAGE, null));
+        assertFalse(underTest.isCallSiteRecording());
+        underTest.setCallSiteRecording(true);
+        var logger = Logger.getLogger("de.cuioss.test.juli.callSites");
+        logger.setUseParentHandlers(false);
+        logger.addHandler(underTest);
+        try {
+            for (var i = 0; i < 2; i++) {
+                logger.info(MESSAGE);
+            }
+            underTest.publish(create(TestLogLevel.INFO, MESSAGE_2, null));
+        } finally {
+            logger.removeHandler(underTest);
+        }
+        assertTrue(underTest.isCallSiteRecording());
+
+        var records = underTest.resolveLogMessagesFromCallSite(TestLogLevel.INFO, TestLogHandlerTest.class,
+                "shouldRecordCallSites");
+        assertEquals(3, records.size());
+        assertEquals(TestLogHandlerTest.class.getName(), records.get(0).getSourceClassName());
+        assertEquals("shouldRecordCallSites", records.get(0).getSourceMethodName());
+        assertEquals(2, underTest.resolveLogMessagesFromCallSite(TestLogLevel.INFO, TestLogHandlerTest.class, null)
+                .stream().filter(r -> MESSAGE.equals(r.getMessage())).count());
+        assertEquals(0, underTest.resolveLogMessagesFromCallSite(TestLogLevel.INFO, String.class, null).size());
+        assertEquals(0, underTest.resolveLogMessagesFromCallSite(TestLogLevel.DEBUG, TestLogHandlerTest.class, null)
+                .size());
+
+        var volume = underTest.getCallSiteVolume();
+        assertEquals(2, volume.size());
+        assertEquals(2L, volume.values().iterator().next());
+        assertEquals(2, underTest.getStatistics().getIndexSizes().get("callSiteTable"));
+        underTest.clearRecords();
+        assertTrue(underTest.getCallSiteVolume().isEmpty());
+
+        // The published record is shared with other handlers
+        var published = create(TestLogLevel.INFO, MESSAGE, null);
+        published.setSourceClassName("some.Source");
+        underTest.publish(published);
+        assertEquals("some.Source", published.getSourceClassName());
+        assertEquals(TestLogHandlerTest.class.getName(), underTest.getRecords().get(0).getSourceClassName());
+    }
+
+    @Test
+    void shouldCollapseRepeatedRecords() {
+        assertFalse(underTest.isCollapseRepeated());
+        underTest.setCollapseRepeated(true);
+        underTest.publish(create(TestLogLevel.INFO, MESSAGE_2, null));
+        for (var i = 0; i < 100; i++) {
+            underTest.publish(create(TestLogLevel.WARN, MESSAGE, new LoggerTestException()));
+        }
+        underTest.publish(create(TestLogLevel.WARN, MESSAGE, null));
+
+        assertEquals(102, underTest.getRecords().size());
+        assertEquals(101, underTest.resolveLogMessages(TestLogLevel.WARN, MESSAGE).size());
+        assertEquals(100, underTest.resolveLogMessages(TestLogLevel.WARN, MESSAGE, LoggerTestException.class).size());
+        assertEquals(1, underTest.resolveLogMessages(TestLogLevel.INFO).size());
+        assertEquals(99, underTest.getStatistics().getCollapsedRecords());
+        assertTrue(underTest.getRecordsAsString().contains(MESSAGE + " x100\n"),
+                underTest::getRecordsAsString);
+
+        underTest.clearRecords();
+        assertEquals(0, underTest.getStatistics().getCollapsedRecords());
+    }
+
+    @Test
+    void shouldQuerySpilledRecords() throws IOException {
+        underTest.spillToDisk(1, tempDir);
+        underTest.publish(create(TestLogLevel.DEBUG, MESSAGE, null));
+        underTest.publish(create(TestLogLevel.INFO, MESSAGE, new IllegalStateException()));
+        underTest.publish(create(TestLogLevel.INFO, MESSAGE_2, new LoggerTestException()));
+
+        assertEquals(2, underTest.getStatistics().getSpilledRecords());
+        assertEquals(3, underTest.getRecords().size());
+        assertEquals(1, underTest.resolveLogMessages(TestLogLevel.DEBUG).size());
+        assertEquals(2, underTest.resolveLogMessagesContaining(TestLogLevel.INFO, MESSAGE_PART).size());
+        assertEquals(1, underTest.resolveLogMessages(TestLogLevel.INFO, MESSAGE_2, LoggerTestException.class).size());
+        assertEquals(2, underTest.resolveLogMessagesForLogger(TestLogLevel.INFO, TestLogHandlerTest.class).size());
+        assertTrue(underTest.getRecordsAsString().contains(MESSAGE_2));
+
+        var parameterized = create(TestLogLevel.WARN, "Value {0}", null);
+        parameterized.setParameters(new Object[] { 42 });
+        underTest.publish(parameterized);
+        assertEquals(1, underTest.resolveLogMessagesFormatted(TestLogLevel.WARN, "Value 42").size());
+        assertEquals(1, underTest.resolveLogMessagesWithParameter(TestLogLevel.WARN, "Value {0}", 0, 42).size());
+
+        underTest.clearRecords();
+        assertEquals(0, underTest.getRecords().size());
+        assertEquals(0, underTest.getStatistics().getSpilledRecords());
+
+        underTest.close();
+        try (var files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidSpillConfiguration() {
+        assertThrows(AssertionError.class, () -> underTest.spillToDisk(-1, tempDir));
+        underTest.spillToDisk(0, tempDir);
+        assertThrows(AssertionError.class, () -> underTest.spillToDisk(0, tempDir));
+    }
+
+    @Test
+    void shouldResolveByThread() throws IOException, InterruptedException {
+        underTest.publish(create(TestLogLevel.INFO, MESSAGE, null));
+        publishFrom(new Thread(() -> underTest.publish(create(TestLogLevel.INFO, MESSAGE, null)), "worker-1"));
+        publishFrom(new Thread(() -> underTest.publish(create(TestLogLevel.WARN, MESSAGE, null)), "worker-2"));
+        Runnable publishWarning = () -> underTest.publish(create(TestLogLevel.WARN, MESSAGE_2, null));
+        var virtualThread = Thread.ofVirtual().unstarted(publishWarning);
+        publishFrom(virtualThread);
+        underTest.spillToDisk(0, tempDir);
+        publishFrom(new Thread(() -> underTest.publish(create(TestLogLevel.INFO, MESSAGE_2, null)), "worker-1"));
+
+        assertEquals(2, underTest.resolveLogMessagesFromThread(TestLogLevel.INFO, "worker-1").size());
+        assertEquals(0, underTest.resolveLogMessagesFromThread(TestLogLevel.WARN, "worker-1").size());
+        assertEquals(2, underTest.resolveLogMessagesFromThreadsStartingWith(TestLogLevel.INFO, "worker-").size());
+        assertEquals(1, underTest.resolveLogMessagesFromThreadsStartingWith(TestLogLevel.WARN, "worker-").size());
+        var virtual = underTest.resolveLogMessagesFromVirtualThreads(TestLogLevel.WARN);
+        assertEquals(1, virtual.size());
+        assertEquals(MESSAGE_2, virtual.get(0).getMessage());
+        assertEquals(1,
+                underTest.resolveLogMessagesFromThread(TestLogLevel.INFO, Thread.currentThread().getName()).size());
+        assertEquals(2L, underTest.getThreadVolume().get("worker-1"));
+        assertThrows(AssertionError.class, () -> underTest.resolveLogMessagesFromThread(TestLogLevel.INFO, null));
+
+        underTest.clearRecords();
+        assertTrue(underTest.getThreadVolume().isEmpty());
+        assertEquals(0, underTest.resolveLogMessagesFromThread(TestLogLevel.INFO, "worker-1").size());
+    }
+
+    @Test
+    void shouldNotCollapseRecordsOfDifferentThreads() throws InterruptedException {
+        underTest.setCollapseRepeated(true);
+        underTest.publish(create(TestLogLevel.INFO, MESSAGE, null));
+        publishFrom(new Thread(() -> underTest.publish(create(TestLogLevel.INFO, MESSAGE, null)), "worker"));
+        assertEquals(1, underTest.resolveLogMessagesFromThread(TestLogLevel.INFO, "worker").size());
+        assertEquals(2, underTest.getRecords().size());
+    }
+
+    private static void publishFrom(Thread thread) throws InterruptedException {
+        thread.start();
+        thread.join();
+    }
+
+    @Test
+    void shouldPublishToSubscribers() throws InterruptedException {
+        var subscriber = new RecordPublisherTest.RecordingSubscriber(Long.MAX_VALUE);
+        underTest.publisher().subscribe(subscriber);
+        var stalled = new RecordPublisherTest.RecordingSubscriber(0);
+        underTest.publisher(1, OverflowPolicy.DROP_LATEST).subscribe(stalled);
+        underTest.publish(create(TestLogLevel.INFO, MESSAGE, null));
+        underTest.publish(create(TestLogLevel.WARN, MESSAGE_2, null));
+
+        underTest.close();
+        assertTrue(subscriber.completed.await(10, TimeUnit.SECONDS));
+        assertEquals(2, subscriber.received.size());
+        assertEquals(MESSAGE_2, subscriber.received.get(1).getMessage());
+        assertTrue(stalled.received.isEmpty());
+        assertEquals(1L, underTest.getStatistics().getSubscriberDroppedRecords());
+    }
+
+    @Test
+    void shouldConfigureSubscriberBuffer() {
+        assertEquals(Flow.defaultBufferSize(), underTest.getSubscriberBufferCapacity());
+        assertEquals(OverflowPolicy.DROP_OLDEST, underTest.getSubscriberOverflowPolicy());
+        underTest.setSubscriberBufferCapacity(16);
+        underTest.setSubscriberOverflowPolicy(OverflowPolicy.CANCEL);
+        assertEquals(16, underTest.getSubscriberBufferCapacity());
+        assertEquals(OverflowPolicy.CANCEL, underTest.getSubscriberOverflowPolicy());
+        assertThrows(AssertionError.class, () -> underTest.setSubscriberBufferCapacity(0));
+        assertThrows(AssertionError.class, () -> underTest.setSubscriberOverflowPolicy(null));
+        assertThrows(AssertionError.class, () -> underTest.publisher(0, OverflowPolicy.CANCEL));
+    }
+
+    @Test
+    void shouldAwaitPublishedRecord() throws InterruptedException {
+        underTest.publish(create(TestLogLevel.INFO, MESSAGE, null));
+        var publisher = new Thread(() -> {
+            sleep();
+            underTest.publish(create(TestLogLevel.DEBUG, MESSAGE, null));
+            underTest.publish(create(TestLogLevel.INFO, MESSAGE_2, null));
+        });
+        publisher.start();
+
+        var found = underTest.awaitLogMessageContaining(TestLogLevel.INFO, MESSAGE, Duration.ofSeconds(10));
+        publisher.join();
+        assertTrue(found.isPresent());
+        assertEquals(MESSAGE_2, found.get().getMessage());
+    }
+
+    @Test
+    void shouldTimeOutAwaiting() {
+        underTest.publish(create(TestLogLevel.INFO, MESSAGE, null));
+        assertTrue(underTest.awaitLogMessage(TestLogLevel.INFO, MESSAGE, Duration.ofMillis(20)).isEmpty());
+        assertTrue(underTest.awaitLogMessage(logRecord -> true, Duration.ofMillis(-1)).isEmpty());
+        assertThrows(AssertionError.class, () -> underTest.awaitLogMessage(null, Duration.ZERO));
+        assertThrows(AssertionError.class, () -> underTest.awaitLogMessage(logRecord -> true, null));
+    }
+
+    @Test
+    void shouldPropagateFailingAwaitQuery() throws InterruptedException {
+        var publisher = new Thread(() -> {
+            sleep();
+            underTest.publish(create(TestLogLevel.INFO, MESSAGE, null));
+        });
+        publisher.start();
+
+        assertThrows(IllegalStateException.class, () -> underTest.awaitLogMessage(logRecord -> {
+            throw new IllegalStateException("boom");
+        }, Duration.ofSeconds(10)));
+        publisher.join();
+        assertEquals(1, underTest.getRecords().size());
+    }
+
+    @Test
+    void shouldAllowAwaitQueryToLog() {
+        Predicate<LogRecord> logging = logRecord -> {
+            if (MESSAGE.equals(logRecord.getMessage())) {
+                underTest.publish(create(TestLogLevel.INFO, MESSAGE_2, null));
+            }
+            return MESSAGE_2.equals(logRecord.getMessage());
+        };
+        // The nested await registers a second waiter before publishing
+        var found = underTest.await(logging, Duration.ofSeconds(10),
+                () -> underTest.await(logRecord -> MESSAGE_2.equals(logRecord.getMessage()), Duration.ofSeconds(10),
+                        () -> {
+                            underTest.publish(create(TestLogLevel.INFO, MESSAGE, null));
+                            return Optional.empty();
+                        }));
+        assertTrue(found.isPresent());
+        assertEquals(MESSAGE_2, found.get().getMessage());
+        assertEquals(2, underTest.getRecords().size());
+    }
+
+    @Test
+    void shouldNotBlockPublishingWhileQuerying() throws InterruptedException {
+        var scanning = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var blocking = new Object() {
+
+            @Override
+            public boolean equals(Object other) {
+                scanning.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return MESSAGE.equals(other);
+            }
+
+            @Override
+            public int hashCode() {
+                return 0;
+            }
+        };
+        publishParameterized("{0}", blocking);
+        var result = new AtomicReference<List<LogRecord>>();
+        var query = new Thread(
+                () -> result.set(underTest.resolveLogMessagesWithParameter(TestLogLevel.INFO, "{0}", 0, MESSAGE)));
+        query.start();
+        try {
+            assertTrue(scanning.await(10, TimeUnit.SECONDS));
+            var writer = new Thread(() -> {
+                publishParameterized("{0}", MESSAGE);
+                underTest.clearRecords();
+                publishParameterized("{0}", MESSAGE);
+            });
+            writer.start();
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+            assertFalse(writer.isAlive());
+        } finally {
+            release.countDown();
+        }
+        query.join();
+
+        assertEquals(1, result.get().size());
+        assertSame(blocking, result.get().get(0).getParameters()[0]);
+        assertEquals(1, underTest.getRecords().size());
+    }
+
+    @Test
+    void shouldOnlyEvaluateRecordsCapturedSinceMemoizedQuery() {
+        var evaluations = new AtomicInteger();
+        var counting = new LogRecord(TestLogLevel.INFO.getJuliLevel(), MESSAGE) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public String getMessage() {
+                evaluations.incrementAndGet();
+                return super.getMessage();
+            }
+        };
+        underTest.publish(counting);
+        assertEquals(1, underTest.resolveLogMessagesContaining(TestLogLevel.INFO, MESSAGE_PART).size());
+        assertTrue(evaluations.get() > 0);
+
+        evaluations.set(0);
+        underTest.publish(create(TestLogLevel.INFO, MESSAGE_2, null));
+        var result = underTest.resolveLogMessagesContaining(TestLogLevel.INFO, MESSAGE_PART);
+        assertEquals(0, evaluations.get());
+        assertEquals(2, result.size());
+        assertSame(counting, result.get(0));
+        assertEquals(MESSAGE_2, result.get(1).getMessage());
+        assertEquals(1, underTest.getStatistics().getIndexSizes().get("queryMemo"));
+
+        underTest.clearRecords();
+        assertEquals(0, underTest.getStatistics().getIndexSizes().get("queryMemo"));
+        assertTrue(underTest.resolveLogMessagesContaining(TestLogLevel.INFO, MESSAGE_PART).isEmpty());
+    }
+
+    @Test
+    void shouldExtendMemoizedQueriesByCollapsedRepeats() {
+        underTest.setCollapseRepeated(true);
+        underTest.publish(create(TestLogLevel.INFO, MESSAGE, null));
+        assertEquals(1, underTest.resolveLogMessages(TestLogLevel.INFO, MESSAGE).size());
+        underTest.publish(create(TestLogLevel.INFO, MESSAGE, null));
+        assertEquals(2, underTest.resolveLogMessages(TestLogLevel.INFO, MESSAGE).size());
+        assertEquals(2, underTest.resolveLogMessagesForLogger(TestLogLevel.INFO, getClass()).size());
+        assertEquals(2, underTest.resolveLogMessagesForLogger(TestLogLevel.INFO,
+                getClass().getName().toUpperCase()).size());
+
+        underTest.checkpoint("start");
+        underTest.publish(create(TestLogLevel.INFO, MESSAGE, null));
+        assertEquals(1, underTest.since("start").resolveLogMessages(TestLogLevel.INFO, MESSAGE).size());
+        underTest.publish(create(TestLogLevel.INFO, MESSAGE, null));
+        assertEquals(2, underTest.since("start").resolveLogMessages(TestLogLevel.INFO, MESSAGE).size());
+        assertEquals(4, underTest.resolveLogMessages(TestLogLevel.INFO, MESSAGE).size());
+    }
+
+    @Test
+    void shouldBoundMemoizedQueries() {
+        underTest.publish(create(TestLogLevel.INFO, MESSAGE, null));
+        for (var i = 0; i <= TestLogHandler.MEMOIZED_QUERIES; i++) {
+            underTest.resolveLogMessages(TestLogLevel.INFO, MESSAGE + i);
+        }
+        assertEquals(TestLogHandler.MEMOIZED_QUERIES, underTest.getStatistics().getIndexSizes().get("queryMemo"));
+        underTest.resolveLogMessagesWithParameter(TestLogLevel.INFO, MESSAGE, 0, MESSAGE);
+        assertEquals(TestLogHandler.MEMOIZED_QUERIES, underTest.getStatistics().getIndexSizes().get("queryMemo"));
+    }
+
+    static void sleep() {
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void publishParameterized(String template, Object parameter) {
+        var logRecord = create(TestLogLevel.INFO, template, null);
+        logRecord.setParameters(new Object[] { parameter });
+        underTest.publish(logRecord);
+    }
+
     static LogRecord create(TestLogLevel level, String message, Throwable throwable) {
         var record = new LogRecord(level.getJuliLevel(), message);
         record.setLoggerName(TestLogHandlerTest.class.getName());
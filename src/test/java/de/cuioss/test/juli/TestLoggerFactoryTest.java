@@ -15,20 +15,28 @@
  */
 package de.cuioss.test.juli;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.logging.Logger;
 
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class TestLoggerFactoryTest {
 
     private static final String SOME_LOGGER = "some.logger";
 
+    @TempDir
+    Path tempDir;
+
     @Test
     void shouldInstallAndUninstall() {
         assertFalse(TestLoggerFactory.getTestHandlerOption().isPresent());
@@ -69,4 +77,27 @@ class TestLoggerFactoryTest {
         TestLoggerFactory.configureLogger();
 
     }
+
+    @Test
+    void shouldExportRecords() throws IOException {
+        System.setProperty(ConfigurationKeys.CONFIGURATION_KEY_EXPORT_DIRECTORY, tempDir.toString());
+        try {
+            TestLoggerFactory.install();
+            TestLoggerFactory.configureLogger();
+            Logger.getLogger(SOME_LOGGER).info("exported");
+            TestLoggerFactory.exportRecords("id", "exported", false);
+            TestLoggerFactory.uninstall();
+        } finally {
+            System.clearProperty(ConfigurationKeys.CONFIGURATION_KEY_EXPORT_DIRECTORY);
+        }
+        var lines = Files.readAllLines(tempDir.resolve("exported" + JsonLinesExporter.FILE_SUFFIX));
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).contains("\"message\":\"exported\""));
+
+        // Without configuration nothing is exported
+        TestLoggerFactory.install();
+        TestLoggerFactory.exportRecords("id", "notExported", true);
+        TestLoggerFactory.uninstall();
+        assertFalse(Files.exists(tempDir.resolve("notExported" + JsonLinesExporter.FILE_SUFFIX)));
+    }
 }
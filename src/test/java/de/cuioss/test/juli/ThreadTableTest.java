@@ -0,0 +1,129 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+
+import org.junit.jupiter.api.Test;
+
+class ThreadTableTest {
+
+    private final ThreadTable table = new ThreadTable();
+
+    @Test
+    void shouldAttributeCurrentThread() {
+        var first = table.record(new LogRecord(Level.INFO, "message"));
+        var second = table.record(new LogRecord(Level.INFO, "message"));
+        assertEquals(0, first);
+        assertEquals(first, second);
+        assertEquals(1, table.size());
+        assertEquals(Thread.currentThread().getName(), table.nameOf(Thread.currentThread().threadId()));
+        assertEquals(Map.of(Thread.currentThread().threadId(), Thread.currentThread().getName()), table.names());
+        assertFalse(table.isVirtual(Thread.currentThread().threadId()));
+        assertEquals(2L, table.volume().get(Thread.currentThread().getName()));
+    }
+
+    @Test
+    void shouldKeepRenamedThreadSeparately() {
+        var current = Thread.currentThread();
+        var originalName = current.getName();
+        try {
+            var first = table.record(new LogRecord(Level.INFO, "message"));
+            current.setName("renamed");
+            var second = table.record(new LogRecord(Level.INFO, "message"));
+            assertNotEquals(first, second);
+            assertEquals("renamed", table.nameOf(current.threadId()));
+        } finally {
+            current.setName(originalName);
+        }
+    }
+
+    @Test
+    void shouldAttributeForeignRecordByThreadId() throws InterruptedException {
+        var created = new LogRecord[1];
+        var worker = new Thread(() -> created[0] = new LogRecord(Level.INFO, "message"), "worker");
+        worker.start();
+        worker.join();
+        assertEquals(ThreadTable.NO_THREAD, table.record(created[0]));
+
+        var own = table.record(new LogRecord(Level.INFO, "message"));
+        var foreign = new LogRecord(Level.INFO, "message");
+        foreign.setLongThreadID(Thread.currentThread().threadId());
+        var published = new int[1];
+        var publisher = new Thread(() -> published[0] = table.record(foreign));
+        publisher.start();
+        publisher.join();
+        assertEquals(own, published[0]);
+        assertNull(table.nameOf(-2));
+    }
+
+    @Test
+    void shouldIndexEntriesPerThread() throws InterruptedException {
+        var main = table.record(new LogRecord(Level.INFO, "message"));
+        table.index(main, 0);
+        var workers = new int[2];
+        for (var i = 0; i < workers.length; i++) {
+            var index = i;
+            var worker = new Thread(() -> workers[index] = table.record(new LogRecord(Level.INFO, "message")),
+                    "pool-thread-" + i);
+            worker.start();
+            worker.join();
+        }
+        table.index(workers[1], 1);
+        table.index(workers[0], 2);
+        table.index(main, 3);
+        table.index(workers[1], 4);
+        table.index(ThreadTable.NO_THREAD, 5);
+
+        assertArrayEquals(new int[] { 1, 2, 4 }, table.entries(name -> name.startsWith("pool-thread-"), false));
+        assertArrayEquals(new int[] { 0, 3 }, table.entries(Thread.currentThread().getName()::equals, false));
+        assertArrayEquals(new int[0], table.entries(name -> true, true));
+        assertEquals(3, table.volume().size());
+
+        table.clear();
+        assertEquals(0, table.size());
+        assertTrue(table.volume().isEmpty());
+        assertArrayEquals(new int[0], table.entries(name -> true, false));
+    }
+
+    @Test
+    void shouldDeduplicateThreadNames() throws InterruptedException {
+        var names = new String[2];
+        for (var i = 0; i < names.length; i++) {
+            var index = i;
+            var worker = new Thread(() -> {
+                table.record(new LogRecord(Level.INFO, "message"));
+                names[index] = table.nameOf(Thread.currentThread().threadId());
+            }, new String("worker"));
+            worker.start();
+            worker.join();
+        }
+        assertEquals(2, table.size());
+        assertSame(names[0], names[1]);
+        assertEquals(2L, table.volume().get("worker"));
+    }
+}
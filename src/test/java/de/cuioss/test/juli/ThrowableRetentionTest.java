@@ -0,0 +1,83 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+
+import org.junit.jupiter.api.Test;
+
+class ThrowableRetentionTest {
+
+    @Test
+    void shouldKeepFullThrowable() {
+        var thrown = createThrown();
+        assertSame(thrown, ThrowableRetention.FULL.retain(thrown));
+        assertNull(ThrowableRetention.SUMMARY.retain(null));
+    }
+
+    @Test
+    void shouldSummarize() {
+        var thrown = createThrown();
+        var summary = assertInstanceOf(ThrowableSummary.class, ThrowableRetention.SUMMARY.retain(thrown));
+        assertEquals(IllegalStateException.class.getName(), summary.getThrownClassName());
+        assertEquals("outer", summary.getMessage());
+        assertEquals(0, summary.getSuppressed().length);
+        assertTrue(summary.getStackTrace().length <= ThrowableRetention.RETAINED_FRAMES);
+        assertEquals(thrown.getStackTrace()[0], summary.getStackTrace()[0]);
+        assertArrayEquals(new Class<?>[] { IllegalStateException.class, IllegalArgumentException.class },
+                summary.getCauseChain());
+        var cause = assertInstanceOf(ThrowableSummary.class, summary.getCause());
+        assertEquals("inner", cause.getMessage());
+        assertTrue(summary.summarizes(thrown));
+        assertTrue(summary.summarizes(new IllegalStateException("outer")));
+        assertFalse(summary.summarizes(new IllegalStateException("other")));
+        assertFalse(summary.summarizes(new IllegalArgumentException("outer")));
+        assertSame(summary, ThrowableRetention.SUMMARY.retain(summary));
+
+        var written = new StringWriter();
+        summary.printStackTrace(new PrintWriter(written));
+        assertTrue(written.toString().startsWith(IllegalStateException.class.getName() + ": outer"));
+        assertTrue(written.toString().contains("Caused by: " + IllegalArgumentException.class.getName() + ": inner"));
+    }
+
+    @Test
+    void shouldKeepClassesOnly() {
+        var thrown = createThrown();
+        var summary = assertInstanceOf(ThrowableSummary.class, ThrowableRetention.CLASS_ONLY.retain(thrown));
+        assertNull(summary.getMessage());
+        assertNull(summary.getCause());
+        assertEquals(0, summary.getStackTrace().length);
+        assertEquals(2, summary.getCauseChain().length);
+        assertTrue(summary.summarizes(new IllegalStateException("other")));
+        assertEquals(IllegalStateException.class.getName(), summary.toString());
+    }
+
+    private static IllegalStateException createThrown() {
+        var thrown = new IllegalStateException("outer", new IllegalArgumentException("inner"));
+        thrown.addSuppressed(new IllegalStateException("suppressed"));
+        return thrown;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.test.juli;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletionException;
+
+
+import org.junit.jupiter.api.Test;
+
+class ThrownTypesTest {
+
+    @Test
+    void shouldCollectDistinctCauseChain() {
+        var thrown = new CompletionException(
+                new IllegalStateException(new IllegalStateException(new IllegalArgumentException())));
+        assertArrayEquals(new Class<?>[] { CompletionException.class, IllegalStateException.class,
+            IllegalArgumentException.class }, ThrownTypes.causeChainOf(thrown));
+    }
+
+    @Test
+    void shouldHandleCyclicCauses() {
+        var first = new IllegalStateException();
+        var second = new IllegalArgumentException(first);
+        first.initCause(second);
+        assertArrayEquals(new Class<?>[] { IllegalStateException.class, IllegalArgumentException.class },
+                ThrownTypes.causeChainOf(first));
+    }
+
+    @Test
+    void shouldMatchTypes() {
+        var chain = ThrownTypes.causeChainOf(new UncheckedIOException(new IOException()));
+        assertTrue(ThrownTypes.matches(chain, UncheckedIOException.class, false, false));
+        assertFalse(ThrownTypes.matches(chain, RuntimeException.class, false, false));
+        assertTrue(ThrownTypes.matches(chain, RuntimeException.class, true, false));
+        assertFalse(ThrownTypes.matches(chain, IOException.class, true, false));
+        assertTrue(ThrownTypes.matches(chain, IOException.class, false, true));
+        assertTrue(ThrownTypes.matches(chain, Exception.class, true, true));
+        assertFalse(ThrownTypes.matches(chain, Error.class, true, true));
+        assertFalse(ThrownTypes.matches(null, Exception.class, true, true));
+    }
+
+    @Test
+    void shouldShareChains() {
+        var underTest = new ThrownTypes();
+        assertNull(underTest.intern(null));
+        var chain = underTest.intern(new IllegalStateException("first"));
+        assertSame(chain, underTest.intern(new IllegalStateException("second")));
+        assertEquals(1, underTest.size());
+        underTest.intern(new IllegalArgumentException());
+        assertEquals(2, underTest.size());
+        underTest.clear();
+        assertEquals(0, underTest.size());
+    }
+}